@@ -0,0 +1,51 @@
+package com.kttdevelopment.mal4j;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds requests from annotated service methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class APICallBenchmark {
+
+    private Method getAnime, searchAnime, getUserAnimeListing, updateAnimeListing;
+    private String fields;
+
+    @Setup
+    public void setup() throws NoSuchMethodException{
+        getAnime            = MyAnimeListService.class.getDeclaredMethod("getAnime", String.class, Long.class, String.class);
+        searchAnime         = MyAnimeListService.class.getDeclaredMethod("getAnime", String.class, String.class, Integer.class, Integer.class, String.class, Boolean.class);
+        getUserAnimeListing = MyAnimeListService.class.getDeclaredMethod("getUserAnimeListing", String.class, String.class, String.class, String.class, Integer.class, Integer.class, String.class, Boolean.class);
+        updateAnimeListing  = MyAnimeListService.class.getDeclaredMethod("updateAnimeListing", String.class, Long.class, String.class, Boolean.class, Integer.class, String.class, String.class, Integer.class, Integer.class, Integer.class, Integer.class, String.class, String.class);
+        fields              = FieldSet.universe(Fields.anime).render(null);
+    }
+
+    @Benchmark
+    public String getAnime(){
+        return new APICall(MyAnimeListService.baseURL, getAnime, "Bearer token", 1L, fields).URL();
+    }
+
+    @Benchmark
+    public String searchAnime(){
+        return new APICall(MyAnimeListService.baseURL, searchAnime, "Bearer token", "cowboy bebop", 100, 0, fields, false).URL();
+    }
+
+    @Benchmark
+    public String getUserAnimeListing(){
+        return new APICall(MyAnimeListService.baseURL, getUserAnimeListing, "Bearer token", "@me", "completed", "list_updated_at", 1000, 0, fields, true).URL();
+    }
+
+    @Benchmark
+    public String updateAnimeListing(){
+        return new APICall(MyAnimeListService.baseURL, updateAnimeListing, "Bearer token", 1L, "completed", false, 10, "2021-06-01", "2021-07-05", 26, 0, 0, 0, "space,jazz", "comment").URL();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.kttdevelopment.mal4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recorded MyAnimeList responses used by the benchmarks. Single records are stored as is; pages are built from a recorded entry with a distinct ID for each item.
+ */
+final class Corpus {
+
+    private static final Pattern id = Pattern.compile("\"id\": \\d+");
+
+    private Corpus(){ }
+
+    static String read(final String name){
+        try(final InputStream IN = Corpus.class.getResourceAsStream("/corpus/" + name + ".json")){
+            if(IN == null)
+                throw new FileNotFoundException("Corpus entry not found: " + name);
+            final ByteArrayOutputStream OUT = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while((read = IN.read(buffer)) != -1)
+                OUT.write(buffer, 0, read);
+            return new String(OUT.toByteArray(), StandardCharsets.UTF_8);
+        }catch(final IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a page of entries.
+     *
+     * @param entry recorded entry
+     * @param node if the entry should be wrapped in a node like search results
+     * @param offset offset of the first entry
+     * @param limit page size
+     * @param total total entries across all pages
+     * @return page
+     */
+    static String page(final String entry, final boolean node, final int offset, final int limit, final int total){
+        final StringBuilder OUT = new StringBuilder("{\"data\": [");
+        final int end = Math.min(offset + limit, total);
+        for(int i = offset; i < end; i++){
+            if(i > offset)
+                OUT.append(',');
+            final String item = id.matcher(entry).replaceFirst(Matcher.quoteReplacement("\"id\": " + (i + 1)));
+            OUT.append(node ? "{\"node\": " + item + '}' : item);
+        }
+        OUT.append("], \"paging\": {");
+        if(end < total)
+            OUT.append("\"next\": \"https://api.myanimelist.net/v2/users/@me/animelist?offset=").append(end).append("&limit=").append(limit).append('"');
+        return OUT.append("}}").toString();
+    }
+
+}
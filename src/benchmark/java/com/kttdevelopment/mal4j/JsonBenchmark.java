@@ -0,0 +1,52 @@
+package com.kttdevelopment.mal4j;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses recorded responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+
+    @Param({"anime", "manga", "search", "animelist", "forum"})
+    public String response;
+
+    private String json;
+    private StringTable strings;
+
+    @Setup
+    public void setup(){
+        switch(response){
+            case "search":
+                json = Corpus.page(Corpus.read("anime_preview"), true, 0, 100, 100);
+                break;
+            case "animelist":
+                json = Corpus.page(Corpus.read("anime_list_status"), false, 0, 1000, 1000);
+                break;
+            case "forum":
+                json = Corpus.read("forum_topic");
+                break;
+            default:
+                json = Corpus.read(response);
+        }
+        strings = new StringTable(4096);
+    }
+
+    @Benchmark
+    public Object parse(){
+        return Json.parse(json);
+    }
+
+    @Benchmark
+    public Object parseSharedStrings(){
+        return Json.parse(json, strings);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.Json.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps parsed recorded responses to objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private MyAnimeList mal;
+    private JsonObject anime, preview, mangaListStatus, forumTopic;
+
+    @Setup
+    public void setup(){
+        mal             = new MyAnimeListImpl("Bearer token");
+        anime           = (JsonObject) Json.parse(Corpus.read("anime"));
+        preview         = (JsonObject) Json.parse(Corpus.read("anime_preview"));
+        mangaListStatus = ((JsonObject) Json.parse(Corpus.read("manga_list_status"))).getJsonObject("list_status");
+        forumTopic      = ((JsonObject) Json.parse(Corpus.read("forum_topic"))).getJsonObject("data");
+    }
+
+    @Benchmark
+    public Object asAnime(){
+        return MyAnimeListSchema_Anime.asAnime(mal, anime);
+    }
+
+    @Benchmark
+    public Object asAnimePreview(){
+        return MyAnimeListSchema_Anime.asAnimePreview(mal, preview);
+    }
+
+    @Benchmark
+    public Object asMangaListStatus(){
+        return MyAnimeListSchema_Manga.asMangaListStatus(mal, mangaListStatus, 2);
+    }
+
+    @Benchmark
+    public Object asForumTopic(){
+        return MyAnimeListSchema_Forum.asForumTopic(mal, forumTopic, 1);
+    }
+
+}
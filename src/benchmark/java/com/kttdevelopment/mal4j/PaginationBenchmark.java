@@ -0,0 +1,73 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.APIStruct.Query;
+import com.kttdevelopment.mal4j.APIStruct.Response;
+import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.net.HttpURLConnection;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates a 1000 entry user list served from memory, including parsing and mapping each page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PaginationBenchmark {
+
+    private static final int ENTRIES = 1000;
+
+    @Param({"100", "1000"})
+    public int limit;
+
+    private MyAnimeList mal;
+
+    @Setup
+    public void setup(){
+        final String entry = Corpus.read("anime_list_status");
+        final Map<Integer,String> pages = new HashMap<>();
+        for(int offset = 0; offset < ENTRIES; offset += limit)
+            pages.put(offset, Corpus.page(entry, false, offset, limit, ENTRIES));
+        mal = new MyAnimeListImpl("Bearer token", inMemory(pages));
+    }
+
+    // serves user list pages by offset, offsets past the end are empty
+    private static MyAnimeListService inMemory(final Map<Integer,String> pages){
+        return (MyAnimeListService) Proxy.newProxyInstance(
+            MyAnimeListService.class.getClassLoader(),
+            new Class<?>[]{MyAnimeListService.class},
+            (proxy, method, args) -> {
+                final String json = pages.getOrDefault(offset(method, args), "{\"data\": [], \"paging\": {}}");
+                return new Response<>(MyAnimeListService.baseURL, json, Json.parse(json), HttpURLConnection.HTTP_OK);
+            }
+        );
+    }
+
+    private static int offset(final Method method, final Object[] args){
+        final Annotation[][] annotations = method.getParameterAnnotations();
+        for(int i = 0; i < annotations.length; i++)
+            for(final Annotation annotation : annotations[i])
+                if(annotation instanceof Query && ((Query) annotation).value().equals("offset"))
+                    return args[i] == null ? 0 : (Integer) args[i];
+        return 0;
+    }
+
+    @Benchmark
+    public void iterate(final Blackhole blackhole){
+        final PaginatedIterator<?> iterator = mal.getUserAnimeListing()
+            .withStatus(AnimeStatus.Completed)
+            .withLimit(limit)
+            .searchAll();
+        while(iterator.hasNext())
+            blackhole.consume(iterator.next());
+    }
+
+}
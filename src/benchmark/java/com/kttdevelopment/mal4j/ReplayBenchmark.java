@@ -0,0 +1,67 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a recorded session through {@link MyAnimeListImpl}, including parsing and mapping, without the network. The session is recorded once against a {@link FakeMyAnimeListServer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    private File file;
+    private TrafficReplay replay;
+    private MyAnimeList mal;
+
+    @Setup
+    public void setup() throws IOException{
+        file = File.createTempFile("mal4j-replay", ".bin");
+        try(final FakeMyAnimeListServer server = new FakeMyAnimeListServer(1).setListSize(1000);
+            final TrafficRecorder recorder = new TrafficRecorder(file)){
+            final MyAnimeList recording = server.create(null);
+            recording.setTrafficRecorder(recorder);
+            session(recording, null);
+        }
+        replay = new TrafficReplay(file);
+        mal = MyAnimeList.withTrafficReplay(replay);
+    }
+
+    @TearDown
+    public void tearDown(){
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    private static void session(final MyAnimeList mal, final Blackhole blackhole){
+        final Object anime = mal.getAnime(1);
+        final Object ranking = mal.getAnimeRanking(AnimeRankingType.All).withLimit(500).search();
+        final PaginatedIterator<AnimeListStatus> iterator = mal.getUserAnimeListing("user").withLimit(250).searchAll();
+        while(iterator.hasNext()){
+            final AnimeListStatus status = iterator.next();
+            if(blackhole != null)
+                blackhole.consume(status);
+        }
+        if(blackhole != null){
+            blackhole.consume(anime);
+            blackhole.consume(ranking);
+        }
+    }
+
+    @Benchmark
+    public void replay(final Blackhole blackhole){
+        replay.reset();
+        session(mal, blackhole);
+    }
+
+}
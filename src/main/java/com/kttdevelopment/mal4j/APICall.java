@@ -28,6 +28,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -114,6 +115,11 @@ class APICall {
     private boolean formUrlEncoded = false;
     private final Map<String,String> fields = new HashMap<>();
 
+    private RequestTrace trace = null;
+
+    private TrafficRecorder recorder = null;
+    private TrafficReplay replay = null;
+
     final APICall withHeader(final String header, final String value){
         if(value == null)
             headers.remove(header);
@@ -146,6 +152,45 @@ class APICall {
         return this;
     }
 
+    /**
+     * Reports the phases of this call to a listener. The request start is reported immediately.
+     *
+     * @param listener listener, null to not report
+     * @return call
+     *
+     * @see RequestListener
+     */
+    final APICall withListener(final RequestListener listener){
+        this.trace = listener == null ? null : new RequestTrace(listener, method, path);
+        return this;
+    }
+
+    /**
+     * Records the response of this call.
+     *
+     * @param recorder recorder, null to not record
+     * @return call
+     *
+     * @see TrafficRecorder
+     */
+    final APICall withRecorder(final TrafficRecorder recorder){
+        this.recorder = recorder;
+        return this;
+    }
+
+    /**
+     * Answers this call with a recorded response instead of the API.
+     *
+     * @param replay replay, null to use the API
+     * @return call
+     *
+     * @see TrafficReplay
+     */
+    final APICall withReplay(final TrafficReplay replay){
+        this.replay = replay;
+        return this;
+    }
+
     final APICall formUrlEncoded(){
         return formUrlEncoded(true);
     }
@@ -192,6 +237,8 @@ class APICall {
             static Method HttpClient_NewBuilder;
             static Method HttpClient_Send;
                 static Method BodyHandlers_StringBody;
+            static Class<?> BodyHandler;
+                static Method ResponseInfo_StatusCode;
 
         static Method HttpResponse_Body;
         static Method HttpResponse_Code;
@@ -215,6 +262,8 @@ class APICall {
                         HttpClient_NewBuilder = HttpClient.getDeclaredMethod("newBuilder");
                         HttpClient_Send = HttpClient.getDeclaredMethod("send", Class.forName("java.net.http.HttpRequest"), Class.forName("java.net.http.HttpResponse$BodyHandler"));
                             BodyHandlers_StringBody =  Class.forName("java.net.http.HttpResponse$BodyHandlers").getDeclaredMethod("ofString", Charset.class);
+                        BodyHandler = Class.forName("java.net.http.HttpResponse$BodyHandler");
+                            ResponseInfo_StatusCode = Class.forName("java.net.http.HttpResponse$ResponseInfo").getDeclaredMethod("statusCode");
 
                     HttpResponse_Body = Class.forName("java.net.http.HttpResponse").getDeclaredMethod("body");
                     HttpResponse_Code = Class.forName("java.net.http.HttpResponse").getDeclaredMethod("statusCode");
@@ -304,12 +353,43 @@ class APICall {
 
     private static final URIEncoder encoder = new URIEncoder();
 
-    @SuppressWarnings("RedundantThrows")
-    private APIStruct.Response<String> call() throws IOException, InterruptedException{
-        final String URL =
+    final String URL(){
+        return
             baseURL +
             Java9.Matcher.replaceAll(path, pathArg.matcher(path), result -> pathVars.get(result.group(1))) + // path args
             (queries.isEmpty() ? "" : '?' + queries.entrySet().stream().map(e -> e.getKey() + '=' + e.getValue()).collect(Collectors.joining("&"))); // query
+    }
+
+    // shared so that connections are reused between requests
+    private static volatile Object HttpClient_Instance;
+
+    private static Object httpClient() throws IllegalAccessException, InvocationTargetException{
+        Object client = HttpClient_Instance;
+        if(client == null)
+            synchronized(APICall.class){
+                if((client = HttpClient_Instance) == null){
+                    // final HttpClient client = HttpClient
+                    //      .newBuilder()
+                    final Object HttpClientBuilder_Instance = JDK11.HttpClient_NewBuilder.invoke(null);
+                    // .connectTimeout(Duration.ofSeconds(10))
+                    JDK11.HttpClientBuilder_ConnectTimeout
+                        .invoke(HttpClientBuilder_Instance, Duration.ofSeconds(10));
+                    // .build()
+                    HttpClient_Instance = client = JDK11.HttpClientBuilder_Build
+                        .invoke(HttpClientBuilder_Instance);
+                }
+            }
+        return client;
+    }
+
+    @SuppressWarnings("RedundantThrows")
+    private APIStruct.Response<String> call() throws IOException, InterruptedException{
+        return call(URL());
+    }
+
+    @SuppressWarnings("RedundantThrows")
+    private APIStruct.Response<String> call(final String URL) throws IOException, InterruptedException{
+        final Object event = FlightEvents.beginApiCall();
 
         final String data = fields.isEmpty() ? "" : fields.entrySet().stream().map(e -> e.getKey() + '=' + e.getValue()).collect(Collectors.joining("&"));
 
@@ -323,7 +403,15 @@ class APICall {
         String body;
         int code;
 
-        if(useNetHttp)
+        final long start = recorder != null ? System.nanoTime() : 0;
+
+        if(replay != null){
+            final APIStruct.Response<String> response = replay.replay(method, URL.substring(baseURL.length()), data, URL);
+            body = response.raw();
+            code = response.code();
+            if(trace != null)
+                trace.status(code).phase(RequestEvent.Phase.FIRST_BYTE);
+        }else if(useNetHttp)
             try{
                 // final HttpRequest.Builder request = HttpRequest.newBuilder();
                 final Object HttpRequestBuilder_Instance = JDK11.HttpRequest_NewBuilder.invoke(null);
@@ -378,20 +466,13 @@ class APICall {
                         );
                 }
 
-                // final HttpResponse<String> response = HttpClient
-                //      .newBuilder()
-                final Object HttpClientBuilder_Instance = JDK11.HttpClient_NewBuilder.invoke(null);
-                // .connectTimeout(Duration.ofSeconds(10))
-                JDK11.HttpClientBuilder_ConnectTimeout
-                    .invoke(HttpClientBuilder_Instance, Duration.ofSeconds(10));
-                // .build()
-                final Object HttpClient_Instance = JDK11.HttpClientBuilder_Build
-                    .invoke(HttpClientBuilder_Instance);
+                // final HttpResponse<String> response = client
                 // .send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                final Object BodyHandler_Instance = JDK11.BodyHandlers_StringBody.invoke(null, StandardCharsets.UTF_8);
                 final Object HttpResponse_Instance = JDK11.HttpClient_Send
-                    .invoke(HttpClient_Instance,
+                    .invoke(httpClient(),
                         JDK11.HttpRequestBuilder_Build.invoke(HttpRequestBuilder_Instance),
-                        JDK11.BodyHandlers_StringBody.invoke(null, StandardCharsets.UTF_8)
+                        trace == null ? BodyHandler_Instance : firstByte(BodyHandler_Instance)
                     );
 
                 // response.body()
@@ -399,7 +480,11 @@ class APICall {
                 // response.responseCode()
                 code = (int) JDK11.HttpResponse_Code.invoke(HttpResponse_Instance);
 
-            }catch(final IllegalAccessException | InvocationTargetException | ClassCastException e){
+            }catch(final InvocationTargetException e){
+                if(e.getCause() instanceof InterruptedException) // send was interrupted
+                    throw (InterruptedException) e.getCause();
+                throw new IllegalStateException(e);
+            }catch(final IllegalAccessException | ClassCastException e){
                 throw new IllegalStateException(e);
             }
         else{
@@ -417,13 +502,20 @@ class APICall {
             if(formUrlEncoded){
                 conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
                 conn.setDoOutput(true);
+            }
+
+            if(trace != null){
+                conn.connect();
+                trace.phase(RequestEvent.Phase.CONNECTION_ACQUIRED);
+            }
+
+            if(formUrlEncoded)
                 try(final DataOutputStream OUT = new DataOutputStream(conn.getOutputStream())){
                     OUT.writeBytes(data);
                     OUT.flush();
                 }
-            }
 
-            try(final BufferedReader IN = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))){
+            try(final BufferedReader IN = new BufferedReader(new InputStreamReader(firstByte(conn), StandardCharsets.UTF_8))){
                 String buffer;
                 final StringBuilder OUT = new StringBuilder();
                 while((buffer = IN.readLine()) != null)
@@ -436,16 +528,104 @@ class APICall {
             code = conn.getResponseCode();
         }
 
+        if(recorder != null && replay == null)
+            recorder.record(method, URL.substring(baseURL.length()), data, code, System.nanoTime() - start, body);
+
+        FlightEvents.commitApiCall(event, path, method, code, body);
+        if(trace != null)
+            trace.status(code).bytes(RequestTrace.utf8Length(body)).phase(RequestEvent.Phase.BODY_COMPLETE);
+
         if(debug)
             System.out.println("Response: " + body);
 
         return new APIStruct.Response<>(URL, body, body, code);
     }
 
+    // reports the first byte once the response headers were read
+    private InputStream firstByte(final HttpURLConnection conn) throws IOException{
+        final InputStream IN = conn.getInputStream();
+        if(trace != null)
+            trace.status(conn.getResponseCode()).phase(RequestEvent.Phase.FIRST_BYTE);
+        return IN;
+    }
+
+    // wraps the body handler so the first byte is reported once the response headers were read
+    private Object firstByte(final Object BodyHandler_Instance){
+        final RequestTrace trace = this.trace;
+        return Proxy.newProxyInstance(
+            APICall.class.getClassLoader(),
+            new Class<?>[]{JDK11.BodyHandler},
+            (proxy, method, args) -> {
+                if(method.getName().equals("apply"))
+                    trace.status((int) JDK11.ResponseInfo_StatusCode.invoke(args[0])).phase(RequestEvent.Phase.FIRST_BYTE);
+                try{
+                    return method.invoke(BodyHandler_Instance, args);
+                }catch(final InvocationTargetException e){
+                    throw e.getCause();
+                }
+            }
+        );
+    }
+
     final <T> Response<T> call(final Function<String,T> processor) throws IOException, InterruptedException{
         final Response<String> response = call();
         final String body = response.body();
-        return new Response<>(response.URL(), body, processor.apply(body), response.code());
+        final T parsed = processor.apply(body);
+        parsed();
+        return new Response<>(response.URL(), body, parsed, response.code());
+    }
+
+    // mapping starts once the response is parsed
+    private void parsed(){
+        if(trace != null)
+            trace.parsed();
+        FlightEvents.beginEntityMap();
+    }
+
+    /**
+     * Returns the cached response for this call.
+     *
+     * @param cache response cache, nullable
+     * @return cached response, null if not cached
+     */
+    final Response<?> cached(final ResponseCache cache){
+        if(cache == null || !method.equals("GET")) return null;
+        final String URL = URL();
+        final Response<?> response = ResponseCache.isPublic(URL) ? cache.get(URL) : null;
+        if(response != null){
+            if(trace != null)
+                trace.cached().status(response.code()).bytes(RequestTrace.utf8Length(response.raw()));
+            parsed();
+        }
+        return response;
+    }
+
+    /**
+     * Calls the API, caching successful responses from public endpoints.
+     *
+     * @param processor response processor
+     * @param cache response cache, null to not cache
+     * @param <T> response type
+     * @return response
+     * @throws IOException if request failed
+     * @throws InterruptedException if interrupted
+     *
+     * @see #cached(ResponseCache)
+     * @see ResponseCache
+     */
+    final <T> Response<T> call(final Function<String,T> processor, final ResponseCache cache) throws IOException, InterruptedException{
+        if(cache == null || !method.equals("GET"))
+            return call(processor);
+
+        final String URL = URL();
+        final boolean cacheable = ResponseCache.isPublic(URL);
+        final Response<String> raw = call(URL);
+        final String body = raw.body();
+        final Response<T> response = new Response<>(raw.URL(), body, processor.apply(body), raw.code());
+        parsed();
+        if(cacheable && response.code() == HttpURLConnection.HTTP_OK)
+            cache.put(URL, response);
+        return response;
     }
 
     @Override
@@ -496,11 +676,23 @@ class APICall {
 
     // interface instantiation
 
-    @SuppressWarnings("unchecked")
     static <C> C create(final String baseURL, final Class<C> service){
+        return create(baseURL, service, null);
+    }
+
+    static <C> C create(final String baseURL, final Class<C> service, final RateLimiter limiter){
+        return create(baseURL, service, limiter, null);
+    }
+
+    static <C> C create(final String baseURL, final Class<C> service, final RateLimiter limiter, final ResponseCache cache){
+        return create(baseURL, service, limiter, cache, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <C> C create(final String baseURL, final Class<C> service, final RateLimiter limiter, final ResponseCache cache, final String clientID){
         if(!service.isInterface())
             throw new IllegalArgumentException("Service must be an interface");
-        final InvocationHandler handler = new InterfaceInvocation(baseURL, service);
+        final InvocationHandler handler = new InterfaceInvocation(baseURL, service, limiter, cache, clientID);
         return (C)
             Proxy.newProxyInstance(
                 service.getClassLoader(),
@@ -509,14 +701,68 @@ class APICall {
             );
     }
 
+    /**
+     * Sets the request listener of a service created by {@link #create(String, Class, RateLimiter, ResponseCache, String)}.
+     *
+     * @param service service
+     * @param listener listener, null to remove
+     *
+     * @see RequestListener
+     */
+    static void setListener(final Object service, final RequestListener listener){
+        ((InterfaceInvocation) Proxy.getInvocationHandler(service)).listener = listener;
+    }
+
+    /**
+     * Sets the traffic recorder of a service created by {@link #create(String, Class, RateLimiter, ResponseCache, String)}.
+     *
+     * @param service service
+     * @param recorder recorder, null to remove
+     *
+     * @see TrafficRecorder
+     */
+    static void setRecorder(final Object service, final TrafficRecorder recorder){
+        ((InterfaceInvocation) Proxy.getInvocationHandler(service)).recorder = recorder;
+    }
+
+    /**
+     * Sets the traffic replay of a service created by {@link #create(String, Class, RateLimiter, ResponseCache, String)}.
+     *
+     * @param service service
+     * @param replay replay, null to use the API
+     *
+     * @see TrafficReplay
+     */
+    static void setReplay(final Object service, final TrafficReplay replay){
+        ((InterfaceInvocation) Proxy.getInvocationHandler(service)).replay = replay;
+    }
+
+    private static final int STRING_TABLE_CAPACITY = 4096;
+
     private static class InterfaceInvocation implements InvocationHandler {
 
         private final String baseURL;
         private final Class<?> service;
-
-        public InterfaceInvocation(final String baseURL, final Class<?> service){
-            this.baseURL = baseURL;
-            this.service = service;
+        private final RateLimiter limiter;
+        private final ResponseCache cache;
+        private final String clientID;
+
+        private volatile RequestListener listener = null;
+        private volatile TrafficRecorder recorder = null;
+        private volatile TrafficReplay replay = null;
+
+        // index of the fields query parameter for each method, -1 if none
+        private final Map<Method,Integer> fieldsIndex = new ConcurrentHashMap<>();
+
+        // keys and enum-like values shared across responses from this service
+        private final StringTable strings = new StringTable(STRING_TABLE_CAPACITY);
+
+        public InterfaceInvocation(final String baseURL, final Class<?> service, final RateLimiter limiter, final ResponseCache cache, final String clientID){
+            this.baseURL  = baseURL;
+            this.service  = service;
+            this.limiter  = limiter;
+            this.cache    = cache;
+            this.clientID = clientID;
         }
 
         @Override
@@ -524,16 +770,43 @@ class APICall {
             if(method.getDeclaringClass() != service)
                 return method.invoke(this, args);
             try{
-                return new APICall(
+                final int index = fieldsIndex.computeIfAbsent(method, InterfaceInvocation::indexOfFields);
+                final JsonProjection projection = JsonProjection.of(index == -1 || args[index] == null ? null : args[index].toString());
+                final APICall call = new APICall(
                     baseURL,
                     method,
                     args
-                ).call(Json::parse);
+                )
+                    .withHeader("X-MAL-CLIENT-ID", clientID)
+                    .withListener(listener)
+                    .withRecorder(recorder)
+                    .withReplay(replay);
+                // cached responses do not count towards the rate limit
+                final Response<?> cached = call.cached(cache);
+                if(cached != null)
+                    return cached;
+                if(limiter != null)
+                    limiter.acquire();
+                return call.call(json -> projection.parse(json, strings), cache);
+            }catch(final InterruptedException e){ // service methods do not declare checked exceptions
+                Thread.currentThread().interrupt();
+                final InterruptedIOException interrupted = new InterruptedIOException("Interrupted while calling " + method.getName());
+                interrupted.initCause(e);
+                throw new UncheckedIOException(interrupted);
             }catch(final IOException e){
                 throw new UncheckedIOException(e);
             }
         }
 
+        private static int indexOfFields(final Method method){
+            final Annotation[][] annotations = method.getParameterAnnotations();
+            for(int i = 0; i < annotations.length; i++)
+                for(final Annotation annotation : annotations[i])
+                    if(annotation instanceof Query && ((Query) annotation).value().equals("fields"))
+                        return i;
+            return -1;
+        }
+
     }
 
 }
@@ -19,12 +19,14 @@
 package com.kttdevelopment.mal4j;
 
 import java.util.Date;
+import java.util.Objects;
 
 /**
  * Represents an OAuth2 authentication body.
  *
+ * @see TokenStore
  * @since 1.0.0
- * @version 1.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 public final class AccessToken {
@@ -40,6 +42,75 @@ public final class AccessToken {
         this.refresh_token  = refresh_token;
     }
 
+    AccessToken(final String token_type, final String access_token, final String refresh_token, final long expiry){
+        this.token_type     = token_type;
+        this.expiry         = expiry;
+        this.access_token   = access_token;
+        this.refresh_token  = refresh_token;
+    }
+
+    /**
+     * Creates an access token from stored values, for use by a {@link TokenStore}.
+     *
+     * @param token_type token type. Ex: 'Bearer'
+     * @param access_token access token, without the token type
+     * @param refresh_token refresh token
+     * @param expiry expiry as seconds since epoch
+     * @return access token
+     * @throws NullPointerException if token type or access token is null
+     *
+     * @see #getTokenType()
+     * @see #getAccessToken()
+     * @see #getRefreshToken()
+     * @see #getExpiryEpochSeconds()
+     * @since 2.3.0
+     */
+    public static AccessToken of(final String token_type, final String access_token, final String refresh_token, final long expiry){
+        return new AccessToken(
+            Objects.requireNonNull(token_type, "Token type must not be null"),
+            Objects.requireNonNull(access_token, "Access token must not be null"),
+            refresh_token,
+            expiry
+        );
+    }
+
+    /**
+     * Returns the token type. Ex: 'Bearer'
+     *
+     * @return token type
+     *
+     * @see #getToken()
+     * @since 2.3.0
+     */
+    public final String getTokenType(){
+        return token_type;
+    }
+
+    /**
+     * Returns the access token without the token type.
+     *
+     * @return access token
+     *
+     * @see #getToken()
+     * @since 2.3.0
+     */
+    public final String getAccessToken(){
+        return access_token;
+    }
+
+    /**
+     * Returns when the token expires as seconds since epoch.
+     *
+     * @return expiry
+     *
+     * @see #getExpiry()
+     * @see #of(String, String, String, long)
+     * @since 2.3.0
+     */
+    public final long getExpiryEpochSeconds(){
+        return expiry;
+    }
+
     /**
      * Returns token with token type. Ex: 'Bearer oauth2token'
      * '
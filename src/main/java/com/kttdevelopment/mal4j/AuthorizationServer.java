@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long running OAuth callback server that can authorize many users at once. Each call to {@link #authorize()} starts a PKCE flow with its own state; callbacks are routed to their flow by the state parameter and token requests run on a bounded thread pool. Flows that are not completed within the timeout are expired.
+ * <br><br>
+ * Unlike {@link MyAnimeListAuthenticator.LocalServerBuilder}, the server is reused across logins and must be closed with {@link #close()}.
+ *
+ * @see MyAnimeListAuthenticator
+ * @see MyAnimeListAuthenticator.LocalServerBuilder
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class AuthorizationServer implements AutoCloseable {
+
+    private static final AtomicInteger servers = new AtomicInteger();
+
+    @SuppressWarnings("SpellCheckingInspection")
+    private final String client_id, client_secret;
+    private final long timeout;
+
+    private final Map<String,Authorization> pending = new ConcurrentHashMap<>();
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor expiry;
+
+    private volatile String redirect_URI = null;
+    private volatile AuthResponseHandler responseHandler = MyAnimeListAuthenticator.defaultHandler;
+
+    /**
+     * Starts an authorization server with 4 threads and a 3 minute timeout.
+     *
+     * @param client_id client id
+     * @param client_secret client secret, null if application has none
+     * @param port port, 0 for any free port
+     * @throws NullPointerException if client id is null
+     * @throws java.net.BindException if port was blocked
+     * @throws IOException if server could not be started
+     *
+     * @see #AuthorizationServer(String, String, int, int, long)
+     * @since 2.3.0
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public AuthorizationServer(final String client_id, final String client_secret, final int port) throws IOException{
+        this(client_id, client_secret, port, 4, 60 * 3);
+    }
+
+    /**
+     * Starts an authorization server.
+     *
+     * @param client_id client id
+     * @param client_secret client secret, null if application has none
+     * @param port port, 0 for any free port
+     * @param threads maximum threads used to handle callbacks and request tokens
+     * @param timeout how long (in seconds) a flow may stay pending before it expires
+     * @throws NullPointerException if client id is null
+     * @throws IllegalArgumentException if threads or timeout is less than 1
+     * @throws java.net.BindException if port was blocked
+     * @throws IOException if server could not be started
+     *
+     * @see #AuthorizationServer(String, String, int)
+     * @since 2.3.0
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public AuthorizationServer(final String client_id, final String client_secret, final int port, final int threads, final long timeout) throws IOException{
+        Objects.requireNonNull(client_id, "Client ID must not be null");
+        if(threads < 1)
+            throw new IllegalArgumentException("Threads must be at least 1");
+        if(timeout < 1)
+            throw new IllegalArgumentException("Timeout must be at least 1 second");
+
+        this.client_id      = client_id;
+        this.client_secret  = client_secret;
+        this.timeout        = timeout;
+
+        final int id = servers.incrementAndGet();
+        final AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * 64),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "mal4j-auth-" + id + '-' + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy() // slows down the dispatcher instead of dropping callbacks
+        );
+        executor.allowCoreThreadTimeOut(true);
+
+        expiry = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "mal4j-auth-" + id + "-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiry.setRemoveOnCancelPolicy(true);
+
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Sets the application redirect URI used by new flows. Only required if your application has more than one redirect URI registered.
+     *
+     * @param redirectURI redirect URI
+     * @return server
+     *
+     * @since 2.3.0
+     */
+    public final AuthorizationServer setRedirectURI(final String redirectURI){
+        this.redirect_URI = redirectURI;
+        return this;
+    }
+
+    /**
+     * Sets the response handler.
+     *
+     * @param responseHandler response handler, null to use the default
+     * @return server
+     *
+     * @see AuthResponseHandler
+     * @since 2.3.0
+     */
+    public final AuthorizationServer setResponseHandler(final AuthResponseHandler responseHandler){
+        this.responseHandler = responseHandler == null ? MyAnimeListAuthenticator.defaultHandler : responseHandler;
+        return this;
+    }
+
+    /**
+     * Starts a new authorization flow. Send the user to {@link Authorization#getAuthorizationURL()}; the authenticator completes once MyAnimeList redirects back to this server.
+     *
+     * @return authorization flow
+     * @throws IllegalStateException if the server was closed
+     *
+     * @see Authorization
+     * @since 2.3.0
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public final Authorization authorize(){
+        if(executor.isShutdown())
+            throw new IllegalStateException("Authorization server was closed");
+
+        final String verify = MyAnimeListAuthenticator.generatePKCECodeVerifier();
+        final String state  = MyAnimeListAuthenticator.generateSha256(client_id + '&' + verify);
+        final Authorization authorization = new Authorization(
+            state,
+            verify,
+            MyAnimeListAuthenticator.getAuthorizationURL(client_id, verify, redirect_URI, state)
+        );
+
+        authorization.expiry = expiry.schedule(() -> {
+            if(pending.remove(state, authorization))
+                authorization.authenticator.completeExceptionally(new TimeoutException("Authorization expired before a response was received"));
+        }, timeout, TimeUnit.SECONDS);
+        pending.put(state, authorization);
+        return authorization;
+    }
+
+    /**
+     * Returns the number of flows waiting for a callback.
+     *
+     * @return pending flows
+     *
+     * @since 2.3.0
+     */
+    public final int getPending(){
+        return pending.size();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return port
+     *
+     * @since 2.3.0
+     */
+    public final int getPort(){
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server. Pending flows complete with a {@link CancellationException}.
+     *
+     * @since 2.3.0
+     */
+    @Override
+    public final void close(){
+        server.stop(0);
+        executor.shutdownNow();
+        expiry.shutdownNow();
+        for(final Authorization authorization : pending.values())
+            authorization.authenticator.cancel(false);
+        pending.clear();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException{
+        final Map<String,String> query = MyAnimeListAuthenticator.AuthHandler.parseWwwFormEnc(exchange.getRequestURI().getRawQuery());
+        final String state = query.get("state");
+        final Authorization authorization = state != null ? pending.remove(state) : null;
+
+        if(authorization == null){ // unknown or expired state, never reveal anything about pending flows
+            final Map<String,String> error = new HashMap<>();
+            error.put("error", "invalid_state");
+            error.put("message", "Authorization request was not found or has expired");
+            MyAnimeListAuthenticator.AuthHandler.send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, responseHandler, error);
+            return;
+        }
+        authorization.expiry.cancel(false);
+
+        final String code = query.get("code");
+        MyAnimeListAuthenticator.AuthHandler.send(exchange, HttpURLConnection.HTTP_OK, responseHandler, query);
+
+        if(code == null){
+            final String error = query.get("error");
+            authorization.authenticator.completeExceptionally(new UnauthorizedAccessException("Failed to authorize request (" + (error != null ? error : "no authorization code") + ")"));
+            return;
+        }
+
+        try{
+            authorization.authenticator.complete(new MyAnimeListAuthenticator(client_id, client_secret, code, authorization.verify));
+        }catch(final Throwable e){
+            authorization.authenticator.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "AuthorizationServer{" +
+               "port=" + getPort() +
+               ", timeout=" + timeout +
+               ", redirect_URI='" + redirect_URI + '\'' +
+               ", pending=" + pending.size() +
+               '}';
+    }
+
+    /**
+     * A pending authorization flow.
+     *
+     * @see AuthorizationServer#authorize()
+     * @since 2.3.0
+     * @version 2.3.0
+     * @author Ktt Development
+     */
+    public static final class Authorization {
+
+        private final String state, verify, url;
+        private final CompletableFuture<MyAnimeListAuthenticator> authenticator = new CompletableFuture<>();
+        private volatile ScheduledFuture<?> expiry;
+
+        private Authorization(final String state, final String verify, final String url){
+            this.state  = state;
+            this.verify = verify;
+            this.url    = url;
+        }
+
+        /**
+         * Returns the OAuth state that identifies this flow.
+         *
+         * @return state
+         *
+         * @since 2.3.0
+         */
+        public final String getState(){
+            return state;
+        }
+
+        /**
+         * Returns the URL the user must visit to authorize the application.
+         *
+         * @return authorization URL
+         *
+         * @since 2.3.0
+         */
+        public final String getAuthorizationURL(){
+            return url;
+        }
+
+        /**
+         * Returns the authenticator once the user is authorized. Completes exceptionally with an {@link UnauthorizedAccessException} if the user denied access, a {@link TimeoutException} if the flow expired, or an {@link HttpException} if the token request failed.
+         *
+         * @return authenticator future
+         *
+         * @see MyAnimeListAuthenticator
+         * @since 2.3.0
+         */
+        public final CompletableFuture<MyAnimeListAuthenticator> getAuthenticator(){
+            return authenticator;
+        }
+
+        @Override
+        public String toString(){
+            return "Authorization{" +
+                   "state='" + state + '\'' +
+                   ", done=" + authenticator.isDone() +
+                   '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs batch requests on a bounded pool of daemon threads. Tasks submitted from a worker thread run on the calling thread to prevent the pool from waiting on itself.
+ * <br>
+ * A lane shares the threads of another executor but queues its own tasks, so that many lanes take turns on the threads instead of one lane filling the queue.
+ */
+final class BatchExecutor {
+
+    private static final AtomicInteger pools = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> worker;
+    private final ThreadPoolExecutor executor;
+    private final Lane lane;
+
+    /**
+     * Creates a batch executor.
+     *
+     * @param threads maximum concurrent tasks
+     */
+    BatchExecutor(final int threads){
+        if(threads < 1)
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        final int pool = pools.incrementAndGet();
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadLocal<Boolean> worker = ThreadLocal.withInitial(() -> false);
+        this.worker = worker;
+        this.lane = null;
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                final Thread thread = new Thread(() -> {
+                    worker.set(true);
+                    runnable.run();
+                }, "mal4j-" + pool + "-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private BatchExecutor(final BatchExecutor shared, final int concurrency){
+        this.worker     = shared.worker;
+        this.executor   = shared.executor;
+        this.lane       = new Lane(executor, concurrency);
+    }
+
+    /**
+     * Creates a lane that shares this executor's threads. Lanes take turns running one task at a time, and each lane runs at most as many tasks at once as there are threads.
+     *
+     * @return lane
+     */
+    final BatchExecutor lane(){
+        return new BatchExecutor(this, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sets the maximum concurrent tasks.
+     *
+     * @param threads maximum concurrent tasks
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    synchronized final void setConcurrency(final int threads){
+        if(threads < 1)
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        if(lane != null) // lanes only limit themselves
+            lane.concurrency = threads;
+        else if(threads > executor.getMaximumPoolSize()){
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        }else{
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * Returns the maximum concurrent tasks.
+     *
+     * @return maximum concurrent tasks
+     */
+    final int getConcurrency(){
+        return lane != null ? Math.min(lane.concurrency, executor.getMaximumPoolSize()) : executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Returns if the current thread is a worker of this executor.
+     *
+     * @return if current thread is a worker
+     */
+    final boolean isWorker(){
+        return worker.get();
+    }
+
+    /**
+     * Submits a task. Runs the task immediately if called from a worker thread.
+     *
+     * @param task task
+     * @param <T> result type
+     * @return future
+     */
+    final <T> Future<T> submit(final Callable<T> task){
+        if(isWorker()){
+            final FutureTask<T> future = new FutureTask<>(task);
+            future.run();
+            return future;
+        }else if(lane != null){
+            final FutureTask<T> future = new FutureTask<>(task);
+            lane.add(future);
+            return future;
+        }else
+            return executor.submit(task);
+    }
+
+    /**
+     * Runs a task for each unique ID and returns the results in the order the IDs were provided. Failed IDs are reported to the listener and are absent from the results.
+     *
+     * @param ids IDs
+     * @param task task to run for each ID
+     * @param listener listener, nullable
+     * @param <T> result type
+     * @return results by ID
+     * @throws NullPointerException if ids is null
+     */
+    final <T> Map<Long,T> map(final Collection<Long> ids, final Function<Long,T> task, final BatchListener<T> listener){
+        Objects.requireNonNull(ids, "IDs cannot be null");
+        final Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+
+        final Map<Long,T> results = new ConcurrentHashMap<>();
+        final List<Future<?>> futures = new ArrayList<>(unique.size());
+        for(final Long id : unique)
+            futures.add(submit(() -> {
+                final T result;
+                try{
+                    result = task.apply(id);
+                }catch(final RuntimeException e){
+                    if(listener != null)
+                        listener.onFailure(id, e);
+                    return null;
+                }
+                if(result != null){
+                    results.put(id, result);
+                    if(listener != null)
+                        listener.onResult(id, result);
+                }
+                return null;
+            }));
+
+        await(futures);
+
+        final Map<Long,T> ordered = new LinkedHashMap<>();
+        for(final Long id : unique){
+            final T result = results.get(id);
+            if(result != null)
+                ordered.put(id, result);
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns the result of a task, ignoring failures. The future should already be complete.
+     *
+     * @param future future
+     * @param <T> result type
+     * @return result, null if the task failed, was cancelled, or is not complete
+     */
+    static <T> T result(final Future<T> future){
+        if(future == null || !future.isDone())
+            return null;
+        try{
+            return future.get();
+        }catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+            return null;
+        }catch(final ExecutionException | CancellationException e){
+            return null;
+        }
+    }
+
+    /**
+     * Waits for all futures to complete. If interrupted, the remaining futures are cancelled and the interrupt flag is restored.
+     *
+     * @param futures futures
+     * @throws Error if a task threw an error
+     */
+    static void await(final Collection<? extends Future<?>> futures){
+        for(final Future<?> future : futures){
+            try{
+                future.get();
+            }catch(final InterruptedException ignored){
+                for(final Future<?> f : futures)
+                    f.cancel(true);
+                Thread.currentThread().interrupt();
+                return;
+            }catch(final ExecutionException e){
+                if(e.getCause() instanceof Error)
+                    throw (Error) e.getCause();
+            }catch(final CancellationException ignored){ } // handled by task
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "BatchExecutor{" +
+               "concurrency=" + getConcurrency() +
+               ", active=" + executor.getActiveCount() +
+               ", lane=" + (lane != null) +
+               '}';
+    }
+
+    private static final class Lane {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger scheduled = new AtomicInteger();
+        private final ThreadPoolExecutor executor;
+
+        private volatile int concurrency;
+
+        Lane(final ThreadPoolExecutor executor, final int concurrency){
+            this.executor = executor;
+            this.concurrency = concurrency;
+        }
+
+        private void add(final Runnable task){
+            queue.add(task);
+            schedule();
+        }
+
+        // puts the lane at the back of the executor queue, once for each task it can run at once
+        private void schedule(){
+            while(!queue.isEmpty()){
+                final int n = scheduled.get();
+                if(n >= Math.min(concurrency, executor.getMaximumPoolSize()))
+                    return;
+                if(scheduled.compareAndSet(n, n + 1)){
+                    executor.execute(this::runNext);
+                    return;
+                }
+            }
+        }
+
+        private void runNext(){
+            try{
+                final Runnable task = queue.poll();
+                if(task != null)
+                    task.run();
+            }finally{
+                scheduled.decrementAndGet();
+                schedule();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+/**
+ * Receives results from a batch request as they complete. Methods are called from the worker threads.
+ *
+ * @param <T> result type
+ *
+ * @see MyAnimeList#getAnime(java.util.Collection, BatchListener, String...)
+ * @see MyAnimeList#getManga(java.util.Collection, BatchListener, String...)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public interface BatchListener<T> {
+
+    /**
+     * Called when an ID was retrieved.
+     *
+     * @param id ID
+     * @param result result
+     *
+     * @since 2.3.0
+     */
+    default void onResult(final long id, final T result){ }
+
+    /**
+     * Called when an ID could not be retrieved.
+     *
+     * @param id ID
+     * @param throwable exception, typically {@link HttpException} or {@link java.io.UncheckedIOException}
+     *
+     * @since 2.3.0
+     */
+    default void onFailure(final long id, final Throwable throwable){ }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the result of a bulk list update.
+ *
+ * @param <R> list status type
+ *
+ * @see MyAnimeList#updateAnimeListings(Collection)
+ * @see MyAnimeList#updateMangaListings(Collection)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class BulkUpdateResult<R> {
+
+    private final List<Entry<R>> entries;
+    private final int failed;
+    private final long duration;
+
+    BulkUpdateResult(final List<Entry<R>> entries, final long durationNanos){
+        this.entries  = Collections.unmodifiableList(entries);
+        this.duration = durationNanos;
+
+        int failed = 0;
+        for(final Entry<R> entry : entries)
+            if(!entry.isSuccessful())
+                failed++;
+        this.failed = failed;
+    }
+
+    /**
+     * Returns the result of each update, in the order the updates were provided.
+     *
+     * @return entries
+     *
+     * @see Entry
+     * @since 2.3.0
+     */
+    public final List<Entry<R>> getEntries(){
+        return entries;
+    }
+
+    /**
+     * Returns the updates that failed.
+     *
+     * @return failed entries
+     *
+     * @see #getEntries()
+     * @since 2.3.0
+     */
+    public final List<Entry<R>> getFailed(){
+        final List<Entry<R>> list = new ArrayList<>(failed);
+        for(final Entry<R> entry : entries)
+            if(!entry.isSuccessful())
+                list.add(entry);
+        return list;
+    }
+
+    /**
+     * Returns how many updates were successful.
+     *
+     * @return successful count
+     *
+     * @since 2.3.0
+     */
+    public final int getSuccessCount(){
+        return entries.size() - failed;
+    }
+
+    /**
+     * Returns how many updates failed.
+     *
+     * @return failed count
+     *
+     * @since 2.3.0
+     */
+    public final int getFailureCount(){
+        return failed;
+    }
+
+    /**
+     * Returns how long the bulk update took in milliseconds.
+     *
+     * @return duration in milliseconds
+     *
+     * @since 2.3.0
+     */
+    public final long getDurationMillis(){
+        return TimeUnit.NANOSECONDS.toMillis(duration);
+    }
+
+    @Override
+    public String toString(){
+        return "BulkUpdateResult{" +
+               "entries=" + entries.size() +
+               ", failed=" + failed +
+               ", duration=" + getDurationMillis() +
+               '}';
+    }
+
+    /**
+     * Represents the result of a single list update.
+     *
+     * @param <R> list status type
+     *
+     * @see BulkUpdateResult
+     * @since 2.3.0
+     * @version 2.3.0
+     * @author Ktt Development
+     */
+    public static final class Entry<R> {
+
+        private final long id;
+        private final R status;
+        private final Throwable exception;
+        private final long duration;
+
+        Entry(final long id, final R status, final Throwable exception, final long durationNanos){
+            this.id         = id;
+            this.status     = status;
+            this.exception  = exception;
+            this.duration   = durationNanos;
+        }
+
+        /**
+         * Returns the ID of the listing.
+         *
+         * @return ID
+         *
+         * @since 2.3.0
+         */
+        public final long getID(){
+            return id;
+        }
+
+        /**
+         * Returns if the update was successful.
+         *
+         * @return if successful
+         *
+         * @since 2.3.0
+         */
+        public final boolean isSuccessful(){
+            return exception == null;
+        }
+
+        /**
+         * Returns the updated list status.
+         *
+         * @return list status, null if the update failed
+         *
+         * @since 2.3.0
+         */
+        public final R getListStatus(){
+            return status;
+        }
+
+        /**
+         * Returns the exception that caused the update to fail.
+         *
+         * @return exception, null if the update was successful
+         *
+         * @since 2.3.0
+         */
+        public final Throwable getException(){
+            return exception;
+        }
+
+        /**
+         * Returns how long the update took in milliseconds, including time spent waiting on other updates to the same listing.
+         *
+         * @return duration in milliseconds
+         *
+         * @since 2.3.0
+         */
+        public final long getDurationMillis(){
+            return TimeUnit.NANOSECONDS.toMillis(duration);
+        }
+
+        @Override
+        public String toString(){
+            return "Entry{" +
+                   "id=" + id +
+                   ", status=" + status +
+                   ", exception=" + exception +
+                   ", duration=" + getDurationMillis() +
+                   '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records which fields are used at each call site, so later requests from that call site only ask for those fields.
+ *
+ * @see MyAnimeList#setFieldProfiling(boolean)
+ * @see MyAnimeListSchema_Profiled
+ */
+final class FieldProfiler {
+
+    private static final String impl = MyAnimeListImpl.class.getName();
+
+    private final Map<Map.Entry<String,FieldSet.Universe>,Profile> profiles = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = false;
+
+    final void setEnabled(final boolean enabled){
+        this.enabled = enabled;
+        if(!enabled)
+            profiles.clear();
+    }
+
+    final boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Returns the call site of the current request. Called once per query, by the method or query object the user called.
+     *
+     * @return call site, null if profiling is disabled or the call site could not be found
+     */
+    final String site(){
+        return enabled ? callSite() : null;
+    }
+
+    /**
+     * Returns the profile for a call site.
+     *
+     * @param site call site
+     * @param universe fields the profile is for
+     * @return profile, null if profiling is disabled or there is no call site
+     *
+     * @see #site()
+     */
+    final Profile profile(final String site, final FieldSet.Universe universe){
+        if(!enabled || site == null) return null;
+        return profiles.computeIfAbsent(new AbstractMap.SimpleImmutableEntry<>(site, universe), e -> new Profile(universe));
+    }
+
+    final Set<String> sites(){
+        final Set<String> sites = new HashSet<>();
+        for(final Map.Entry<String,FieldSet.Universe> key : profiles.keySet())
+            sites.add(key.getKey());
+        return sites;
+    }
+
+    // frame that called into the implementation
+    private static String callSite(){
+        boolean entered = false;
+        for(final StackTraceElement element : new Throwable().getStackTrace()){
+            if(element.getClassName().startsWith(impl))
+                entered = true;
+            else if(entered)
+                return element.getClassName() + '#' + element.getMethodName() + ':' + element.getLineNumber();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString(){
+        return "FieldProfiler{" +
+               "enabled=" + enabled +
+               ", profiles=" + profiles.size() +
+               '}';
+    }
+
+    /**
+     * Represents the fields used at a call site.
+     */
+    static final class Profile {
+
+        private final FieldSet.Universe universe;
+
+        private volatile FieldSet used;
+        private volatile boolean observed = false;
+
+        private Profile(final FieldSet.Universe universe){
+            this.universe   = universe;
+            this.used       = universe.none();
+        }
+
+        /**
+         * Returns the fields to request. The first request asks for all fields so usage can be recorded without refetching.
+         *
+         * @return fields to request
+         */
+        final FieldSet request(){
+            if(!observed){
+                observed = true;
+                return universe.all();
+            }
+            return used;
+        }
+
+        /**
+         * Records that a field was used.
+         *
+         * @param field field
+         */
+        final void use(final String field){
+            if(!used.contains(field))
+                synchronized(this){
+                    used = used.union(universe.of(field));
+                }
+        }
+
+        final FieldSet used(){
+            return used;
+        }
+
+        @Override
+        public String toString(){
+            return "Profile{" +
+                   "used=" + used +
+                   '}';
+        }
+
+    }
+
+    /**
+     * Holds an object retrieved with a subset of fields. Using a field that was not retrieved refetches the object with all fields once.
+     *
+     * @param <T> object type
+     */
+    static final class Profiled<T> {
+
+        private final Profile profile;
+        private final Supplier<? extends T> refetch;
+
+        private volatile T value;
+        private volatile FieldSet fetched;
+
+        Profiled(final T value, final FieldSet fetched, final Profile profile, final Supplier<? extends T> refetch){
+            this.value      = value;
+            this.fetched    = fetched;
+            this.profile    = profile;
+            this.refetch    = refetch;
+        }
+
+        /**
+         * Returns the object without recording a field.
+         *
+         * @return object
+         */
+        final T get(){
+            return value;
+        }
+
+        /**
+         * Records a field and returns an object that has it.
+         *
+         * @param field field
+         * @return object
+         */
+        final T get(final String field){
+            profile.use(field);
+            if(!fetched.contains(field))
+                synchronized(this){
+                    if(!fetched.contains(field)){
+                        final T value = refetch.get();
+                        if(value != null)
+                            this.value = value;
+                        fetched = profile.universe.all();
+                    }
+                }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Represents a set of top level fields from a field universe such as {@link Fields#anime}. Sets are interned per universe, so equal sets are the same instance, and the rendered field string is computed once.
+ *
+ * @see Universe
+ */
+final class FieldSet {
+
+    private final Universe universe;
+    private final BitSet bits;
+    private final String string;
+
+    private FieldSet(final Universe universe, final BitSet bits){
+        this.universe = universe;
+        this.bits     = bits;
+
+        final StringBuilder SB = new StringBuilder();
+        for(int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+            SB.append(universe.tokens[i]).append(',');
+        this.string = SB.length() == 0 ? "" : SB.deleteCharAt(SB.length() - 1).toString();
+    }
+
+    /**
+     * Returns the universe this set belongs to.
+     *
+     * @return universe
+     */
+    final Universe universe(){
+        return universe;
+    }
+
+    /**
+     * Returns if a field is in this set.
+     *
+     * @param field field name or token
+     * @return if field is in set
+     */
+    final boolean contains(final String field){
+        final Integer index = universe.indexOf(field);
+        return index != null && bits.get(index);
+    }
+
+    /**
+     * Returns the number of fields in this set.
+     *
+     * @return size
+     */
+    final int size(){
+        return bits.cardinality();
+    }
+
+    final boolean isEmpty(){
+        return bits.isEmpty();
+    }
+
+    /**
+     * Returns the union of this set and another set.
+     *
+     * @param other set from the same universe
+     * @return union
+     */
+    final FieldSet union(final FieldSet other){
+        requireSameUniverse(other);
+        if(other == this) return this;
+        final BitSet bits = (BitSet) this.bits.clone();
+        bits.or(other.bits);
+        return universe.intern(bits);
+    }
+
+    /**
+     * Returns the intersection of this set and another set.
+     *
+     * @param other set from the same universe
+     * @return intersection
+     */
+    final FieldSet intersect(final FieldSet other){
+        requireSameUniverse(other);
+        if(other == this) return this;
+        final BitSet bits = (BitSet) this.bits.clone();
+        bits.and(other.bits);
+        return universe.intern(bits);
+    }
+
+    /**
+     * Returns every field in the universe that is not in this set.
+     *
+     * @return inverted set
+     */
+    final FieldSet invert(){
+        final BitSet bits = (BitSet) this.bits.clone();
+        bits.flip(0, universe.tokens.length);
+        return universe.intern(bits);
+    }
+
+    /**
+     * Returns if every field in this set is in another set.
+     *
+     * @param other set from the same universe
+     * @return if this is a subset of other
+     */
+    final boolean isSubsetOf(final FieldSet other){
+        requireSameUniverse(other);
+        final BitSet bits = (BitSet) this.bits.clone();
+        bits.andNot(other.bits);
+        return bits.isEmpty();
+    }
+
+    private void requireSameUniverse(final FieldSet other){
+        if(other.universe != universe)
+            throw new IllegalArgumentException("Field sets must be from the same universe");
+    }
+
+    /**
+     * Returns the fields as a comma separated string for a request.
+     *
+     * @return fields
+     */
+    @Override
+    public final String toString(){
+        return string;
+    }
+
+    // universe
+
+    private static final Map<String,Universe> universes = new ConcurrentHashMap<>();
+
+    static final Universe ANIME = universe(Fields.anime);
+    static final Universe MANGA = universe(Fields.manga);
+    static final Universe USER  = universe(Fields.user);
+
+    /**
+     * Returns the universe for a default field string.
+     *
+     * @param fields comma separated default fields
+     * @return universe
+     */
+    static Universe universe(final String fields){
+        return universes.computeIfAbsent(fields, Universe::new);
+    }
+
+    /**
+     * Represents every top level field that can be requested, from a comma separated default field string.
+     */
+    static final class Universe {
+
+        private static final int MAX_RENDERED = 256;
+
+        private final String fields;
+        private final String[] tokens;
+        private final Map<String,Integer> index = new HashMap<>();
+        private final Set<String> nested = new HashSet<>();
+
+        private final Map<BitSet,FieldSet> interned = new ConcurrentHashMap<>();
+        private final Map<List<String>,String> rendered = new ConcurrentHashMap<>();
+
+        private final FieldSet all, none;
+
+        private Universe(final String fields){
+            this.fields = fields;
+
+            // split top level fields, keeping nested fields with their parent
+            final List<String> tokens = new ArrayList<>();
+            int depth = 0, start = 0;
+            for(int i = 0, len = fields.length(); i <= len; i++){
+                final char ch = i == len ? ',' : fields.charAt(i);
+                if(ch == '{')
+                    depth++;
+                else if(ch == '}')
+                    depth--;
+                else if(ch == ',' && depth == 0){
+                    if(i > start)
+                        tokens.add(fields.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            this.tokens = tokens.toArray(new String[0]);
+
+            for(int i = 0; i < this.tokens.length; i++){
+                final String token = this.tokens[i];
+                final int brace = token.indexOf('{');
+                index.put(token, i);
+                if(brace != -1){
+                    index.putIfAbsent(token.substring(0, brace), i);
+                    for(final String field : token.substring(brace + 1, token.length() - 1).split(","))
+                        nested.add(field);
+                }
+            }
+
+            final BitSet bits = new BitSet(this.tokens.length);
+            bits.set(0, this.tokens.length);
+            all  = intern(bits);
+            none = intern(new BitSet(this.tokens.length));
+        }
+
+        /**
+         * Returns the top level field names.
+         *
+         * @return field names
+         */
+        final List<String> names(){
+            final List<String> names = new ArrayList<>(tokens.length);
+            for(final String token : tokens){
+                final int brace = token.indexOf('{');
+                names.add(brace == -1 ? token : token.substring(0, brace));
+            }
+            return names;
+        }
+
+        /**
+         * Returns the index of a field name or token.
+         *
+         * @param field field name or token
+         * @return index, null if not in universe
+         */
+        final Integer indexOf(final String field){
+            return index.get(field);
+        }
+
+        final FieldSet all(){
+            return all;
+        }
+
+        final FieldSet none(){
+            return none;
+        }
+
+        /**
+         * Returns the set of fields. Nested fields and fields not in this universe are ignored.
+         *
+         * @param fields field names or tokens
+         * @return field set
+         */
+        final FieldSet of(final String... fields){
+            final BitSet bits = new BitSet(tokens.length);
+            for(final String field : fields){
+                final Integer i = index.get(field);
+                if(i != null)
+                    bits.set(i);
+            }
+            return intern(bits);
+        }
+
+        /**
+         * Returns the set of fields in a comma separated field string. Nested fields select their parent.
+         *
+         * @param fields comma separated fields
+         * @param exact if fields must match the whole top level field, such as <code>my_list_status{start_date,finish_date}</code>
+         * @return field set
+         */
+        final FieldSet parse(final String fields, final boolean exact){
+            final BitSet bits = new BitSet(tokens.length);
+            int depth = 0, start = 0;
+            for(int i = 0, len = fields.length(); i <= len; i++){
+                final char ch = i == len ? ',' : fields.charAt(i);
+                if(ch == '{')
+                    depth++;
+                else if(ch == '}')
+                    depth--;
+                else if(ch == ',' && depth == 0){
+                    if(i > start){
+                        final String token = fields.substring(start, i).trim();
+                        final Integer index = this.index.get(token);
+                        if(index != null && (!exact || tokens[index].equals(token)))
+                            bits.set(index);
+                    }
+                    start = i + 1;
+                }
+            }
+            return intern(bits);
+        }
+
+        /**
+         * Returns the set of fields that are present in a json object. Fields with nested fields are not included, since they may be partial.
+         *
+         * @param json json object
+         * @return field set
+         */
+        final FieldSet present(final Json.JsonObject json){
+            final BitSet bits = new BitSet(tokens.length);
+            for(final String key : json.keySet()){
+                final Integer index = this.index.get(key);
+                if(index != null && tokens[index].equals(key))
+                    bits.set(index);
+            }
+            return intern(bits);
+        }
+
+        private FieldSet intern(final BitSet bits){
+            final FieldSet set = interned.get(bits);
+            return set != null ? set : interned.computeIfAbsent(bits, b -> new FieldSet(this, b));
+        }
+
+        /**
+         * Returns the comma separated fields for a request. Results are cached for each distinct field list.
+         *
+         * @param fields requested fields, may include {@link Fields#INVERTED}
+         * @return comma separated fields
+         */
+        final String render(final List<String> fields){
+            if(fields == null)
+                return this.fields;
+            else if(fields.isEmpty())
+                return "";
+
+            final String cached = rendered.get(fields);
+            if(cached != null)
+                return cached;
+
+            final String string = toFieldString(fields);
+            if(rendered.size() < MAX_RENDERED)
+                rendered.putIfAbsent(Collections.unmodifiableList(new ArrayList<>(fields)), string);
+            return string;
+        }
+
+        private String toFieldString(final List<String> fields){
+            final boolean inverted = fields.contains(Fields.INVERTED);
+            if(inverted && fields.size() == 1)
+                return this.fields;
+
+            final BitSet bits = new BitSet(tokens.length);
+            if(inverted)
+                bits.set(0, tokens.length);
+
+            for(final String field : fields){
+                if(field.equals(Fields.INVERTED)) continue;
+                final Integer i = index.get(field);
+                // fields that are not a whole top level field, or also appear nested, keep the string behavior
+                if(i == null || (inverted ? nested.contains(field) : !tokens[i].equals(field) && tokens[i].indexOf('{') != -1))
+                    return inverted ? removeFields(fields) : MyAnimeListImpl.toCommaSeparatedString(fields);
+                bits.set(i, !inverted);
+            }
+            return intern(bits).toString();
+        }
+
+        private String removeFields(final List<String> fields){
+            String buffer = this.fields;
+            for(final String field : fields)
+                buffer = invertedPattern(field).matcher(buffer).replaceAll("");
+            return buffer;
+        }
+
+        @Override
+        public final String toString(){
+            return "Universe{" +
+                   "fields=" + tokens.length +
+                   ", interned=" + interned.size() +
+                   ", rendered=" + rendered.size() +
+                   '}';
+        }
+
+    }
+
+    // inverted
+
+    private static final String inverted = "^%s$|^%s(?=,)|(?<=\\w)\\{%s}|(?:^|,)%s\\{.*?}|,%s|(?<=\\{)%s,";
+
+    private static final Map<String,Pattern> invertedPatterns = new ConcurrentHashMap<>();
+
+    private static Pattern invertedPattern(final String field){
+        return invertedPatterns.computeIfAbsent(field, f -> Pattern.compile(inverted.replace("%s", Pattern.quote(f))));
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import javax.crypto.*;
+import javax.crypto.spec.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * Stores an access token in a file. The file is replaced atomically, so a crash while writing never leaves a partial token behind.
+ * <br>
+ * If a passphrase is provided the token is encrypted with AES-GCM, using a key derived from the passphrase with PBKDF2.
+ *
+ * @see TokenStore
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class FileTokenStore implements TokenStore {
+
+    private static final String CIPHER     = "AES/GCM/NoPadding";
+    private static final String KEY        = "PBKDF2WithHmacSHA256";
+    private static final int ITERATIONS    = 65536;
+    private static final int KEY_BITS      = 256;
+    private static final int SALT_BYTES    = 16;
+    private static final int IV_BYTES      = 12;
+    private static final int TAG_BITS      = 128;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private final Path path;
+    private final char[] passphrase;
+
+    /**
+     * Creates a file token store that stores the token as plain text.
+     *
+     * @param file file to store the token in
+     * @throws NullPointerException if file is null
+     *
+     * @see #FileTokenStore(File, char[])
+     * @since 2.3.0
+     */
+    public FileTokenStore(final File file){
+        this(file, null);
+    }
+
+    /**
+     * Creates a file token store that encrypts the token.
+     *
+     * @param file file to store the token in
+     * @param passphrase passphrase to encrypt the token with, null to store the token as plain text
+     * @throws NullPointerException if file is null
+     *
+     * @see #FileTokenStore(File)
+     * @since 2.3.0
+     */
+    public FileTokenStore(final File file, final char[] passphrase){
+        this.path       = Objects.requireNonNull(file, "File cannot be null").toPath().toAbsolutePath();
+        this.passphrase = passphrase != null ? passphrase.clone() : null;
+    }
+
+    @Override
+    public synchronized final AccessToken load() throws IOException{
+        if(!Files.exists(path))
+            return null;
+
+        final byte[] bytes = Files.readAllBytes(path);
+        final String json = new String(passphrase == null ? bytes : decrypt(bytes), StandardCharsets.UTF_8);
+        try{
+            final Json.JsonObject obj = (Json.JsonObject) Json.parse(json);
+            return AccessToken.of(
+                obj.getString("token_type"),
+                obj.getString("access_token"),
+                obj.getString("refresh_token"),
+                obj.getLong("expiry")
+            );
+        }catch(final JsonSyntaxException | ClassCastException | NullPointerException e){
+            throw new IOException("Stored token is malformed", e);
+        }
+    }
+
+    @Override
+    public synchronized final void save(final AccessToken token) throws IOException{
+        Objects.requireNonNull(token, "Token cannot be null");
+        final String json =
+            "{\n" +
+            "\"token_type\": \"" + escape(token.getTokenType()) + "\",\n" +
+            "\"access_token\": \"" + escape(token.getAccessToken()) + "\",\n" +
+            "\"refresh_token\": \"" + escape(token.getRefreshToken()) + "\",\n" +
+            "\"expiry\": " + token.getExpiryEpochSeconds() + "\n" +
+            "}";
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        final Path dir = path.getParent();
+        if(dir != null)
+            Files.createDirectories(dir);
+        final Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try{
+            try{
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            }catch(final UnsupportedOperationException ignored){ } // not a posix file system
+            Files.write(temp, passphrase == null ? bytes : encrypt(bytes));
+            try{
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }catch(final AtomicMoveNotSupportedException ignored){
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // encryption
+
+    private byte[] encrypt(final byte[] plain) throws IOException{
+        final byte[] salt = new byte[SALT_BYTES];
+        final byte[] iv   = new byte[IV_BYTES];
+        random.nextBytes(salt);
+        random.nextBytes(iv);
+        try{
+            final Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key(salt), new GCMParameterSpec(TAG_BITS, iv));
+            final byte[] encrypted = cipher.doFinal(plain);
+
+            final byte[] out = new byte[SALT_BYTES + IV_BYTES + encrypted.length];
+            System.arraycopy(salt, 0, out, 0, SALT_BYTES);
+            System.arraycopy(iv, 0, out, SALT_BYTES, IV_BYTES);
+            System.arraycopy(encrypted, 0, out, SALT_BYTES + IV_BYTES, encrypted.length);
+            return Base64.getEncoder().encode(out);
+        }catch(final GeneralSecurityException e){
+            throw new IOException("Failed to encrypt token", e);
+        }
+    }
+
+    private byte[] decrypt(final byte[] encoded) throws IOException{
+        final byte[] in;
+        try{
+            in = Base64.getDecoder().decode(encoded);
+        }catch(final IllegalArgumentException e){
+            throw new IOException("Stored token is not encrypted", e);
+        }
+        if(in.length < SALT_BYTES + IV_BYTES)
+            throw new IOException("Stored token is malformed");
+        try{
+            final Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key(Arrays.copyOf(in, SALT_BYTES)), new GCMParameterSpec(TAG_BITS, in, SALT_BYTES, IV_BYTES));
+            return cipher.doFinal(in, SALT_BYTES + IV_BYTES, in.length - SALT_BYTES - IV_BYTES);
+        }catch(final AEADBadTagException e){
+            throw new IOException("Failed to decrypt token (incorrect passphrase or modified file)", e);
+        }catch(final GeneralSecurityException e){
+            throw new IOException("Failed to decrypt token", e);
+        }
+    }
+
+    private SecretKey key(final byte[] salt) throws GeneralSecurityException{
+        final PBEKeySpec spec = new PBEKeySpec(passphrase, salt, ITERATIONS, KEY_BITS);
+        try{
+            return new SecretKeySpec(SecretKeyFactory.getInstance(KEY).generateSecret(spec).getEncoded(), "AES");
+        }finally{
+            spec.clearPassword();
+        }
+    }
+
+    private static String escape(final String str){
+        return str == null ? "" : str.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    @Override
+    public String toString(){
+        return "FileTokenStore{" +
+               "path=" + path +
+               ", encrypted=" + (passphrase != null) +
+               '}';
+    }
+
+}
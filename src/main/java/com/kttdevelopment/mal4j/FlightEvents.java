@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+/**
+ * JDK Flight Recorder events. This implementation does nothing; Java 11+ uses the implementation in <code>src/main/java11</code>, which records events while a recording is running.
+ * <br>
+ * Each begin method returns an event to pass to its commit method, or null if the event is not being recorded.
+ */
+final class FlightEvents {
+
+    private FlightEvents(){ }
+
+    static Object beginApiCall(){
+        return null;
+    }
+
+    static void commitApiCall(final Object event, final String endpoint, final String method, final int status, final String body){ }
+
+    static Object beginJsonParse(){
+        return null;
+    }
+
+    static void commitJsonParse(final Object event, final String json, final int nodes){ }
+
+    static void beginEntityMap(){ }
+
+    static void commitEntityMap(final Object value){ }
+
+    static void clearEntityMap(){ }
+
+    static Object beginTokenRefresh(){
+        return null;
+    }
+
+    static void commitTokenRefresh(final Object event, final boolean refreshed){ }
+
+}
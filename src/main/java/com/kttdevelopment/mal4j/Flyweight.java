@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of canonical instances for small immutable value types such as studios, authors, and publishers. Values with the same key share one instance, so they can be compared and grouped by identity.
+ * <br>
+ * Once the cache is full, the least recently used instance is evicted. Each MyAnimeList instance keeps its own caches, so they are released with it.
+ *
+ * @param <V> value type
+ *
+ * @see MyAnimeListImpl
+ */
+final class Flyweight<V> {
+
+    private final Map<Key,V> cache;
+
+    private final int capacity;
+
+    /**
+     * Creates a flyweight cache.
+     *
+     * @param capacity max number of instances to keep
+     */
+    Flyweight(final int capacity){
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<Key,V>(16, 0.75f, true){
+
+            @Override
+            protected final boolean removeEldestEntry(final Map.Entry<Key,V> eldest){
+                return size() > capacity;
+            }
+
+        };
+    }
+
+    /**
+     * Returns the canonical instance for a key, creating it if it does not exist.
+     *
+     * @param factory value supplier
+     * @param key key values, arrays are compared by content
+     * @return canonical instance
+     */
+    final V get(final Supplier<V> factory, final Object... key){
+        final Key k = new Key(key);
+        synchronized(cache){
+            final V existing = cache.get(k);
+            if(existing != null)
+                return existing;
+        }
+        final V value = factory.get();
+        synchronized(cache){
+            final V previous = cache.putIfAbsent(k, value);
+            return previous != null ? previous : value;
+        }
+    }
+
+    /**
+     * Returns the number of canonical instances.
+     *
+     * @return size
+     */
+    final int size(){
+        synchronized(cache){
+            return cache.size();
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "Flyweight{" +
+               "size=" + size() +
+               ", capacity=" + capacity +
+               '}';
+    }
+
+    private static final class Key {
+
+        private final Object[] values;
+        private final int hash;
+
+        Key(final Object[] values){
+            this.values = values;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public final boolean equals(final Object o){
+            return this == o || o instanceof Key && hash == ((Key) o).hash && Arrays.deepEquals(values, ((Key) o).values);
+        }
+
+        @Override
+        public final int hashCode(){
+            return hash;
+        }
+
+    }
+
+}
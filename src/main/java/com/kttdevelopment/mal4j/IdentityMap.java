@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.Json.JsonObject;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Merges the json of every Anime and Manga seen by a MyAnimeList instance into one object per ID, along with the fields known for it.
+ * <br>
+ * Entities are immutable, so existing objects are not changed. Instead, each new entity is created from the merged json, and requests for fields that are already known are answered without a request.
+ * <br>
+ * Each universe keeps at most a fixed number of IDs, evicting the least recently used. An ID is evicted when its list status is updated or deleted.
+ *
+ * @see MyAnimeList#setIdentityMap(boolean)
+ */
+final class IdentityMap {
+
+    // max IDs kept for each universe
+    private static final int CAPACITY = 2048;
+
+    private final Map<Long,Entry> anime;
+    private final Map<Long,Entry> manga;
+
+    private volatile boolean enabled = false;
+
+    IdentityMap(){
+        this(CAPACITY);
+    }
+
+    /**
+     * Creates an identity map.
+     *
+     * @param capacity max number of IDs to keep for each universe
+     */
+    IdentityMap(final int capacity){
+        anime = lru(capacity);
+        manga = lru(capacity);
+    }
+
+    private static Map<Long,Entry> lru(final int capacity){
+        return new LinkedHashMap<Long,Entry>(16, 0.75f, true){
+
+            @Override
+            protected final boolean removeEldestEntry(final Map.Entry<Long,Entry> eldest){
+                return size() > capacity;
+            }
+
+        };
+    }
+
+    /**
+     * Sets if the identity map is enabled. Disabling clears all entries.
+     *
+     * @param enabled if enabled
+     */
+    final void setEnabled(final boolean enabled){
+        this.enabled = enabled;
+        if(!enabled){
+            synchronized(anime){
+                anime.clear();
+            }
+            synchronized(manga){
+                manga.clear();
+            }
+        }
+    }
+
+    final boolean isEnabled(){
+        return enabled;
+    }
+
+    private Map<Long,Entry> entries(final FieldSet.Universe universe){
+        return universe == FieldSet.ANIME ? anime : manga;
+    }
+
+    /**
+     * Merges json into the entry for its ID.
+     *
+     * @param universe {@link FieldSet#ANIME} or {@link FieldSet#MANGA}
+     * @param json entity json
+     * @param requested fields requested for the json, null if unknown
+     * @return merged json, or the same json if disabled or it has no ID
+     */
+    final JsonObject merge(final FieldSet.Universe universe, final JsonObject json, final FieldSet requested){
+        if(!enabled || json == null || !(json.get("id") instanceof Number))
+            return json;
+
+        final FieldSet present = universe.present(json);
+        final FieldSet fetched = requested == null ? present : present.union(requested);
+        final Map<Long,Entry> entries = entries(universe);
+        synchronized(entries){
+            return entries.compute(
+                json.getLong("id"),
+                (id, entry) -> entry == null
+                    ? new Entry(json, fetched)
+                    : new Entry(JsonObject.merge(entry.json, json), entry.fetched.union(fetched))
+            ).json;
+        }
+    }
+
+    /**
+     * Returns the merged json for an ID if all requested fields are known.
+     *
+     * @param universe {@link FieldSet#ANIME} or {@link FieldSet#MANGA}
+     * @param id ID
+     * @param requested requested fields
+     * @return merged json, null if not known
+     */
+    final JsonObject get(final FieldSet.Universe universe, final long id, final FieldSet requested){
+        if(!enabled) return null;
+        final Map<Long,Entry> entries = entries(universe);
+        final Entry entry;
+        synchronized(entries){
+            entry = entries.get(id);
+        }
+        return entry != null && requested.isSubsetOf(entry.fetched) ? entry.json : null;
+    }
+
+    /**
+     * Removes the merged json for an ID, so the next request for it is sent.
+     *
+     * @param universe {@link FieldSet#ANIME} or {@link FieldSet#MANGA}
+     * @param id ID
+     */
+    final void evict(final FieldSet.Universe universe, final long id){
+        final Map<Long,Entry> entries = entries(universe);
+        synchronized(entries){
+            entries.remove(id);
+        }
+    }
+
+    /**
+     * Returns the number of merged Anime and Manga.
+     *
+     * @return size
+     */
+    final int size(){
+        synchronized(anime){
+            synchronized(manga){
+                return anime.size() + manga.size();
+            }
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "IdentityMap{" +
+               "enabled=" + enabled +
+               ", anime=" + anime.size() +
+               ", manga=" + manga.size() +
+               '}';
+    }
+
+    private static final class Entry {
+
+        private final JsonObject json;
+        private final FieldSet fetched;
+
+        Entry(final JsonObject json, final FieldSet fetched){
+            this.json = json;
+            this.fetched = fetched;
+        }
+
+    }
+
+}
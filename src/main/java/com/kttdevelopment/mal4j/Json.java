@@ -97,11 +97,35 @@ class Json {
     private final Matcher unicodeMatcher = escUnicode.matcher("");
     private final Matcher escapedMatcher = escapedCharacters.matcher("");
 
-    private Json(){ }
+    private final StringTable strings;
+
+    // values parsed, for flight recorder events
+    private int nodes = 1;
+
+    private Json(final StringTable strings){
+        this.strings = strings;
+    }
 
     // required for lambda
     static Object parse(final String json){
-        return new Json().parseJson(json);
+        return parse(json, null);
+    }
+
+    /**
+     * Returns json as a JsonObject or List, sharing keys and enum-like values through a string table.
+     *
+     * @param json json string
+     * @param strings string table, null to not share strings
+     * @return parsed json
+     *
+     * @see StringTable
+     */
+    static Object parse(final String json, final StringTable strings){
+        final Object event = FlightEvents.beginJsonParse();
+        final Json parser = new Json(strings);
+        final Object parsed = parser.parseJson(json);
+        FlightEvents.commitJsonParse(event, json, parser.nodes);
+        return parsed;
     }
 
     /**
@@ -120,11 +144,19 @@ class Json {
         final StringBuilder OUT = new StringBuilder();
         int lastMatch = -1; // the index after the previous match
         splitMatcher.reset(flatJson);
-        final Matcher quotes = nonEscQuoteMatcher.reset();
+        final Matcher quotes = nonEscQuoteMatcher.reset(flatJson);
+        final int total = Java9.Matcher.count(quotes);
+        quotes.reset();
+        // walk quotes alongside symbols instead of recounting the remainder for each symbol
+        int before = 0;
+        boolean next = quotes.find();
         while(splitMatcher.find()){ // while still contains line splitting symbol
             final int index = splitMatcher.end() - 1; // before the comma/split character
-            final String after = flatJson.substring(index + 1);
-            final long count = Java9.Matcher.count(quotes.reset(after));
+            while(next && quotes.end() <= index){
+                before++;
+                next = quotes.find();
+            }
+            final long count = total - before; // quotes after symbol
             if(count %2 == 0){ // even means symbol is not within quotes
                 if(lastMatch != -1) // if not first (no before content)
                     OUT.append(flatJson, lastMatch, index); // add content between last match and here
@@ -170,6 +202,7 @@ class Json {
         while((ln = reader.readLine()) != null){ // while not closing tag
             ln = ln.trim();
             if(arrayMatcher.reset(ln).matches()){
+                nodes++;
                 String raw;
                 if((raw = arrayMatcher.group("double")) != null)
                     try{
@@ -207,7 +240,8 @@ class Json {
         while((ln = reader.readLine()) != null){
             ln = ln.trim();
             if(mapMatcher.reset(ln).matches()){
-                final String key = decodeString(mapMatcher.group("key"));
+                nodes++;
+                final String key = strings == null ? decodeString(mapMatcher.group("key")) : strings.key(decodeString(mapMatcher.group("key")));
                 String raw;
                 if((raw = mapMatcher.group("double")) != null)
                     try{
@@ -226,7 +260,7 @@ class Json {
                 else if(mapMatcher.group("null") != null)
                     obj.set(key, null);
                 else if((raw = mapMatcher.group("string")) != null)
-                    obj.set(key, decodeString(raw));
+                    obj.set(key, strings == null ? decodeString(raw) : strings.value(key, decodeString(raw)));
                 else if(mapMatcher.group("array") != null) // open new array
                     obj.set(key, openArray(reader, json));
                 else if(mapMatcher.group("map") != null) // open new map
@@ -328,6 +362,24 @@ class Json {
             map.put(key, value);
         }
 
+        final Set<String> keySet(){
+            return Collections.unmodifiableSet(map.keySet());
+        }
+
+        /**
+         * Returns a new object with the values of both objects. Values from the update replace existing values.
+         *
+         * @param base existing object
+         * @param update newer object
+         * @return merged object
+         */
+        static JsonObject merge(final JsonObject base, final JsonObject update){
+            final JsonObject obj = new JsonObject();
+            obj.map.putAll(base.map);
+            obj.map.putAll(update.map);
+            return obj;
+        }
+
         @Override
         public String toString(){
             return "JsonObject{" +
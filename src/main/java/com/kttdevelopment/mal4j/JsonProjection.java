@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Removes fields that were not requested from Anime and Manga objects before the json is parsed. Skipped values are passed over by scanning for the matching bracket or quote, so nothing is allocated for them.
+ * <br>
+ * Only members of the response root and of <code>node</code> objects are removed, since those are the objects that fields apply to. The <code>id</code>, <code>title</code>, <code>main_picture</code>, and <code>list_status</code> fields are always kept.
+ *
+ * @see Json#parse(String)
+ * @see APICall#call(java.util.function.Function)
+ */
+final class JsonProjection {
+
+    private static final Set<String> kept = new HashSet<>(Arrays.asList("id", "title", "main_picture", "list_status"));
+
+    private static final Set<String> skippable = new HashSet<>();
+
+    static{
+        skippable.addAll(FieldSet.ANIME.names());
+        skippable.addAll(FieldSet.MANGA.names());
+        skippable.removeAll(kept);
+    }
+
+    private static final JsonProjection NONE = new JsonProjection(Collections.emptySet());
+
+    private static final int MAX_CACHED = 256;
+    private static final Map<String,JsonProjection> cache = new ConcurrentHashMap<>();
+
+    // [,{}]
+    @SuppressWarnings("RegExpRedundantEscape") // android requires this syntax (#133)
+    private static final Pattern separator = Pattern.compile("[,\\{\\}]");
+
+    /**
+     * Returns the projection for a requested field string.
+     *
+     * @param fields comma separated fields, null if all fields were requested
+     * @return projection
+     */
+    static JsonProjection of(final String fields){
+        if(fields == null) return NONE;
+
+        final JsonProjection cached = cache.get(fields);
+        if(cached != null) return cached;
+
+        final Set<String> skip = new HashSet<>(skippable);
+        for(final String field : separator.split(fields))
+            skip.remove(field.trim());
+
+        final JsonProjection projection = skip.isEmpty() ? NONE : new JsonProjection(skip);
+        if(cache.size() < MAX_CACHED)
+            cache.putIfAbsent(fields, projection);
+        return projection;
+    }
+
+    //
+
+    private final String[] skip;
+
+    private JsonProjection(final Set<String> skip){
+        this.skip = skip.toArray(new String[0]);
+    }
+
+    /**
+     * Parses json, skipping fields that were not requested.
+     *
+     * @param json json string
+     * @return parsed json
+     *
+     * @see Json#parse(String)
+     */
+    final Object parse(final String json){
+        return parse(json, null);
+    }
+
+    /**
+     * Parses json, skipping fields that were not requested.
+     *
+     * @param json json string
+     * @param strings string table, null to not share strings
+     * @return parsed json
+     *
+     * @see Json#parse(String, StringTable)
+     */
+    final Object parse(final String json, final StringTable strings){
+        return Json.parse(project(json), strings);
+    }
+
+    /**
+     * Removes fields that were not requested from json.
+     *
+     * @param json json string
+     * @return json without skipped fields
+     */
+    final String project(final String json){
+        if(skip.length == 0) return json;
+
+        final int len = json.length();
+        StringBuilder OUT = null;
+        int copyFrom = 0;
+
+        // container stack: if each container is an object, and if it is an object fields apply to
+        boolean[] object = new boolean[16];
+        boolean[] entity = new boolean[16];
+        int depth = -1;
+
+        boolean expectKey = false;
+        boolean node = false; // previous key was node
+
+        int i = 0;
+        while(i < len){
+            final char ch = json.charAt(i);
+            switch(ch){
+                case '"':
+                    final int end = endOfString(json, i);
+                    if(depth >= 0 && object[depth] && expectKey){
+                        expectKey = false;
+                        if(entity[depth] && isSkipped(json, i + 1, end)){
+                            if(OUT == null)
+                                OUT = new StringBuilder(len);
+                            OUT.append(json, copyFrom, i);
+
+                            final int colon = skipWhitespace(json, end + 1);
+                            final int valueEnd = endOfValue(json, skipWhitespace(json, colon + 1));
+                            final int next = skipWhitespace(json, valueEnd);
+                            if(next < len && json.charAt(next) == ','){
+                                copyFrom = next + 1;
+                                expectKey = true;
+                                i = next + 1;
+                            }else{ // last member, remove the comma before it
+                                int last = OUT.length() - 1;
+                                while(last >= 0 && Character.isWhitespace(OUT.charAt(last)))
+                                    last--;
+                                if(last >= 0 && OUT.charAt(last) == ',')
+                                    OUT.setLength(last);
+                                copyFrom = valueEnd;
+                                i = valueEnd;
+                            }
+                            continue;
+                        }
+                        node = end - i - 1 == 4 && json.startsWith("node", i + 1);
+                    }
+                    i = end + 1;
+                    continue;
+                case '{':
+                case '[':
+                    if(++depth == object.length){
+                        object = Arrays.copyOf(object, depth * 2);
+                        entity = Arrays.copyOf(entity, depth * 2);
+                    }
+                    object[depth] = ch == '{';
+                    entity[depth] = ch == '{' && (depth == 0 || node);
+                    expectKey = ch == '{';
+                    node = false;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    expectKey = false;
+                    node = false;
+                    break;
+                case ',':
+                    expectKey = depth >= 0 && object[depth];
+                    node = false;
+                    break;
+            }
+            i++;
+        }
+
+        return OUT == null ? json : OUT.append(json, copyFrom, len).toString();
+    }
+
+    private boolean isSkipped(final String json, final int start, final int end){
+        final int length = end - start;
+        for(final String key : skip)
+            if(key.length() == length && json.startsWith(key, start))
+                return true;
+        return false;
+    }
+
+    // index of closing quote
+    private static int endOfString(final String json, final int start){
+        final int len = json.length();
+        for(int i = start + 1; i < len; i++){
+            final char ch = json.charAt(i);
+            if(ch == '\\')
+                i++;
+            else if(ch == '"')
+                return i;
+        }
+        throw new JsonSyntaxException("String was missing closing character: '\"'", json);
+    }
+
+    // index after value
+    private static int endOfValue(final String json, final int start){
+        final int len = json.length();
+        if(start >= len)
+            return len;
+        final char first = json.charAt(start);
+        if(first == '"')
+            return endOfString(json, start) + 1;
+        if(first == '{' || first == '['){
+            int depth = 0;
+            for(int i = start; i < len; i++){
+                final char ch = json.charAt(i);
+                if(ch == '"')
+                    i = endOfString(json, i);
+                else if(ch == '{' || ch == '[')
+                    depth++;
+                else if((ch == '}' || ch == ']') && --depth == 0)
+                    return i + 1;
+            }
+            throw new JsonSyntaxException("Object was missing closing character", json);
+        }
+        int i = start;
+        while(i < len){
+            final char ch = json.charAt(i);
+            if(ch == ',' || ch == '}' || ch == ']' || Character.isWhitespace(ch))
+                break;
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(final String json, final int start){
+        int i = start;
+        while(i < json.length() && Character.isWhitespace(json.charAt(i)))
+            i++;
+        return i;
+    }
+
+    @Override
+    public String toString(){
+        return "JsonProjection{" +
+               "skip=" + Arrays.toString(skip) +
+               '}';
+    }
+
+}
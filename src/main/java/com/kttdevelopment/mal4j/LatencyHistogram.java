@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free latency histogram with log-linear buckets. Each power of two is split into 32 buckets, so recorded values are accurate to about 3%. Values are recorded in microseconds up to about 19 hours; larger values are counted in the last bucket.
+ *
+ * @see LatencyRecorder
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS   = 5;
+    private static final int SUB_COUNT  = 1 << SUB_BITS;
+    private static final int MAX_BITS   = 36;
+    private static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+    private final AtomicLong count  = new AtomicLong();
+    private final AtomicLong total  = new AtomicLong();
+    private final AtomicLong max    = new AtomicLong();
+
+    LatencyHistogram(){ }
+
+    // values below SUB_COUNT have their own bucket, larger values keep their top SUB_BITS + 1 bits
+    static int index(final long value){
+        if(value < SUB_COUNT)
+            return (int) value;
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    // highest value in a bucket
+    static long highest(final int index){
+        if(index < SUB_COUNT)
+            return index;
+        final int shift = (index >>> SUB_BITS) - 1;
+        return ((long) (SUB_COUNT + (index & (SUB_COUNT - 1)) + 1) << shift) - 1;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos duration in nanoseconds
+     *
+     * @since 2.3.0
+     */
+    public final void record(final long nanos){
+        final long micros = Math.min(MAX_VALUE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        counts.incrementAndGet(index(micros));
+        count.incrementAndGet();
+        total.addAndGet(micros);
+        long current;
+        while(micros > (current = max.get()) && !max.compareAndSet(current, micros));
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return count
+     *
+     * @since 2.3.0
+     */
+    public final long getCount(){
+        return count.get();
+    }
+
+    /**
+     * Returns the mean duration.
+     *
+     * @return mean in microseconds, 0 if nothing was recorded
+     *
+     * @since 2.3.0
+     */
+    public final double getMean(){
+        final long count = this.count.get();
+        return count == 0 ? 0 : (double) total.get() / count;
+    }
+
+    /**
+     * Returns the largest duration.
+     *
+     * @return max in microseconds
+     *
+     * @since 2.3.0
+     */
+    public final long getMax(){
+        return max.get();
+    }
+
+    /**
+     * Returns the duration that the given percentage of recorded durations are at or below.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return duration in microseconds, 0 if nothing was recorded
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     *
+     * @since 2.3.0
+     */
+    public final long getPercentile(final double percentile){
+        if(percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        long total = 0;
+        for(int i = 0, len = counts.length(); i < len; i++)
+            total += counts.get(i);
+        if(total == 0)
+            return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for(int i = 0, len = counts.length(); i < len; i++)
+            if((seen += counts.get(i)) >= target)
+                return Math.min(highest(i), max.get());
+        return max.get();
+    }
+
+    /**
+     * Clears all recorded durations.
+     *
+     * @since 2.3.0
+     */
+    public final void reset(){
+        for(int i = 0, len = counts.length(); i < len; i++)
+            counts.set(i, 0);
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    @Override
+    public String toString(){
+        return "LatencyHistogram{" +
+               "count=" + getCount() +
+               ", mean=" + getMean() +
+               ", p50=" + getPercentile(50) +
+               ", p99=" + getPercentile(99) +
+               ", max=" + getMax() +
+               '}';
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.RequestEvent.Phase;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A request listener that records how long each phase of a request took into a histogram for each endpoint. Durations are measured from the start of the request, so the histogram for {@link Phase#BODY_COMPLETE} is the network latency and the histogram for {@link Phase#MAPPING_COMPLETE} is the total latency.
+ *
+ * @see RequestListener
+ * @see LatencyHistogram
+ * @see MyAnimeList#setRequestListener(RequestListener)
+ * @see MyAnimeListPool#setRequestListener(RequestListener)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class LatencyRecorder implements RequestListener {
+
+    private final Map<String,Map<Phase,LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a latency recorder.
+     *
+     * @since 2.3.0
+     */
+    public LatencyRecorder(){ }
+
+    private void record(final RequestEvent event){
+        histograms
+            .computeIfAbsent(event.getEndpoint(), e -> Collections.synchronizedMap(new EnumMap<>(Phase.class)))
+            .computeIfAbsent(event.getPhase(), e -> new LatencyHistogram())
+            .record(event.getElapsed());
+    }
+
+    @Override
+    public final void onConnectionAcquired(final RequestEvent event){
+        record(event);
+    }
+
+    @Override
+    public final void onFirstByte(final RequestEvent event){
+        record(event);
+    }
+
+    @Override
+    public final void onBodyComplete(final RequestEvent event){
+        record(event);
+    }
+
+    @Override
+    public final void onParseComplete(final RequestEvent event){
+        record(event);
+    }
+
+    @Override
+    public final void onMappingComplete(final RequestEvent event){
+        record(event);
+    }
+
+    /**
+     * Returns the endpoint templates that have been recorded.
+     *
+     * @return endpoints
+     *
+     * @since 2.3.0
+     */
+    public final Set<String> getEndpoints(){
+        return Collections.unmodifiableSet(new TreeSet<>(histograms.keySet()));
+    }
+
+    /**
+     * Returns the histogram for an endpoint and phase.
+     *
+     * @param endpoint endpoint template, for example <code>anime/{anime_id}</code>
+     * @param phase phase
+     * @return histogram, null if nothing was recorded
+     *
+     * @see LatencyHistogram
+     * @since 2.3.0
+     */
+    public final LatencyHistogram getHistogram(final String endpoint, final Phase phase){
+        final Map<Phase,LatencyHistogram> phases = histograms.get(endpoint);
+        return phases == null ? null : phases.get(phase);
+    }
+
+    /**
+     * Clears all recorded durations.
+     *
+     * @since 2.3.0
+     */
+    public final void reset(){
+        histograms.clear();
+    }
+
+    @Override
+    public String toString(){
+        return "LatencyRecorder{" +
+               "histograms=" + histograms +
+               '}';
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the entries on a user's list that changed since the last sync.
+ *
+ * @param <R> list status type
+ *
+ * @see com.kttdevelopment.mal4j.query.UserAnimeListQuery#searchUpdatedSince(long)
+ * @see com.kttdevelopment.mal4j.query.UserMangaListQuery#searchUpdatedSince(long)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class ListDelta<R> {
+
+    private final List<R> changed;
+    private final long watermark;
+
+    ListDelta(final List<R> changed, final long watermark){
+        this.changed    = Collections.unmodifiableList(changed);
+        this.watermark  = watermark;
+    }
+
+    /**
+     * Returns the entries updated after the previous watermark, most recent first.
+     *
+     * @return changed entries
+     *
+     * @since 2.3.0
+     */
+    public final List<R> getChanged(){
+        return changed;
+    }
+
+    /**
+     * Returns the watermark to use for the next sync, in milliseconds since epoch. This is the most recent update time seen, or the previous watermark if nothing changed.
+     *
+     * @return watermark
+     *
+     * @since 2.3.0
+     */
+    public final long getWatermark(){
+        return watermark;
+    }
+
+    @Override
+    public String toString(){
+        return "ListDelta{" +
+               "changed=" + changed.size() +
+               ", watermark=" + watermark +
+               '}';
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+/**
+ * Represents the result of a list synchronization.
+ *
+ * @param <R> list status type
+ *
+ * @see MyAnimeList#syncAnimeListing(java.util.Collection, boolean)
+ * @see MyAnimeList#syncMangaListing(java.util.Collection, boolean)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class ListSyncResult<R> {
+
+    private final BulkUpdateResult<R> updates;
+    private final BulkUpdateResult<Void> deletes;
+    private final int unchanged;
+
+    ListSyncResult(final BulkUpdateResult<R> updates, final BulkUpdateResult<Void> deletes, final int unchanged){
+        this.updates    = updates;
+        this.deletes    = deletes;
+        this.unchanged  = unchanged;
+    }
+
+    /**
+     * Returns the result of each entry that was added or changed. Only the changed fields were sent.
+     *
+     * @return update result
+     *
+     * @see BulkUpdateResult
+     * @since 2.3.0
+     */
+    public final BulkUpdateResult<R> getUpdates(){
+        return updates;
+    }
+
+    /**
+     * Returns the result of each entry that was deleted.
+     *
+     * @return delete result
+     *
+     * @see BulkUpdateResult
+     * @since 2.3.0
+     */
+    public final BulkUpdateResult<Void> getDeletes(){
+        return deletes;
+    }
+
+    /**
+     * Returns how many entries already matched and were not sent.
+     *
+     * @return unchanged count
+     *
+     * @since 2.3.0
+     */
+    public final int getUnchangedCount(){
+        return unchanged;
+    }
+
+    @Override
+    public String toString(){
+        return "ListSyncResult{" +
+               "updates=" + updates +
+               ", deletes=" + deletes +
+               ", unchanged=" + unchanged +
+               '}';
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.property.ListStatus;
+import com.kttdevelopment.mal4j.query.ListUpdate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Buffers list updates and sends them to MyAnimeList in the background. Pending updates to the same ID are merged into a single update, where the last value set for each field wins. The buffer is flushed after a delay from the first pending update, once the batch size is reached, or when {@link #flush()} or {@link #close()} is called.
+ *
+ * @param <T> list update type
+ * @param <R> list status type
+ *
+ * @see MyAnimeList#createAnimeListBuffer(long, int, BatchListener)
+ * @see MyAnimeList#createMangaListBuffer(long, int, BatchListener)
+ * @see ListUpdate#merge(ListUpdate)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class ListUpdateBuffer<T extends ListUpdate<T,R,?>,R extends ListStatus<?>> implements AutoCloseable {
+
+    private static final AtomicInteger buffers = new AtomicInteger();
+
+    private final Function<Long,T> factory;
+    private final Function<Collection<T>,BulkUpdateResult<R>> flusher;
+    private final long delay;
+    private final int batchSize;
+    private final BatchListener<R> listener;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Map<Long,T> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduled = null;
+    private boolean closed = false;
+
+    /**
+     * Creates a list update buffer.
+     *
+     * @param factory creates an empty update for an ID
+     * @param flusher runs pending updates
+     * @param delayMillis delay before flushing, 0 to only flush by batch size
+     * @param batchSize pending IDs before flushing
+     * @param listener listener, nullable
+     * @throws IllegalArgumentException if delay is negative or batch size is less than 1
+     */
+    ListUpdateBuffer(
+        final Function<Long,T> factory,
+        final Function<Collection<T>,BulkUpdateResult<R>> flusher,
+        final long delayMillis,
+        final int batchSize,
+        final BatchListener<R> listener
+    ){
+        if(delayMillis < 0)
+            throw new IllegalArgumentException("Delay can not be negative");
+        if(batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1");
+
+        this.factory    = factory;
+        this.flusher    = flusher;
+        this.delay      = delayMillis;
+        this.batchSize  = batchSize;
+        this.listener   = listener;
+
+        final int buffer = buffers.incrementAndGet();
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "mal4j-buffer-" + buffer);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Adds an update to the buffer. If an update for the same ID is already pending, the fields set on this update replace the pending ones.
+     *
+     * @param update list update
+     * @throws NullPointerException if update is null
+     * @throws IllegalStateException if the buffer is closed
+     *
+     * @see ListUpdate#merge(ListUpdate)
+     * @since 2.3.0
+     */
+    public final synchronized void submit(final T update){
+        Objects.requireNonNull(update, "Update cannot be null");
+        if(closed)
+            throw new IllegalStateException("Buffer is closed");
+
+        final long id = update.getID();
+        final T existing = pending.get(id);
+        if(existing != null)
+            existing.merge(update);
+        else
+            pending.put(id, factory.apply(id).merge(update));
+
+        if(pending.size() >= batchSize){
+            if(scheduled == null || scheduled.getDelay(TimeUnit.MILLISECONDS) > 0){
+                if(scheduled != null)
+                    scheduled.cancel(false);
+                scheduled = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+            }
+        }else if(scheduled == null && delay > 0)
+            scheduled = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends all pending updates and waits for them to complete. Results are also sent to the listener.
+     *
+     * @return bulk update result
+     *
+     * @see BulkUpdateResult
+     * @since 2.3.0
+     */
+    public final BulkUpdateResult<R> flush(){
+        // flushes run one at a time so updates to the same ID are never reordered
+        flushLock.lock();
+        try{
+            final List<T> updates;
+            synchronized(this){
+                if(scheduled != null){
+                    scheduled.cancel(false);
+                    scheduled = null;
+                }
+                updates = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            if(updates.isEmpty())
+                return new BulkUpdateResult<>(new ArrayList<>(), 0);
+
+            final BulkUpdateResult<R> result = flusher.apply(updates);
+            if(listener != null)
+                for(final BulkUpdateResult.Entry<R> entry : result.getEntries())
+                    if(entry.isSuccessful())
+                        listener.onResult(entry.getID(), entry.getListStatus());
+                    else
+                        listener.onFailure(entry.getID(), entry.getException());
+            return result;
+        }finally{
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many IDs have pending updates.
+     *
+     * @return pending count
+     *
+     * @since 2.3.0
+     */
+    public final synchronized int getPendingCount(){
+        return pending.size();
+    }
+
+    /**
+     * Returns if the buffer is closed.
+     *
+     * @return if closed
+     *
+     * @see #close()
+     * @since 2.3.0
+     */
+    public final synchronized boolean isClosed(){
+        return closed;
+    }
+
+    /**
+     * Flushes any pending updates and stops accepting new ones.
+     *
+     * @see #flush()
+     * @since 2.3.0
+     */
+    @Override
+    public final void close(){
+        synchronized(this){
+            if(closed) return;
+            closed = true;
+        }
+        flush();
+        scheduler.shutdown();
+    }
+
+    @Override
+    public String toString(){
+        return "ListUpdateBuffer{" +
+               "delay=" + delay +
+               ", batchSize=" + batchSize +
+               ", pending=" + getPendingCount() +
+               ", closed=" + isClosed() +
+               '}';
+    }
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.anime.property.AnimeSort;
+import com.kttdevelopment.mal4j.manga.MangaListStatus;
+import com.kttdevelopment.mal4j.manga.property.MangaSort;
+import com.kttdevelopment.mal4j.property.ListStatus;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Watches user lists for changes. Each user is checked with a single entry request for the most recently updated entry, and the changed entries are only retrieved when that entry is newer than the last check. Users whose lists do not change are checked less often, up to the maximum interval, and return to the minimum interval once a change is seen.
+ *
+ * @see MyAnimeList#createListWatcher(long, long)
+ * @see ListWatcherListener
+ * @see com.kttdevelopment.mal4j.query.UserAnimeListQuery#searchUpdatedSince(long)
+ * @see com.kttdevelopment.mal4j.query.UserMangaListQuery#searchUpdatedSince(long)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class ListWatcher implements AutoCloseable {
+
+    private static final AtomicInteger watchers = new AtomicInteger();
+
+    private final MyAnimeList mal;
+    private final BatchExecutor executor;
+    private final long minInterval, maxInterval;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final List<ListWatcherListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<String,Watch<AnimeListStatus>> anime = new ConcurrentHashMap<>();
+    private final Map<String,Watch<MangaListStatus>> manga = new ConcurrentHashMap<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a list watcher.
+     *
+     * @param mal MyAnimeList
+     * @param executor executor to run checks on
+     * @param minIntervalMillis minimum time between checks
+     * @param maxIntervalMillis maximum time between checks
+     * @throws IllegalArgumentException if minimum interval is less than 1 or maximum interval is less than the minimum
+     */
+    ListWatcher(final MyAnimeList mal, final BatchExecutor executor, final long minIntervalMillis, final long maxIntervalMillis){
+        if(minIntervalMillis < 1)
+            throw new IllegalArgumentException("Minimum interval must be at least 1");
+        if(maxIntervalMillis < minIntervalMillis)
+            throw new IllegalArgumentException("Maximum interval can not be less than the minimum interval");
+
+        this.mal            = mal;
+        this.executor       = executor;
+        this.minInterval    = minIntervalMillis;
+        this.maxInterval    = maxIntervalMillis;
+
+        final int watcher = watchers.incrementAndGet();
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "mal4j-watcher-" + watcher);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener listener
+     * @throws NullPointerException if listener is null
+     *
+     * @see ListWatcherListener
+     * @see #removeListener(ListWatcherListener)
+     * @since 2.3.0
+     */
+    public final void addListener(final ListWatcherListener listener){
+        listeners.add(Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener listener
+     *
+     * @see #addListener(ListWatcherListener)
+     * @since 2.3.0
+     */
+    public final void removeListener(final ListWatcherListener listener){
+        listeners.remove(listener);
+    }
+
+    /**
+     * Watches a user's Anime list for changes made after now.
+     *
+     * @param username username
+     * @throws NullPointerException if username is null
+     * @throws IllegalStateException if the watcher is closed
+     *
+     * @see #watchAnime(String, long)
+     * @see #unwatchAnime(String)
+     * @see ListWatcherListener#onAnimeListChanged(String, ListDelta)
+     * @since 2.3.0
+     */
+    public final void watchAnime(final String username){
+        watchAnime(username, -1);
+    }
+
+    /**
+     * Watches a user's Anime list for changes made after a watermark.
+     *
+     * @param username username
+     * @param watermark watermark from a previous {@link ListDelta} in milliseconds since epoch
+     * @throws NullPointerException if username is null
+     * @throws IllegalStateException if the watcher is closed
+     *
+     * @see #watchAnime(String)
+     * @see #unwatchAnime(String)
+     * @see ListDelta#getWatermark()
+     * @see ListWatcherListener#onAnimeListChanged(String, ListDelta)
+     * @since 2.3.0
+     */
+    public final void watchAnime(final String username, final long watermark){
+        watch(anime, username, watermark,
+            user -> head(mal.getUserAnimeListing(user).sortBy(AnimeSort.UpdatedAt).withLimit(1).withNoFields().includeNSFW().search()),
+            (user, since) -> mal.getUserAnimeListing(user).withFields(Fields.Anime.list_status).includeNSFW().searchUpdatedSince(since),
+            (listener, user, delta) -> listener.onAnimeListChanged(user, delta)
+        );
+    }
+
+    /**
+     * Stops watching a user's Anime list.
+     *
+     * @param username username
+     *
+     * @see #watchAnime(String)
+     * @since 2.3.0
+     */
+    public final void unwatchAnime(final String username){
+        unwatch(anime, username);
+    }
+
+    /**
+     * Watches a user's Manga list for changes made after now.
+     *
+     * @param username username
+     * @throws NullPointerException if username is null
+     * @throws IllegalStateException if the watcher is closed
+     *
+     * @see #watchManga(String, long)
+     * @see #unwatchManga(String)
+     * @see ListWatcherListener#onMangaListChanged(String, ListDelta)
+     * @since 2.3.0
+     */
+    public final void watchManga(final String username){
+        watchManga(username, -1);
+    }
+
+    /**
+     * Watches a user's Manga list for changes made after a watermark.
+     *
+     * @param username username
+     * @param watermark watermark from a previous {@link ListDelta} in milliseconds since epoch
+     * @throws NullPointerException if username is null
+     * @throws IllegalStateException if the watcher is closed
+     *
+     * @see #watchManga(String)
+     * @see #unwatchManga(String)
+     * @see ListDelta#getWatermark()
+     * @see ListWatcherListener#onMangaListChanged(String, ListDelta)
+     * @since 2.3.0
+     */
+    public final void watchManga(final String username, final long watermark){
+        watch(manga, username, watermark,
+            user -> head(mal.getUserMangaListing(user).sortBy(MangaSort.UpdatedAt).withLimit(1).withNoFields().includeNSFW().search()),
+            (user, since) -> mal.getUserMangaListing(user).withFields(Fields.Manga.list_status).includeNSFW().searchUpdatedSince(since),
+            (listener, user, delta) -> listener.onMangaListChanged(user, delta)
+        );
+    }
+
+    /**
+     * Stops watching a user's Manga list.
+     *
+     * @param username username
+     *
+     * @see #watchManga(String)
+     * @since 2.3.0
+     */
+    public final void unwatchManga(final String username){
+        unwatch(manga, username);
+    }
+
+    /**
+     * Returns the users whose Anime lists are being watched.
+     *
+     * @return usernames
+     *
+     * @since 2.3.0
+     */
+    public final Set<String> getWatchedAnime(){
+        return Collections.unmodifiableSet(new HashSet<>(anime.keySet()));
+    }
+
+    /**
+     * Returns the users whose Manga lists are being watched.
+     *
+     * @return usernames
+     *
+     * @since 2.3.0
+     */
+    public final Set<String> getWatchedManga(){
+        return Collections.unmodifiableSet(new HashSet<>(manga.keySet()));
+    }
+
+    /**
+     * Stops watching all users.
+     *
+     * @since 2.3.0
+     */
+    @Override
+    public final void close(){
+        closed = true;
+        for(final Watch<?> watch : anime.values())
+            watch.cancel();
+        for(final Watch<?> watch : manga.values())
+            watch.cancel();
+        anime.clear();
+        manga.clear();
+        scheduler.shutdownNow();
+    }
+
+    //
+
+    private <R extends ListStatus<?>> void watch(
+        final Map<String,Watch<R>> watches,
+        final String username,
+        final long watermark,
+        final Function<String,Long> head,
+        final BiFunction<String,Long,ListDelta<R>> delta,
+        final Notifier<R> notifier
+    ){
+        Objects.requireNonNull(username, "Username cannot be null");
+        if(closed)
+            throw new IllegalStateException("Watcher is closed");
+
+        final Watch<R> watch = new Watch<>(watches, username, watermark, head, delta, notifier);
+        final Watch<R> existing = watches.put(username, watch);
+        if(existing != null)
+            existing.cancel();
+        watch.schedule(0);
+    }
+
+    private static <R> void unwatch(final Map<String,Watch<R>> watches, final String username){
+        final Watch<R> watch = watches.remove(username);
+        if(watch != null)
+            watch.cancel();
+    }
+
+    private static Long head(final List<? extends ListStatus<?>> list){
+        return list == null || list.isEmpty() ? null : list.get(0).getUpdatedAtEpochMillis();
+    }
+
+    @FunctionalInterface
+    private interface Notifier<R> {
+
+        void notify(final ListWatcherListener listener, final String username, final ListDelta<R> delta);
+
+    }
+
+    private final class Watch<R> {
+
+        private final String username;
+        private final Function<String,Long> head;
+        private final BiFunction<String,Long,ListDelta<R>> delta;
+        private final Notifier<R> notifier;
+        private final Map<String,Watch<R>> watches;
+
+        private long watermark; // -1 until the first check
+        private long interval = minInterval;
+
+        private volatile boolean cancelled = false;
+        private volatile Future<?> future = null;
+
+        Watch(
+            final Map<String,Watch<R>> watches,
+            final String username,
+            final long watermark,
+            final Function<String,Long> head,
+            final BiFunction<String,Long,ListDelta<R>> delta,
+            final Notifier<R> notifier
+        ){
+            this.watches    = watches;
+            this.username   = username;
+            this.watermark  = watermark;
+            this.head       = head;
+            this.delta      = delta;
+            this.notifier   = notifier;
+        }
+
+        final void schedule(final long delay){
+            if(cancelled || closed) return;
+            try{
+                // the scheduler only dispatches, checks run on the executor
+                future = scheduler.schedule(() -> {
+                    if(!cancelled && !closed)
+                        future = executor.submit(() -> {
+                            check();
+                            return null;
+                        });
+                }, delay, TimeUnit.MILLISECONDS);
+            }catch(final RejectedExecutionException ignored){ } // closed
+        }
+
+        final void cancel(){
+            cancelled = true;
+            final Future<?> future = this.future;
+            if(future != null)
+                future.cancel(false);
+        }
+
+        private void check(){
+            try{
+                final Long updated = head.apply(username);
+                if(watermark < 0){ // first check only records where the list is
+                    watermark = updated == null ? 0 : updated;
+                    interval  = minInterval;
+                }else if(updated != null && updated > watermark){
+                    final ListDelta<R> changes = delta.apply(username, watermark);
+                    watermark = changes.getWatermark();
+                    interval  = minInterval;
+                    if(!changes.getChanged().isEmpty() && !cancelled)
+                        for(final ListWatcherListener listener : listeners)
+                            notifier.notify(listener, username, changes);
+                }else
+                    interval = Math.min(interval * 2, maxInterval);
+            }catch(final HttpException e){
+                interval = Math.min(interval * 2, maxInterval);
+                if(e.code() == 404){ // user no longer exists
+                    cancel();
+                    watches.remove(username, this);
+                }
+                for(final ListWatcherListener listener : listeners)
+                    listener.onFailure(username, e);
+            }catch(final RuntimeException e){
+                interval = Math.min(interval * 2, maxInterval);
+                for(final ListWatcherListener listener : listeners)
+                    listener.onFailure(username, e);
+            }finally{
+                schedule(interval);
+            }
+        }
+
+    }
+
+    @Override
+    public String toString(){
+        return "ListWatcher{" +
+               "minInterval=" + minInterval +
+               ", maxInterval=" + maxInterval +
+               ", anime=" + anime.size() +
+               ", manga=" + manga.size() +
+               ", closed=" + closed +
+               '}';
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.manga.MangaListStatus;
+
+/**
+ * Receives changes to watched user lists. Methods are called from the worker threads.
+ *
+ * @see ListWatcher
+ * @see ListWatcher#addListener(ListWatcherListener)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public interface ListWatcherListener {
+
+    /**
+     * Called when a watched user's Anime list changed.
+     *
+     * @param username username
+     * @param delta changed entries
+     *
+     * @see ListWatcher#watchAnime(String)
+     * @see ListDelta
+     * @since 2.3.0
+     */
+    default void onAnimeListChanged(final String username, final ListDelta<AnimeListStatus> delta){ }
+
+    /**
+     * Called when a watched user's Manga list changed.
+     *
+     * @param username username
+     * @param delta changed entries
+     *
+     * @see ListWatcher#watchManga(String)
+     * @see ListDelta
+     * @since 2.3.0
+     */
+    default void onMangaListChanged(final String username, final ListDelta<MangaListStatus> delta){ }
+
+    /**
+     * Called when a watched user's list could not be checked. The user will continue to be watched.
+     *
+     * @param username username
+     * @param throwable exception, typically {@link HttpException} or {@link java.io.UncheckedIOException}
+     *
+     * @since 2.3.0
+     */
+    default void onFailure(final String username, final Throwable throwable){ }
+
+}
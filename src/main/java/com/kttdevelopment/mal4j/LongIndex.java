@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing map of primitive long IDs to int indexes.
+ */
+final class LongIndex {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size = 0;
+
+    /**
+     * Creates an index.
+     *
+     * @param expected expected number of IDs
+     */
+    LongIndex(final int expected){
+        final int capacity = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the index of an ID.
+     *
+     * @param id ID
+     * @return index, -1 if the ID was not added
+     */
+    final int get(final long id){
+        for(int i = slot(id); ; i = (i + 1) & mask){
+            final long key = keys[i];
+            if(key == id)
+                return values[i];
+            else if(key == EMPTY)
+                return -1;
+        }
+    }
+
+    /**
+     * Adds an ID if it was not already added.
+     *
+     * @param id ID, cannot be {@link Long#MIN_VALUE}
+     * @param index index of the ID
+     * @return if the ID was added
+     */
+    final boolean add(final long id, final int index){
+        if(id == EMPTY)
+            throw new IllegalArgumentException("ID cannot be " + EMPTY);
+        if((size + 1) * 2 > keys.length)
+            resize();
+        for(int i = slot(id); ; i = (i + 1) & mask){
+            final long key = keys[i];
+            if(key == id)
+                return false;
+            else if(key == EMPTY){
+                keys[i] = id;
+                values[i] = index;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    final boolean contains(final long id){
+        return get(id) != -1;
+    }
+
+    final int size(){
+        return size;
+    }
+
+    private int slot(final long id){
+        final long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void resize(){
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        mask = keys.length - 1;
+        for(int j = 0; j < oldKeys.length; j++){
+            if(oldKeys[j] == EMPTY) continue;
+            int i = slot(oldKeys[j]);
+            while(keys[i] != EMPTY)
+                i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    @Override
+    public String toString(){
+        return "LongIndex{" +
+               "size=" + size +
+               '}';
+    }
+
+}
@@ -18,20 +18,20 @@
 
 package com.kttdevelopment.mal4j;
 
-import com.kttdevelopment.mal4j.anime.Anime;
-import com.kttdevelopment.mal4j.anime.AnimePreview;
+import com.kttdevelopment.mal4j.anime.*;
 import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import com.kttdevelopment.mal4j.anime.property.AnimeRetrievable;
 import com.kttdevelopment.mal4j.anime.property.time.Season;
 import com.kttdevelopment.mal4j.forum.ForumCategory;
 import com.kttdevelopment.mal4j.forum.ForumTopicDetail;
-import com.kttdevelopment.mal4j.manga.Manga;
-import com.kttdevelopment.mal4j.manga.MangaRanking;
+import com.kttdevelopment.mal4j.manga.*;
 import com.kttdevelopment.mal4j.manga.property.MangaRankingType;
+import com.kttdevelopment.mal4j.manga.property.MangaRetrievable;
 import com.kttdevelopment.mal4j.query.*;
 import com.kttdevelopment.mal4j.user.User;
 
 import java.io.UncheckedIOException;
-import java.util.List;
+import java.util.*;
 
 /**
  * The MyAnimeList API interface, used to execute requests with the API from Java.
@@ -41,9 +41,10 @@ import java.util.List;
  *     <li>An oauth token using {@link #withOAuthToken(String)}</li>
  *     <li>An authorization code and client id using {@link #withAuthorization(MyAnimeListAuthenticator)}.</li>
  * </ul>
+ * If the calling thread is interrupted while a request waits on the rate limit or the network, an {@link UncheckedIOException} caused by an {@link java.io.InterruptedIOException} is thrown and the interrupt flag is kept.
  *
  * @since 1.0.0
- * @version 2.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 public abstract class MyAnimeList {
@@ -66,6 +67,24 @@ public abstract class MyAnimeList {
         return new MyAnimeListImpl(token);
     }
 
+    /**
+     * Creates an interface that authenticates with only a client ID. Only public endpoints such as Anime, Manga, rankings, seasons, and forums can be used. Requests for user data, lists, and <code>my_list_status</code> will fail.
+     * <br>
+     * This method does not support {@link #refreshOAuthToken()}.
+     *
+     * @param client_id client ID
+     * @throws NullPointerException if client ID is null
+     *
+     * @return MyAnimeList
+     *
+     * @see #withOAuthToken(String)
+     * @see MyAnimeListPool#withClientID(String)
+     * @since 2.3.0
+     */
+    public static MyAnimeList withClientID(final String client_id){
+        return MyAnimeListImpl.withClientID(client_id, null);
+    }
+
     /**
      * Creates an interface with an authenticator.
      *
@@ -82,6 +101,23 @@ public abstract class MyAnimeList {
         return new MyAnimeListImpl(authenticator);
     }
 
+    /**
+     * Creates an interface that answers requests with responses recorded by a {@link TrafficRecorder} instead of the API. No requests are sent over the network.
+     * <br>
+     * This method does not support {@link #refreshOAuthToken()}.
+     *
+     * @param replay recorded responses
+     * @return MyAnimeList
+     * @throws NullPointerException if replay is null
+     *
+     * @see TrafficReplay
+     * @see #setTrafficRecorder(TrafficRecorder)
+     * @since 2.3.0
+     */
+    public static MyAnimeList withTrafficReplay(final TrafficReplay replay){
+        return MyAnimeListImpl.withReplay(replay);
+    }
+
     /**
      * Refreshes the OAuth token. Only works with {@link #withAuthorization(MyAnimeListAuthenticator)}.
      *
@@ -91,6 +127,96 @@ public abstract class MyAnimeList {
      */
     public abstract void refreshOAuthToken();
 
+    /**
+     * Sets if the OAuth token should be refreshed automatically. When enabled, the token is refreshed in the background five minutes before it expires. Only works with {@link #withAuthorization(MyAnimeListAuthenticator)}.
+     * <br>
+     * Requests that are unauthorized are always sent again once with a refreshed token. Only one refresh runs at a time, other requests wait for it and use the new token.
+     *
+     * @param enabled if the token should be refreshed automatically
+     * @throws UnsupportedOperationException if the object was not created with an authenticator
+     *
+     * @see #refreshOAuthToken()
+     * @see AccessToken#getTimeUntilExpires()
+     * @since 2.3.0
+     */
+    public abstract void setAutomaticTokenRefresh(final boolean enabled);
+
+    /**
+     * Sets the maximum amount of requests that can be sent per second. Requests that exceed the limit will wait until they are allowed.
+     *
+     * @param requestsPerSecond requests per second, 0 for no limit
+     * @throws IllegalArgumentException if requests per second is negative
+     * @throws UnsupportedOperationException if the object was created by a pool, use {@link MyAnimeListPool#setRateLimit(int)} instead
+     *
+     * @see #setConcurrency(int)
+     * @see MyAnimeListPool#setRateLimit(int)
+     * @since 2.3.0
+     */
+    public abstract void setRateLimit(final int requestsPerSecond);
+
+    /**
+     * Sets the request listener. The listener is told when each phase of a request completes, along with the endpoint, status, size, and durations. No timings are taken while no listener is set.
+     *
+     * @param listener request listener, null to remove
+     * @throws UnsupportedOperationException if the object was created by a pool, use {@link MyAnimeListPool#setRequestListener(RequestListener)} instead
+     *
+     * @see RequestListener
+     * @see LatencyRecorder
+     * @see MyAnimeListPool#setRequestListener(RequestListener)
+     * @since 2.3.0
+     */
+    public abstract void setRequestListener(final RequestListener listener);
+
+    /**
+     * Sets the traffic recorder. Every response received from the API is recorded so that the session can be replayed with {@link #withTrafficReplay(TrafficReplay)}.
+     *
+     * @param recorder traffic recorder, null to stop recording
+     * @throws UnsupportedOperationException if the object was created by a pool
+     *
+     * @see TrafficRecorder
+     * @see #withTrafficReplay(TrafficReplay)
+     * @since 2.3.0
+     */
+    public abstract void setTrafficRecorder(final TrafficRecorder recorder);
+
+    /**
+     * Sets the maximum amount of requests that batch methods can run at once.
+     *
+     * @param threads maximum concurrent requests, default is 4
+     * @throws IllegalArgumentException if threads is less than 1
+     *
+     * @see #setRateLimit(int)
+     * @see #getAnime(Collection, BatchListener, String...)
+     * @see #getManga(Collection, BatchListener, String...)
+     * @since 2.3.0
+     */
+    public abstract void setConcurrency(final int threads);
+
+    /**
+     * Sets if fields should be profiled. When enabled, Anime, Manga, and User requests that use the default fields only request the fields that were used by earlier results from the same line of code. The first request from each line requests all fields. If a result is used for a field that was not requested, it is retrieved again with all fields and that field is requested from then on.
+     * <br>
+     * Only requests that do not specify fields are profiled. Disabling profiling clears all recorded fields.
+     *
+     * @param enabled if fields should be profiled
+     *
+     * @see Fields
+     * @since 2.3.0
+     */
+    public abstract void setFieldProfiling(final boolean enabled);
+
+    /**
+     * Sets if an identity map should be used. When enabled, the fields of every Anime and Manga received by this instance are merged by ID, so previews from searches, rankings, and lists are created with all fields known for that ID.
+     * <br>
+     * {@link #getAnime(long, String...)} and {@link #getManga(long, String...)} are answered without a request when all the requested fields are already known. A limited number of recently used IDs are kept. Updating or deleting a list status removes that ID, so its list status is requested again. Disabling the identity map clears all merged fields.
+     *
+     * @param enabled if the identity map should be used
+     *
+     * @see #getAnime(long, String...)
+     * @see #getManga(long, String...)
+     * @since 2.3.0
+     */
+    public abstract void setIdentityMap(final boolean enabled);
+
     // anime
 
     /**
@@ -135,6 +261,108 @@ public abstract class MyAnimeList {
      */
     public abstract Anime getAnime(final long id, final String... fields);
 
+    /**
+     * Returns the full Anime details for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently.
+     *
+     * @param ids Anime ids
+     * @return Anime by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Anime
+     * @see #getAnime(Collection, String...)
+     * @see #getAnime(Collection, BatchListener, String...)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Anime> getAnime(final Collection<Long> ids);
+
+    /**
+     * Returns Anime details requested in the fields for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently.
+     *
+     * @param ids Anime ids
+     * @param fields a string array of the fields that should be returned
+     * @return Anime by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Anime
+     * @see #getAnime(Collection)
+     * @see #getAnime(Collection, BatchListener, String...)
+     * @see Fields#anime
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Anime> getAnime(final Collection<Long> ids, final String... fields);
+
+    /**
+     * Returns Anime details requested in the fields for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently. Results and failures are sent to the listener as they complete.
+     *
+     * @param ids Anime ids
+     * @param listener listener for results and failures, nullable
+     * @param fields a string array of the fields that should be returned
+     * @return Anime by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Anime
+     * @see BatchListener
+     * @see #getAnime(Collection)
+     * @see #getAnime(Collection, String...)
+     * @see Fields#anime
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Anime> getAnime(final Collection<Long> ids, final BatchListener<Anime> listener, final String... fields);
+
+    /**
+     * Returns the full Anime details for multiple navigation links, such as related Anime, recommendations, rankings, and list statuses. Duplicate IDs are only requested once and requests are run concurrently. Items without an ID are retrieved from the item, also concurrently.
+     *
+     * @param items items to retrieve the Anime for
+     * @return Anime for each item, in the order the items were provided. Items that could not be retrieved are null
+     * @throws NullPointerException if items is null
+     *
+     * @see Anime
+     * @see #resolveAnime(Collection, String...)
+     * @see #getAnime(Collection, String...)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract List<Anime> resolveAnime(final Collection<? extends AnimeRetrievable> items);
+
+    /**
+     * Returns Anime details requested in the fields for multiple navigation links, such as related Anime, recommendations, rankings, and list statuses. Duplicate IDs are only requested once and requests are run concurrently. Items without an ID are retrieved from the item, also concurrently.
+     *
+     * @param items items to retrieve the Anime for
+     * @param fields a string array of the fields that should be returned
+     * @return Anime for each item, in the order the items were provided. Items that could not be retrieved are null
+     * @throws NullPointerException if items is null
+     *
+     * @see Anime
+     * @see #resolveAnime(Collection)
+     * @see #getAnime(Collection, String...)
+     * @see Fields#anime
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract List<Anime> resolveAnime(final Collection<? extends AnimeRetrievable> items, final String... fields);
+
+    // relations
+
+    /**
+     * Returns the graph of Anime and Manga related to the seed IDs. Relations are followed breadth first, and each level is retrieved concurrently requesting only the relation fields.
+     *
+     * @param anime Anime seed IDs
+     * @param manga Manga seed IDs
+     * @param maxDepth max relations to follow from a seed
+     * @param maxNodes max Anime and Manga in the graph, including seeds
+     * @return relation graph
+     * @throws NullPointerException if anime or manga is null
+     * @throws IllegalArgumentException if max depth is negative or max nodes is less than 1
+     *
+     * @see RelationGraph
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract RelationGraph getRelationGraph(final Collection<Long> anime, final Collection<Long> manga, final int maxDepth, final int maxNodes);
+
     // anime ranking
 
     /**
@@ -201,6 +429,87 @@ public abstract class MyAnimeList {
      */
     public abstract AnimeListUpdate updateAnimeListing(final long id);
 
+    /**
+     * Runs multiple Anime listing updates concurrently. Updates to the same Anime are run one at a time in the order they were provided.
+     *
+     * @param updates Anime list updates, from {@link #updateAnimeListing(long)}
+     * @return result of each update
+     * @throws NullPointerException if updates is null
+     *
+     * @see BulkUpdateResult
+     * @see AnimeListUpdate
+     * @see #updateAnimeListing(long)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract BulkUpdateResult<AnimeListStatus> updateAnimeListings(final Collection<AnimeListUpdate> updates);
+
+    /**
+     * Creates a buffer that merges Anime listing updates to the same Anime and sends them in the background.
+     *
+     * @param delayMillis how long to wait after the first pending update before sending, 0 to only send by batch size
+     * @param batchSize how many Anime can be pending before sending
+     * @return list update buffer
+     * @throws IllegalArgumentException if delay is negative or batch size is less than 1
+     *
+     * @see ListUpdateBuffer
+     * @see #createAnimeListBuffer(long, int, BatchListener)
+     * @see #updateAnimeListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> createAnimeListBuffer(final long delayMillis, final int batchSize);
+
+    /**
+     * Creates a buffer that merges Anime listing updates to the same Anime and sends them in the background.
+     *
+     * @param delayMillis how long to wait after the first pending update before sending, 0 to only send by batch size
+     * @param batchSize how many Anime can be pending before sending
+     * @param listener listener for each sent update
+     * @return list update buffer
+     * @throws IllegalArgumentException if delay is negative or batch size is less than 1
+     *
+     * @see ListUpdateBuffer
+     * @see BatchListener
+     * @see #createAnimeListBuffer(long, int)
+     * @see #updateAnimeListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> createAnimeListBuffer(final long delayMillis, final int batchSize, final BatchListener<AnimeListStatus> listener);
+
+    /**
+     * Creates a watcher that checks user lists for changes in the background. Users whose lists do not change are checked less often.
+     *
+     * @param minIntervalMillis minimum time between checks for a user, used after a change
+     * @param maxIntervalMillis maximum time between checks for a user
+     * @return list watcher
+     * @throws IllegalArgumentException if minimum interval is less than 1 or maximum interval is less than the minimum
+     *
+     * @see ListWatcher
+     * @see ListWatcherListener
+     * @see #setRateLimit(int)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract ListWatcher createListWatcher(final long minIntervalMillis, final long maxIntervalMillis);
+
+    /**
+     * Synchronizes the authenticated user's Anime list with a desired state. Fields that already match the current list are not sent, and unchanged Anime are not updated.
+     *
+     * @param desired desired Anime list entries, from {@link #updateAnimeListing(long)}
+     * @param deleteMissing if Anime on the list but not in the desired entries should be deleted
+     * @return sync result
+     * @throws NullPointerException if desired is null
+     * @throws HttpException if the current list could not be retrieved
+     * @throws UncheckedIOException if client failed to execute request
+     *
+     * @see ListSyncResult
+     * @see #updateAnimeListing(long)
+     * @see #updateAnimeListings(Collection)
+     * @see #deleteAnimeListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListSyncResult<AnimeListStatus> syncAnimeListing(final Collection<AnimeListUpdate> desired, final boolean deleteMissing);
+
     /**
      * Removes an Anime listing.
      *
@@ -380,6 +689,89 @@ public abstract class MyAnimeList {
      */
     public abstract Manga getManga(final long id, final String... fields);
 
+    /**
+     * Returns the full Manga details for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently.
+     *
+     * @param ids Manga ids
+     * @return Manga by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Manga
+     * @see #getManga(Collection, String...)
+     * @see #getManga(Collection, BatchListener, String...)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Manga> getManga(final Collection<Long> ids);
+
+    /**
+     * Returns Manga details requested in the fields for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently.
+     *
+     * @param ids Manga ids
+     * @param fields a string array of the fields that should be returned
+     * @return Manga by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Manga
+     * @see #getManga(Collection)
+     * @see #getManga(Collection, BatchListener, String...)
+     * @see Fields#manga
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Manga> getManga(final Collection<Long> ids, final String... fields);
+
+    /**
+     * Returns Manga details requested in the fields for multiple IDs. Duplicate IDs are only requested once and requests are run concurrently. Results and failures are sent to the listener as they complete.
+     *
+     * @param ids Manga ids
+     * @param listener listener for results and failures, nullable
+     * @param fields a string array of the fields that should be returned
+     * @return Manga by ID, in the order the IDs were provided. IDs that could not be retrieved are absent
+     * @throws NullPointerException if ids is null
+     *
+     * @see Manga
+     * @see BatchListener
+     * @see #getManga(Collection)
+     * @see #getManga(Collection, String...)
+     * @see Fields#manga
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract Map<Long,Manga> getManga(final Collection<Long> ids, final BatchListener<Manga> listener, final String... fields);
+
+    /**
+     * Returns the full Manga details for multiple navigation links, such as related Manga, recommendations, rankings, and list statuses. Duplicate IDs are only requested once and requests are run concurrently. Items without an ID are retrieved from the item, also concurrently.
+     *
+     * @param items items to retrieve the Manga for
+     * @return Manga for each item, in the order the items were provided. Items that could not be retrieved are null
+     * @throws NullPointerException if items is null
+     *
+     * @see Manga
+     * @see #resolveManga(Collection, String...)
+     * @see #getManga(Collection, String...)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract List<Manga> resolveManga(final Collection<? extends MangaRetrievable> items);
+
+    /**
+     * Returns Manga details requested in the fields for multiple navigation links, such as related Manga, recommendations, rankings, and list statuses. Duplicate IDs are only requested once and requests are run concurrently. Items without an ID are retrieved from the item, also concurrently.
+     *
+     * @param items items to retrieve the Manga for
+     * @param fields a string array of the fields that should be returned
+     * @return Manga for each item, in the order the items were provided. Items that could not be retrieved are null
+     * @throws NullPointerException if items is null
+     *
+     * @see Manga
+     * @see #resolveManga(Collection)
+     * @see #getManga(Collection, String...)
+     * @see Fields#manga
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract List<Manga> resolveManga(final Collection<? extends MangaRetrievable> items, final String... fields);
+
     // manga ranking
 
     /**
@@ -414,6 +806,71 @@ public abstract class MyAnimeList {
      */
     public abstract MangaListUpdate updateMangaListing(final long id);
 
+    /**
+     * Runs multiple Manga listing updates concurrently. Updates to the same Manga are run one at a time in the order they were provided.
+     *
+     * @param updates Manga list updates, from {@link #updateMangaListing(long)}
+     * @return result of each update
+     * @throws NullPointerException if updates is null
+     *
+     * @see BulkUpdateResult
+     * @see MangaListUpdate
+     * @see #updateMangaListing(long)
+     * @see #setConcurrency(int)
+     * @since 2.3.0
+     */
+    public abstract BulkUpdateResult<MangaListStatus> updateMangaListings(final Collection<MangaListUpdate> updates);
+
+    /**
+     * Creates a buffer that merges Manga listing updates to the same Manga and sends them in the background.
+     *
+     * @param delayMillis how long to wait after the first pending update before sending, 0 to only send by batch size
+     * @param batchSize how many Manga can be pending before sending
+     * @return list update buffer
+     * @throws IllegalArgumentException if delay is negative or batch size is less than 1
+     *
+     * @see ListUpdateBuffer
+     * @see #createMangaListBuffer(long, int, BatchListener)
+     * @see #updateMangaListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListUpdateBuffer<MangaListUpdate,MangaListStatus> createMangaListBuffer(final long delayMillis, final int batchSize);
+
+    /**
+     * Creates a buffer that merges Manga listing updates to the same Manga and sends them in the background.
+     *
+     * @param delayMillis how long to wait after the first pending update before sending, 0 to only send by batch size
+     * @param batchSize how many Manga can be pending before sending
+     * @param listener listener for each sent update
+     * @return list update buffer
+     * @throws IllegalArgumentException if delay is negative or batch size is less than 1
+     *
+     * @see ListUpdateBuffer
+     * @see BatchListener
+     * @see #createMangaListBuffer(long, int)
+     * @see #updateMangaListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListUpdateBuffer<MangaListUpdate,MangaListStatus> createMangaListBuffer(final long delayMillis, final int batchSize, final BatchListener<MangaListStatus> listener);
+
+    /**
+     * Synchronizes the authenticated user's Manga list with a desired state. Fields that already match the current list are not sent, and unchanged Manga are not updated.
+     *
+     * @param desired desired Manga list entries, from {@link #updateMangaListing(long)}
+     * @param deleteMissing if Manga on the list but not in the desired entries should be deleted
+     * @return sync result
+     * @throws NullPointerException if desired is null
+     * @throws HttpException if the current list could not be retrieved
+     * @throws UncheckedIOException if client failed to execute request
+     *
+     * @see ListSyncResult
+     * @see #updateMangaListing(long)
+     * @see #updateMangaListings(Collection)
+     * @see #deleteMangaListing(long)
+     * @since 2.3.0
+     */
+    public abstract ListSyncResult<MangaListStatus> syncMangaListing(final Collection<MangaListUpdate> desired, final boolean deleteMissing);
+
     /**
      * Removes a Manga listing.
      *
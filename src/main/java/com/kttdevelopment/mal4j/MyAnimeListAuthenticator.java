@@ -42,10 +42,12 @@ import static com.kttdevelopment.mal4j.Json.*;
  * <ul>
  *     <li>An authorization code using {@link #MyAnimeListAuthenticator(String, String, String, String)}.</li>
  *     <li>A local server using {@link LocalServerBuilder}.</li>
+ *     <li>A stored token using {@link #MyAnimeListAuthenticator(String, String, TokenStore)}.</li>
+ *     <li>A shared callback server for many users using {@link AuthorizationServer}.</li>
  * </ul>
  *
  * @since 1.0.0
- * @version 2.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 public final class MyAnimeListAuthenticator {
@@ -62,11 +64,12 @@ public final class MyAnimeListAuthenticator {
     private static final String authState   = "&state=%s";
     private static final String redirectURI = "&redirect_uri=%s";
 
-    private final MyAnimeListAuthenticationService authService = MyAnimeListAuthenticationService.create();
+    private final MyAnimeListAuthenticationService authService;
 
     @SuppressWarnings({"SpellCheckingInspection", "RedundantSuppression"})
     private final String client_id, client_secret, authorizationCode, pkce;
-    private AccessToken token;
+    private volatile AccessToken token;
+    private final TokenStore store;
 
     @SuppressWarnings("SpellCheckingInspection")
     private MyAnimeListAuthenticator(
@@ -77,7 +80,8 @@ public final class MyAnimeListAuthenticator {
         final Consumer<String> urlCallback,
         final boolean openBrowser,
         final long timeout,
-        final String redirect_URI
+        final String redirect_URI,
+        final TokenStore store
     ) throws IOException{
         // [authorization, PKCE verify]
         final String[] auth = authenticateWithLocalServer(
@@ -94,8 +98,10 @@ public final class MyAnimeListAuthenticator {
         this.client_secret      = client_secret;
         this.authorizationCode  = auth[0];
         this.pkce               = auth[1];
+        this.store              = store;
+        this.authService        = MyAnimeListAuthenticationService.create();
 
-        token = parseToken(authService
+        setToken(parseToken(authService
             .getToken(
                 client_id,
                 client_secret,
@@ -103,7 +109,7 @@ public final class MyAnimeListAuthenticator {
                 authorizationCode,
                 pkce
             )
-        );
+        ));
     }
 
     /**
@@ -131,6 +137,8 @@ public final class MyAnimeListAuthenticator {
         this.client_secret      = client_secret;
         this.authorizationCode  = authorization_code;
         this.pkce               = PKCE_code_challenge;
+        this.store              = null;
+        this.authService        = MyAnimeListAuthenticationService.create();
 
         token = parseToken(authService
             .getToken(
@@ -143,6 +151,75 @@ public final class MyAnimeListAuthenticator {
         );
     }
 
+    /**
+     * Creates a MyAnimeListAuthenticator from a stored token. If the stored token is expired it is refreshed. Refreshed tokens are written back to the store.
+     *
+     * @param client_id client id
+     * @param client_secret client secret, null if application has none
+     * @param store token store
+     * @throws NullPointerException if client ID or store is null
+     * @throws IllegalStateException if the store has no token
+     * @throws UncheckedIOException if the token could not be read or written
+     * @throws HttpException if the expired token could not be refreshed
+     *
+     * @see TokenStore
+     * @see FileTokenStore
+     * @see MyAnimeList#withAuthorization(MyAnimeListAuthenticator)
+     * @since 2.3.0
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    public MyAnimeListAuthenticator(final String client_id, final String client_secret, final TokenStore store){
+        this(client_id, client_secret, store, load(store), MyAnimeListAuthenticationService.create());
+    }
+
+    /**
+     * Creates a MyAnimeListAuthenticator that refreshes a token through the given service instead of the API.
+     *
+     * @param client_id client id
+     * @param token access token
+     * @param authService authentication service
+     */
+    MyAnimeListAuthenticator(final String client_id, final AccessToken token, final MyAnimeListAuthenticationService authService){
+        this(client_id, null, null, token, Objects.requireNonNull(authService, "Authentication service must not be null"));
+    }
+
+    private MyAnimeListAuthenticator(final String client_id, final String client_secret, final TokenStore store, final AccessToken token, final MyAnimeListAuthenticationService authService){
+        Objects.requireNonNull(client_id, "Client ID must not be null");
+        if(token == null)
+            throw new IllegalStateException("Token store has no token");
+
+        this.client_id          = client_id;
+        this.client_secret      = client_secret;
+        this.authorizationCode  = null;
+        this.pkce               = null;
+        this.store              = store;
+        this.token              = token;
+        this.authService        = authService;
+
+        if(token.isExpired())
+            refreshAccessToken();
+    }
+
+    private static AccessToken load(final TokenStore store){
+        Objects.requireNonNull(store, "Token store must not be null");
+        try{
+            return store.load();
+        }catch(final IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // sets the token and writes it to the store
+    private void setToken(final AccessToken token){
+        this.token = token;
+        if(store != null)
+            try{
+                store.save(token);
+            }catch(final IOException e){
+                throw new UncheckedIOException(e);
+            }
+    }
+
 // access token
 
     /**
@@ -167,8 +244,8 @@ public final class MyAnimeListAuthenticator {
      * @see AccessToken
      * @since 1.0.0
      */
-    public final AccessToken refreshAccessToken(){
-        return token = parseToken(authService
+    public synchronized final AccessToken refreshAccessToken(){
+        setToken(parseToken(authService
             .refreshToken(
                 client_id,
                 client_secret,
@@ -177,7 +254,8 @@ public final class MyAnimeListAuthenticator {
                 pkce,
                 token.getRefreshToken()
             )
-        );
+        ));
+        return token;
     }
 
 // URL
@@ -260,6 +338,7 @@ public final class MyAnimeListAuthenticator {
 
         private AuthResponseHandler responseHandler = null;
         private Consumer<String> urlCallback = null;
+        private TokenStore store = null;
 
         /**
          * Instantiates a local server builder with a client id and port.
@@ -376,6 +455,21 @@ public final class MyAnimeListAuthenticator {
             return this;
         }
 
+        /**
+         * Sets the token store. If the store has a token, it is used instead of starting the local server. Otherwise the token from the local server is written to the store. Refreshed tokens are always written back to the store.
+         *
+         * @param store token store, null to not store tokens
+         * @return builder
+         *
+         * @see TokenStore
+         * @see FileTokenStore
+         * @since 2.3.0
+         */
+        public final LocalServerBuilder setTokenStore(final TokenStore store){
+            this.store = store;
+            return this;
+        }
+
         /**
          * Returns the built authenticator.
          *
@@ -391,6 +485,11 @@ public final class MyAnimeListAuthenticator {
          * @since 1.1.0
          */
         public final MyAnimeListAuthenticator build() throws IOException{
+            if(store != null){
+                final AccessToken stored = store.load();
+                if(stored != null)
+                    return new MyAnimeListAuthenticator(client_id, client_secret, store, stored, MyAnimeListAuthenticationService.create());
+            }
             return new MyAnimeListAuthenticator(
                 client_id,
                 client_secret,
@@ -399,7 +498,8 @@ public final class MyAnimeListAuthenticator {
                 urlCallback,
                 openBrowser,
                 timeout,
-                redirect_URI
+                redirect_URI,
+                store
             );
         }
 
@@ -411,6 +511,7 @@ public final class MyAnimeListAuthenticator {
                    ", timeout=" + timeout +
                    ", redirect_URI='" + redirect_URI + '\'' +
                    ", responseHandler=" + responseHandler +
+                   ", store=" + store +
                    '}';
         }
 
@@ -499,10 +600,12 @@ public final class MyAnimeListAuthenticator {
         }
     }
 
-    private static final class AuthHandler implements HttpHandler {
+    static final class AuthHandler implements HttpHandler {
 
-        private Map<String,String> parseWwwFormEnc(final String query){
+        static Map<String,String> parseWwwFormEnc(final String query){
             final Map<String,String> OUT = new HashMap<>();
+            if(query == null)
+                return OUT;
             final String[] pairs = query.split("&");
 
             for(final String pair : pairs){
@@ -538,28 +641,30 @@ public final class MyAnimeListAuthenticator {
             state.set(query.get("state"));
             auth.set(query.get("code"));
 
-            /* send */ {
-                exchange.getResponseHeaders().set("Accept-Encoding", "gzip");
-                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
-                exchange.getResponseHeaders().set("Connection", "keep-alive");
-                exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
-                try(GZIPOutputStream OUT = new GZIPOutputStream(exchange.getResponseBody())){
-                    OUT.write(
-                        handler.getResponse(
-                            query.get("code"),
-                            query.get("error"),
-                            query.get("message"),
-                            query.get("hint")
-                        ).getBytes(StandardCharsets.UTF_8)
-                    );
-                    OUT.finish();
-                    OUT.flush();
-                }
-            }
+            send(exchange, HttpURLConnection.HTTP_OK, handler, query);
 
             latch.countDown();
         }
 
+        static void send(final HttpExchange exchange, final int code, final AuthResponseHandler handler, final Map<String,String> query) throws IOException{
+            exchange.getResponseHeaders().set("Accept-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Connection", "keep-alive");
+            exchange.sendResponseHeaders(code, 0);
+            try(GZIPOutputStream OUT = new GZIPOutputStream(exchange.getResponseBody())){
+                OUT.write(
+                    handler.getResponse(
+                        query.get("code"),
+                        query.get("error"),
+                        query.get("message"),
+                        query.get("hint")
+                    ).getBytes(StandardCharsets.UTF_8)
+                );
+                OUT.finish();
+                OUT.flush();
+            }
+        }
+
         public final String getAuth(){
             return auth.get();
         }
@@ -570,7 +675,7 @@ public final class MyAnimeListAuthenticator {
 
     }
 
-    private static final AuthResponseHandler defaultHandler = new AuthResponseHandler(){
+    static final AuthResponseHandler defaultHandler = new AuthResponseHandler(){
 
         @SuppressWarnings("SpellCheckingInspection")
         private static final String HTML = "<!DOCTYPE html><html><head><title>MyAnimeList Authenticator</title><style>html,body{width:100%;height:100%;-webkit-user-select: none;-ms-user-select: none;user-select: none;}body{display:flex;align-items:center;justify-content:center;background-color:#2E51A2;margin:0px;*{width:100%}}*{font-family:Helvetica,Arial,sans-serif;color:white;text-align:center}</style></head><body><div><h1>Authentication {{ state }}</h1><p title=\"{{ hint }}\">{{ message }}</p></div></body></html>";
@@ -596,14 +701,14 @@ public final class MyAnimeListAuthenticator {
 
 // generator methods
 
-    private static String generatePKCECodeVerifier(){
+    static String generatePKCECodeVerifier(){
         final SecureRandom secureRandom = new SecureRandom();
         byte[] codeVerifier = new byte[64];
         secureRandom.nextBytes(codeVerifier);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(codeVerifier);
     }
 
-    private static String generateSha256(final String str){
+    static String generateSha256(final String str){
         final MessageDigest digest;
         try{
             digest = MessageDigest.getInstance("SHA-256");
@@ -20,11 +20,12 @@ package com.kttdevelopment.mal4j;
 
 import com.kttdevelopment.mal4j.APIStruct.Response;
 import com.kttdevelopment.mal4j.anime.*;
-import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import com.kttdevelopment.mal4j.anime.property.*;
 import com.kttdevelopment.mal4j.anime.property.time.Season;
 import com.kttdevelopment.mal4j.forum.*;
 import com.kttdevelopment.mal4j.manga.*;
-import com.kttdevelopment.mal4j.manga.property.MangaRankingType;
+import com.kttdevelopment.mal4j.manga.property.*;
+import com.kttdevelopment.mal4j.property.ListStatus;
 import com.kttdevelopment.mal4j.query.*;
 import com.kttdevelopment.mal4j.user.User;
 
@@ -33,14 +34,22 @@ import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 import static com.kttdevelopment.mal4j.Json.*;
 import static com.kttdevelopment.mal4j.MyAnimeListSchema_Anime.*;
 import static com.kttdevelopment.mal4j.MyAnimeListSchema_Forum.*;
 import static com.kttdevelopment.mal4j.MyAnimeListSchema_Manga.*;
+import static com.kttdevelopment.mal4j.MyAnimeListSchema_Profiled.*;
 import static com.kttdevelopment.mal4j.MyAnimeListSchema_User.*;
 
 /**
@@ -49,34 +58,260 @@ import static com.kttdevelopment.mal4j.MyAnimeListSchema_User.*;
  * @see MyAnimeList
  * @see MyAnimeListService
  * @since 1.0.0
- * @version 2.2.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 final class MyAnimeListImpl extends MyAnimeList {
 
-    private transient String auth;
-    private MyAnimeListAuthenticator authenticator;
+    private transient volatile String auth;
+    private final MyAnimeListAuthenticator authenticator;
 
-    private final MyAnimeListService service = MyAnimeListService.create();
+    // refresh the token this many seconds before it expires
+    private static final long REFRESH_AHEAD_SECONDS = 300;
+    // retry a failed automatic refresh after this many seconds
+    private static final long REFRESH_RETRY_SECONDS = 60;
+    // how long a request that was unauthorized waits for another thread's refresh
+    private static final long REFRESH_WAIT_SECONDS = 30;
+
+    private static final AtomicInteger refreshers = new AtomicInteger();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private ScheduledThreadPoolExecutor refresher;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    // shared with other instances when pooled
+    private final MyAnimeListPool pool;
+    private final RateLimiter limiter;
+    private final BatchExecutor executor;
+    private final StripedLock animeListLocks;
+    private final StripedLock mangaListLocks;
+    private final MyAnimeListService service;
+
+    final FieldProfiler profiler = new FieldProfiler();
+
+    final IdentityMap identity = new IdentityMap();
+
+    // canonical value instances, scoped to this instance so they are released with it
+    final Flyweight<Studio> studios       = new Flyweight<>(FLYWEIGHT_CAPACITY);
+    final Flyweight<Author> authors       = new Flyweight<>(FLYWEIGHT_CAPACITY);
+    final Flyweight<Publisher> publishers = new Flyweight<>(FLYWEIGHT_CAPACITY);
+
+    private static final int FLYWEIGHT_CAPACITY = 1024;
+
+    private static final int DELTA_PAGE_SIZE = 10;
 
     MyAnimeListImpl(final String auth){
+        this(auth, (MyAnimeListPool) null);
+    }
+
+    MyAnimeListImpl(final String auth, final MyAnimeListPool pool){
+        this(requireBearer(auth), null, pool, null, null);
+    }
+
+    /**
+     * Creates an interface that authenticates with a client ID instead of a token.
+     *
+     * @param clientID client ID
+     * @param pool pool, nullable
+     * @return MyAnimeList
+     */
+    static MyAnimeListImpl withClientID(final String clientID, final MyAnimeListPool pool){
+        Objects.requireNonNull(clientID, "Client ID cannot be null");
+        return new MyAnimeListImpl(null, null, pool, clientID, null);
+    }
+
+    /**
+     * Creates an interface that answers requests with recorded responses.
+     *
+     * @param replay recorded responses
+     * @return MyAnimeList
+     */
+    static MyAnimeListImpl withReplay(final TrafficReplay replay){
+        Objects.requireNonNull(replay, "Replay cannot be null");
+        final MyAnimeListService service = MyAnimeListService.create();
+        APICall.setReplay(service, replay);
+        return new MyAnimeListImpl("Bearer replay", service);
+    }
+
+    MyAnimeListImpl(final MyAnimeListAuthenticator authenticator){
+        this(authenticator, (MyAnimeListPool) null);
+    }
+
+    MyAnimeListImpl(final MyAnimeListAuthenticator authenticator, final MyAnimeListPool pool){
+        this(Objects.requireNonNull(authenticator, "Authenticator cannot be null").getAccessToken().getToken(), authenticator, pool, null, null);
+    }
+
+    /**
+     * Creates an interface that sends requests through the given service instead of the API.
+     *
+     * @param auth OAuth token
+     * @param service service
+     */
+    MyAnimeListImpl(final String auth, final MyAnimeListService service){
+        this(requireBearer(auth), null, null, null, Objects.requireNonNull(service, "Service cannot be null"));
+    }
+
+    /**
+     * Creates an interface that authorizes with an authenticator and sends requests through the given service instead of the API.
+     *
+     * @param authenticator authenticator
+     * @param service service
+     */
+    MyAnimeListImpl(final MyAnimeListAuthenticator authenticator, final MyAnimeListService service){
+        this(Objects.requireNonNull(authenticator, "Authenticator cannot be null").getAccessToken().getToken(), authenticator, null, null, Objects.requireNonNull(service, "Service cannot be null"));
+    }
+
+    private MyAnimeListImpl(final String auth, final MyAnimeListAuthenticator authenticator, final MyAnimeListPool pool, final String clientID, final MyAnimeListService service){
+        this.auth           = auth;
+        this.authenticator  = authenticator;
+
+        this.pool           = pool;
+        this.limiter        = pool != null ? pool.limiter : new RateLimiter();
+        this.executor       = pool != null ? pool.executor.lane() : new BatchExecutor(4);
+        this.animeListLocks = pool != null ? pool.animeListLocks : new StripedLock(64);
+        this.mangaListLocks = pool != null ? pool.mangaListLocks : new StripedLock(64);
+        this.service        = service != null ? service : pool != null ? pool.service(clientID) : MyAnimeListService.create(limiter, null, clientID);
+    }
+
+    private static String requireBearer(final String auth){
         Objects.requireNonNull(auth, "OAuth token cannot be null");
         if(!auth.startsWith("Bearer "))
             throw new IllegalArgumentException("Oauth token should start with 'Bearer'");
-        this.auth = auth;
+        return auth;
     }
 
-    MyAnimeListImpl(final MyAnimeListAuthenticator authenticator){
-        Objects.requireNonNull(authenticator, "Authenticator cannot be null");
-        this.authenticator = authenticator;
-        this.auth = authenticator.getAccessToken().getToken();
+    @Override
+    public final void refreshOAuthToken(){
+        if(authenticator == null)
+            throw new UnsupportedOperationException("OAuth token refresh can only be used with authorization");
+        refreshLock.lock();
+        try{
+            refresh();
+        }finally{
+            refreshLock.unlock();
+        }
     }
 
     @Override
-    public synchronized final void refreshOAuthToken(){
+    public final void setAutomaticTokenRefresh(final boolean enabled){
         if(authenticator == null)
             throw new UnsupportedOperationException("OAuth token refresh can only be used with authorization");
-        this.auth = authenticator.refreshAccessToken().getToken();
+        refreshLock.lock();
+        try{
+            if(enabled && refresher == null){
+                final int id = refreshers.incrementAndGet();
+                refresher = new ScheduledThreadPoolExecutor(1, runnable -> {
+                    final Thread thread = new Thread(runnable, "mal4j-refresh-" + id);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                refresher.setRemoveOnCancelPolicy(true);
+                scheduleRefresh(Math.max(0, authenticator.getAccessToken().getTimeUntilExpires() - REFRESH_AHEAD_SECONDS));
+            }else if(!enabled && refresher != null){
+                refresher.shutdownNow();
+                refresher = null;
+                scheduledRefresh = null;
+            }
+        }finally{
+            refreshLock.unlock();
+        }
+    }
+
+    // requires refresh lock
+    private void refresh(){
+        final Object event = FlightEvents.beginTokenRefresh();
+        final AccessToken token;
+        try{
+            token = authenticator.refreshAccessToken();
+        }catch(final RuntimeException e){
+            FlightEvents.commitTokenRefresh(event, false);
+            throw e;
+        }
+        FlightEvents.commitTokenRefresh(event, true);
+        auth = token.getToken();
+        if(refresher != null)
+            scheduleRefresh(Math.max(0, token.getTimeUntilExpires() - REFRESH_AHEAD_SECONDS));
+    }
+
+    // requires refresh lock
+    private void scheduleRefresh(final long delaySeconds){
+        if(scheduledRefresh != null)
+            scheduledRefresh.cancel(false);
+        scheduledRefresh = refresher.schedule(() -> {
+            refreshLock.lock();
+            try{
+                if(refresher != null)
+                    refresh();
+            }catch(final RuntimeException e){
+                if(refresher != null)
+                    scheduleRefresh(REFRESH_RETRY_SECONDS);
+            }finally{
+                refreshLock.unlock();
+            }
+        }, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Refreshes the token after a request was unauthorized. If another thread already refreshed the token, or is refreshing it, this waits for and uses that token instead.
+     *
+     * @param stale token that was unauthorized
+     * @return if the request should be sent again
+     */
+    private boolean refreshUnauthorized(final String stale){
+        if(authenticator == null)
+            return false;
+        try{
+            if(!refreshLock.tryLock(REFRESH_WAIT_SECONDS, TimeUnit.SECONDS))
+                return false;
+        }catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try{
+            if(stale.equals(auth))
+                refresh();
+            return true;
+        }catch(final RuntimeException e){
+            return false;
+        }finally{
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public final void setRateLimit(final int requestsPerSecond){
+        if(pool != null)
+            throw new UnsupportedOperationException("Rate limit of a pooled instance can only be set by the pool");
+        limiter.setRate(requestsPerSecond);
+    }
+
+    @Override
+    public final void setRequestListener(final RequestListener listener){
+        if(pool != null)
+            throw new UnsupportedOperationException("Request listener of a pooled instance can only be set by the pool");
+        APICall.setListener(service, listener);
+    }
+
+    @Override
+    public final void setTrafficRecorder(final TrafficRecorder recorder){
+        if(pool != null)
+            throw new UnsupportedOperationException("Traffic of a pooled instance can not be recorded");
+        APICall.setRecorder(service, recorder);
+    }
+
+    @Override
+    public final void setConcurrency(final int threads){
+        executor.setConcurrency(threads);
+    }
+
+    @Override
+    public final void setFieldProfiling(final boolean enabled){
+        profiler.setEnabled(enabled);
+    }
+
+    @Override
+    public final void setIdentityMap(final boolean enabled){
+        identity.setEnabled(enabled);
     }
 
     //
@@ -85,15 +320,20 @@ final class MyAnimeListImpl extends MyAnimeList {
     public final AnimeSearchQuery getAnime(){
         return new AnimeSearchQuery() {
 
+            // profiled once per query, by the call site that created it
+            private final String site = profiler.site();
+
             @Override
             public final List<AnimePreview> search(){
+                final FieldProfiler.Profile profile = fields == null ? profiler.profile(site, FieldSet.ANIME) : null;
+                final FieldSet request = profile != null ? profile.request() : null;
                 final JsonObject response = handleResponse(
                     () -> service.getAnime(
                         auth,
                         query,
                         limit,
                         offset,
-                        convertFields(Fields.anime, fields),
+                        request != null ? request.toString() : convertFields(Fields.anime, fields),
                         nsfw
                     )
                 );
@@ -101,23 +341,27 @@ final class MyAnimeListImpl extends MyAnimeList {
 
                 final List<AnimePreview> anime = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
-                    anime.add(asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")));
-                return anime;
+                    anime.add(profiled(asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")), request, profile));
+                return mapped(anime);
             }
 
             @Override
             public final PaginatedIterator<AnimePreview> searchAll(){
+                final FieldProfiler.Profile profile = fields == null ? profiler.profile(site, FieldSet.ANIME) : null;
+                final FieldSet request = profile != null ? profile.request() : null;
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getAnime(
+                    limit,
+                    maxLimit ? "anime" : null,
+                    (offset, limit) -> service.getAnime(
                         auth,
                         query,
                         limit,
                         offset,
-                        convertFields(Fields.anime, fields),
+                        request != null ? request.toString() : convertFields(Fields.anime, fields),
                         nsfw
                     ),
-                    iterator -> asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node"))
+                    iterator -> profiled(asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")), request, profile)
                 );
             }
         };
@@ -130,14 +374,106 @@ final class MyAnimeListImpl extends MyAnimeList {
 
     @Override
     public final Anime getAnime(final long id, final String... fields){
-        return asAnime(this,
-        handleResponse(
-            () -> service.getAnime(
-                auth,
-                id,
-                convertFields(Fields.anime, fields)
-            )
-        ));
+        return getAnime(id, fields, fields == null ? profiler.site() : null);
+    }
+
+    private Anime getAnime(final long id, final String[] fields, final String site){
+        final FieldProfiler.Profile profile = profiler.profile(site, FieldSet.ANIME);
+        if(profile != null){
+            final FieldSet request = profile.request();
+            final Anime anime = getAnime(id, request.toString());
+            return anime == null ? null : asProfiledAnime(anime, request, profile, () -> getAnime(id, Fields.anime));
+        }
+
+        final String requested = convertFields(Fields.anime, fields);
+        if(identity.isEnabled()){
+            final JsonObject known = identity.get(FieldSet.ANIME, id, FieldSet.ANIME.parse(requested, false));
+            if(known != null)
+                return asAnime(this, known);
+        }
+
+        return mapped(asAnime(this,
+        identity.merge(
+            FieldSet.ANIME,
+            handleResponse(
+                () -> service.getAnime(
+                    auth,
+                    id,
+                    requested
+                )
+            ),
+            identity.isEnabled() ? FieldSet.ANIME.parse(requested, true) : null
+        )));
+    }
+
+    @Override
+    public final Map<Long,Anime> getAnime(final Collection<Long> ids){
+        return getAnime(ids, null, (String[]) null);
+    }
+
+    @Override
+    public final Map<Long,Anime> getAnime(final Collection<Long> ids, final String... fields){
+        return getAnime(ids, null, fields);
+    }
+
+    @Override
+    public final Map<Long,Anime> getAnime(final Collection<Long> ids, final BatchListener<Anime> listener, final String... fields){
+        final String site = fields == null ? profiler.site() : null; // profiled by the caller, not the worker
+        return executor.map(ids, id -> getAnime(id, fields, site), listener);
+    }
+
+    @Override
+    public final List<Anime> resolveAnime(final Collection<? extends AnimeRetrievable> items){
+        return resolveAnime(items, (String[]) null);
+    }
+
+    @Override
+    public final List<Anime> resolveAnime(final Collection<? extends AnimeRetrievable> items, final String... fields){
+        Objects.requireNonNull(items, "Items cannot be null");
+        final List<Long> ids = new ArrayList<>(items.size());
+        // items without an ID are retrieved from the item, alongside the batch
+        final List<Future<Anime>> links = new ArrayList<>(items.size());
+        for(final AnimeRetrievable item : items){
+            final Long id = getAnimeID(item);
+            ids.add(id);
+            links.add(id != null ? null : executor.submit(() -> {
+                try{
+                    return item.getAnime();
+                }catch(final RuntimeException e){
+                    return null;
+                }
+            }));
+        }
+
+        final Map<Long,Anime> resolved = getAnime(ids.stream().filter(Objects::nonNull).collect(Collectors.toList()), fields);
+        BatchExecutor.await(links.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+
+        final List<Anime> results = new ArrayList<>(items.size());
+        for(int i = 0; i < ids.size(); i++)
+            results.add(ids.get(i) != null ? resolved.get(ids.get(i)) : BatchExecutor.result(links.get(i)));
+        return results;
+    }
+
+    // ID of a navigation link, null if it has none
+    private static Long getAnimeID(final AnimeRetrievable item){
+        if(item instanceof AnimePreview)
+            return ((AnimePreview) item).getID();
+        else if(item instanceof AnimePreviewRetrievable){
+            final AnimePreview preview = ((AnimePreviewRetrievable) item).getAnimePreview();
+            return preview != null ? preview.getID() : null;
+        }else
+            return null;
+    }
+
+    @Override
+    public final RelationGraph getRelationGraph(final Collection<Long> anime, final Collection<Long> manga, final int maxDepth, final int maxNodes){
+        Objects.requireNonNull(anime, "Anime cannot be null");
+        Objects.requireNonNull(manga, "Manga cannot be null");
+        if(maxDepth < 0)
+            throw new IllegalArgumentException("Max depth cannot be negative");
+        if(maxNodes < 1)
+            throw new IllegalArgumentException("Max nodes must be at least 1");
+        return RelationGraph.crawl(this, anime, manga, maxDepth, maxNodes);
     }
 
     @Override
@@ -161,14 +497,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<AnimeRanking> anime = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     anime.add(asAnimeRanking(MyAnimeListImpl.this, iterator));
-                return anime;
+                return mapped(anime);
             }
 
             @Override
             public final PaginatedIterator<AnimeRanking> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getAnimeRanking(
+                    limit,
+                    maxLimit ? "anime/ranking" : null,
+                    (offset, limit) -> service.getAnimeRanking(
                         auth,
                         rankingType.field(),
                         limit,
@@ -205,14 +543,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<AnimePreview> anime = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     anime.add(asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")));
-                return anime;
+                return mapped(anime);
             }
 
             @Override
             public final PaginatedIterator<AnimePreview> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getAnimeSeason(
+                    limit,
+                    maxLimit ? "anime/season/{year}/{season}" : null,
+                    (offset, limit) -> service.getAnimeSeason(
                         auth,
                         year,
                         season.field(),
@@ -249,14 +589,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<AnimePreview> anime = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     anime.add(asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")));
-                return anime;
+                return mapped(anime);
             }
 
             @Override
             public final PaginatedIterator<AnimePreview> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getAnimeSuggestions(
+                    limit,
+                    maxLimit ? "anime/suggestions" : null,
+                    (offset, limit) -> service.getAnimeSuggestions(
                         auth,
                         limit,
                         offset,
@@ -275,34 +617,81 @@ final class MyAnimeListImpl extends MyAnimeList {
         return new AnimeListUpdate(id) {
 
             @Override
-            public synchronized final AnimeListStatus update(){
-                final JsonObject response = handleResponse(
-                    () -> service.updateAnimeListing(
-                        auth,
-                        id,
-                        status != null ? status.field() : null,
-                        rewatching,
-                        score,
-                        MyAnimeListSchema.asYMD(startDate),
-                        MyAnimeListSchema.asYMD(finishDate),
-                        watchedEpisodes,
-                        priority.value(),
-                        timesRewatched,
-                        rewatchValue.value(),
-                        toCommaSeparatedString(tags),
-                        comments
-                    )
-                );
-                if(response == null) return null;
-
-                return asAnimeListStatus(MyAnimeListImpl.this, response, id);
+            public final AnimeListStatus update(){
+                final ReentrantLock lock = animeListLocks.get(id);
+                lock.lock();
+                try{
+                    final JsonObject response = handleResponse(
+                        () -> service.updateAnimeListing(
+                            auth,
+                            id,
+                            status != null ? status.field() : null,
+                            rewatching,
+                            score,
+                            MyAnimeListSchema.asYMD(startDate),
+                            MyAnimeListSchema.asYMD(finishDate),
+                            watchedEpisodes,
+                            priority != null ? priority.value() : null,
+                            timesRewatched,
+                            rewatchValue != null ? rewatchValue.value() : null,
+                            toCommaSeparatedString(tags),
+                            comments
+                        )
+                    );
+                    if(response == null) return null;
+
+                    return mapped(asAnimeListStatus(MyAnimeListImpl.this, response, id));
+                }finally{
+                    identity.evict(FieldSet.ANIME, id); // merged list status may be stale
+                    lock.unlock();
+                }
             }
 
         };
     }
 
     @Override
-    public synchronized final void deleteAnimeListing(final long id){
+    public final BulkUpdateResult<AnimeListStatus> updateAnimeListings(final Collection<AnimeListUpdate> updates){
+        return bulkUpdate(updates);
+    }
+
+    @Override
+    public final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> createAnimeListBuffer(final long delayMillis, final int batchSize){
+        return createAnimeListBuffer(delayMillis, batchSize, null);
+    }
+
+    @Override
+    public final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> createAnimeListBuffer(final long delayMillis, final int batchSize, final BatchListener<AnimeListStatus> listener){
+        return new ListUpdateBuffer<>(this::updateAnimeListing, this::updateAnimeListings, delayMillis, batchSize, listener);
+    }
+
+    @Override
+    public final ListWatcher createListWatcher(final long minIntervalMillis, final long maxIntervalMillis){
+        return new ListWatcher(this, executor, minIntervalMillis, maxIntervalMillis);
+    }
+
+    @Override
+    public final ListSyncResult<AnimeListStatus> syncAnimeListing(final Collection<AnimeListUpdate> desired, final boolean deleteMissing){
+        Objects.requireNonNull(desired, "Desired listings cannot be null");
+
+        final Map<Long,AnimeListStatus> current = new HashMap<>();
+        final PaginatedIterator<AnimeListStatus> iterator = getUserAnimeListing()
+            .withFields(Fields.Anime.list_status)
+            .includeNSFW()
+            .withMaxLimit()
+            .searchAll();
+        while(iterator.hasNext()){
+            final AnimeListStatus status = iterator.next();
+            current.put(status.getAnimePreview().getID(), status);
+        }
+
+        return sync(desired, current, this::updateAnimeListing, this::updateAnimeListings, this::deleteAnimeListing, deleteMissing);
+    }
+
+    @Override
+    public final void deleteAnimeListing(final long id){
+        final ReentrantLock lock = animeListLocks.get(id);
+        lock.lock();
         try{
             handleVoidResponse(
                 () -> service.deleteAnimeListing(
@@ -313,6 +702,9 @@ final class MyAnimeListImpl extends MyAnimeList {
         }catch(final HttpException e){
             if(e.code() != 404)
                 throw e;
+        }finally{
+            identity.evict(FieldSet.ANIME, id);
+            lock.unlock();
         }
     }
 
@@ -344,14 +736,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<AnimeListStatus> anime = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     anime.add(asAnimeListStatus(MyAnimeListImpl.this, iterator.getJsonObject("list_status"), asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node"))));
-                return anime;
+                return mapped(anime);
             }
 
             @Override
             public final PaginatedIterator<AnimeListStatus> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getUserAnimeListing(
+                    limit,
+                    maxLimit ? "users/{user_name}/animelist" : null,
+                    (offset, limit) -> service.getUserAnimeListing(
                         auth,
                         username.equals("@me") ? "@me" : Java9.URLEncoder.encode(username, StandardCharsets.UTF_8),
                         status != null ? status.field() : null,
@@ -365,6 +759,26 @@ final class MyAnimeListImpl extends MyAnimeList {
                 );
             }
 
+            @Override
+            public final ListDelta<AnimeListStatus> searchUpdatedSince(final long watermark){
+                return delta(
+                    watermark,
+                    limit,
+                    "users/{user_name}/animelist",
+                    (offset, limit) -> service.getUserAnimeListing(
+                        auth,
+                        username.equals("@me") ? "@me" : Java9.URLEncoder.encode(username, StandardCharsets.UTF_8),
+                        status != null ? status.field() : null,
+                        AnimeSort.UpdatedAt.field(),
+                        limit,
+                        offset,
+                        convertFields(Fields.anime, fields),
+                        nsfw
+                    ),
+                    iterator -> asAnimeListStatus(MyAnimeListImpl.this, iterator.getJsonObject("list_status"), asAnimePreview(MyAnimeListImpl.this, iterator.getJsonObject("node")))
+                );
+            }
+
         };
     }
 
@@ -379,7 +793,7 @@ final class MyAnimeListImpl extends MyAnimeList {
         final List<ForumCategory> categories = new ArrayList<>();
         for(final JsonObject iterator : response.getJsonArray("categories"))
             categories.add(asForumCategory(MyAnimeListImpl.this, iterator));
-        return categories;
+        return mapped(categories);
     }
 
     @Override
@@ -404,7 +818,7 @@ final class MyAnimeListImpl extends MyAnimeList {
         );
         if(response == null) return null;
 
-        return asForumTopic(MyAnimeListImpl.this, response.getJsonObject("data"), id);
+        return mapped(asForumTopic(MyAnimeListImpl.this, response.getJsonObject("data"), id));
     }
 
     @Override
@@ -426,14 +840,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<Post> posts = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonObject("data").getJsonArray("posts"))
                     posts.add(asPost(MyAnimeListImpl.this, iterator, id));
-                return posts;
+                return mapped(posts);
             }
 
             @Override
             public final PaginatedIterator<Post> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getForumBoard(
+                    limit,
+                    maxLimit ? "forum/topic/{topic_id}" : null,
+                    (offset, limit) -> service.getForumBoard(
                         auth,
                         id,
                         limit,
@@ -470,14 +886,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<ForumTopic> topics = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     topics.add(asForumTopicDetail(MyAnimeListImpl.this, iterator, boardId, subboardId));
-                return topics;
+                return mapped(topics);
             }
 
             @Override
             public final PaginatedIterator<ForumTopic> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getForumTopics(
+                    limit,
+                    maxLimit ? "forum/topics" : null,
+                    (offset, limit) -> service.getForumTopics(
                         auth,
                         boardId,
                         subboardId,
@@ -499,15 +917,20 @@ final class MyAnimeListImpl extends MyAnimeList {
     public final MangaSearchQuery getManga(){
         return new MangaSearchQuery() {
 
+            // profiled once per query, by the call site that created it
+            private final String site = profiler.site();
+
             @Override
             public final List<MangaPreview> search(){
+                final FieldProfiler.Profile profile = fields == null ? profiler.profile(site, FieldSet.MANGA) : null;
+                final FieldSet request = profile != null ? profile.request() : null;
                 final JsonObject response = handleResponse(
                     () -> service.getManga(
                         auth,
                         query,
                         limit,
                         offset,
-                        convertFields(Fields.manga, fields),
+                        request != null ? request.toString() : convertFields(Fields.manga, fields),
                         nsfw
                     )
                 );
@@ -515,23 +938,27 @@ final class MyAnimeListImpl extends MyAnimeList {
 
                 final List<MangaPreview> manga = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
-                    manga.add(asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node")));
-                return manga;
+                    manga.add(profiled(asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node")), request, profile));
+                return mapped(manga);
             }
 
             @Override
             public final PaginatedIterator<MangaPreview> searchAll(){
+                final FieldProfiler.Profile profile = fields == null ? profiler.profile(site, FieldSet.MANGA) : null;
+                final FieldSet request = profile != null ? profile.request() : null;
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getManga(
+                    limit,
+                    maxLimit ? "manga" : null,
+                    (offset, limit) -> service.getManga(
                         auth,
                         query,
                         limit,
                         offset,
-                        convertFields(Fields.manga, fields),
+                        request != null ? request.toString() : convertFields(Fields.manga, fields),
                         nsfw
                     ),
-                    iterator -> asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node"))
+                    iterator -> profiled(asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node")), request, profile)
                 );
             }
 
@@ -545,14 +972,95 @@ final class MyAnimeListImpl extends MyAnimeList {
 
     @Override
     public final Manga getManga(final long id, final String... fields){
-        return asManga(this,
-        handleResponse(
-            () -> service.getManga(
-                auth,
-                id,
-                convertFields(Fields.manga, fields)
-            )
-        ));
+        return getManga(id, fields, fields == null ? profiler.site() : null);
+    }
+
+    private Manga getManga(final long id, final String[] fields, final String site){
+        final FieldProfiler.Profile profile = profiler.profile(site, FieldSet.MANGA);
+        if(profile != null){
+            final FieldSet request = profile.request();
+            final Manga manga = getManga(id, request.toString());
+            return manga == null ? null : asProfiledManga(manga, request, profile, () -> getManga(id, Fields.manga));
+        }
+
+        final String requested = convertFields(Fields.manga, fields);
+        if(identity.isEnabled()){
+            final JsonObject known = identity.get(FieldSet.MANGA, id, FieldSet.MANGA.parse(requested, false));
+            if(known != null)
+                return asManga(this, known);
+        }
+
+        return mapped(asManga(this,
+        identity.merge(
+            FieldSet.MANGA,
+            handleResponse(
+                () -> service.getManga(
+                    auth,
+                    id,
+                    requested
+                )
+            ),
+            identity.isEnabled() ? FieldSet.MANGA.parse(requested, true) : null
+        )));
+    }
+
+    @Override
+    public final Map<Long,Manga> getManga(final Collection<Long> ids){
+        return getManga(ids, null, (String[]) null);
+    }
+
+    @Override
+    public final Map<Long,Manga> getManga(final Collection<Long> ids, final String... fields){
+        return getManga(ids, null, fields);
+    }
+
+    @Override
+    public final Map<Long,Manga> getManga(final Collection<Long> ids, final BatchListener<Manga> listener, final String... fields){
+        final String site = fields == null ? profiler.site() : null; // profiled by the caller, not the worker
+        return executor.map(ids, id -> getManga(id, fields, site), listener);
+    }
+
+    @Override
+    public final List<Manga> resolveManga(final Collection<? extends MangaRetrievable> items){
+        return resolveManga(items, (String[]) null);
+    }
+
+    @Override
+    public final List<Manga> resolveManga(final Collection<? extends MangaRetrievable> items, final String... fields){
+        Objects.requireNonNull(items, "Items cannot be null");
+        final List<Long> ids = new ArrayList<>(items.size());
+        // items without an ID are retrieved from the item, alongside the batch
+        final List<Future<Manga>> links = new ArrayList<>(items.size());
+        for(final MangaRetrievable item : items){
+            final Long id = getMangaID(item);
+            ids.add(id);
+            links.add(id != null ? null : executor.submit(() -> {
+                try{
+                    return item.getManga();
+                }catch(final RuntimeException e){
+                    return null;
+                }
+            }));
+        }
+
+        final Map<Long,Manga> resolved = getManga(ids.stream().filter(Objects::nonNull).collect(Collectors.toList()), fields);
+        BatchExecutor.await(links.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+
+        final List<Manga> results = new ArrayList<>(items.size());
+        for(int i = 0; i < ids.size(); i++)
+            results.add(ids.get(i) != null ? resolved.get(ids.get(i)) : BatchExecutor.result(links.get(i)));
+        return results;
+    }
+
+    // ID of a navigation link, null if it has none
+    private static Long getMangaID(final MangaRetrievable item){
+        if(item instanceof MangaPreview)
+            return ((MangaPreview) item).getID();
+        else if(item instanceof MangaPreviewRetrievable){
+            final MangaPreview preview = ((MangaPreviewRetrievable) item).getMangaPreview();
+            return preview != null ? preview.getID() : null;
+        }else
+            return null;
     }
 
     @Override
@@ -576,14 +1084,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<MangaRanking> manga = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     manga.add(asMangaRanking(MyAnimeListImpl.this, iterator));
-                return manga;
+                return mapped(manga);
             }
 
             @Override
             public final PaginatedIterator<MangaRanking> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getMangaRanking(
+                    limit,
+                    maxLimit ? "manga/ranking" : null,
+                    (offset, limit) -> service.getMangaRanking(
                         auth,
                         rankingType != null ? rankingType.field() : null,
                         limit,
@@ -603,35 +1113,77 @@ final class MyAnimeListImpl extends MyAnimeList {
         return new MangaListUpdate(id) {
 
             @Override
-            public synchronized final MangaListStatus update(){
-                final JsonObject response = handleResponse(
-                    () -> service.updateMangaListing(
-                        auth,
-                        id,
-                        status != null ? status.field() : null,
-                        rereading,
-                        score,
-                        MyAnimeListSchema.asYMD(startDate),
-                        MyAnimeListSchema.asYMD(finishDate),
-                        volumesRead,
-                        chaptersRead,
-                        priority.value(),
-                        timesReread,
-                        rereadValue.value(),
-                        toCommaSeparatedString(tags),
-                        comments
-                    )
-                );
-                if(response == null) return null;
-
-                return asMangaListStatus(MyAnimeListImpl.this, response, id);
+            public final MangaListStatus update(){
+                final ReentrantLock lock = mangaListLocks.get(id);
+                lock.lock();
+                try{
+                    final JsonObject response = handleResponse(
+                        () -> service.updateMangaListing(
+                            auth,
+                            id,
+                            status != null ? status.field() : null,
+                            rereading,
+                            score,
+                            MyAnimeListSchema.asYMD(startDate),
+                            MyAnimeListSchema.asYMD(finishDate),
+                            volumesRead,
+                            chaptersRead,
+                            priority != null ? priority.value() : null,
+                            timesReread,
+                            rereadValue != null ? rereadValue.value() : null,
+                            toCommaSeparatedString(tags),
+                            comments
+                        )
+                    );
+                    if(response == null) return null;
+
+                    return mapped(asMangaListStatus(MyAnimeListImpl.this, response, id));
+                }finally{
+                    identity.evict(FieldSet.MANGA, id); // merged list status may be stale
+                    lock.unlock();
+                }
             }
 
         };
     }
 
     @Override
-    public synchronized final void deleteMangaListing(final long id){
+    public final BulkUpdateResult<MangaListStatus> updateMangaListings(final Collection<MangaListUpdate> updates){
+        return bulkUpdate(updates);
+    }
+
+    @Override
+    public final ListUpdateBuffer<MangaListUpdate,MangaListStatus> createMangaListBuffer(final long delayMillis, final int batchSize){
+        return createMangaListBuffer(delayMillis, batchSize, null);
+    }
+
+    @Override
+    public final ListUpdateBuffer<MangaListUpdate,MangaListStatus> createMangaListBuffer(final long delayMillis, final int batchSize, final BatchListener<MangaListStatus> listener){
+        return new ListUpdateBuffer<>(this::updateMangaListing, this::updateMangaListings, delayMillis, batchSize, listener);
+    }
+
+    @Override
+    public final ListSyncResult<MangaListStatus> syncMangaListing(final Collection<MangaListUpdate> desired, final boolean deleteMissing){
+        Objects.requireNonNull(desired, "Desired listings cannot be null");
+
+        final Map<Long,MangaListStatus> current = new HashMap<>();
+        final PaginatedIterator<MangaListStatus> iterator = getUserMangaListing()
+            .withFields(Fields.Manga.list_status)
+            .includeNSFW()
+            .withMaxLimit()
+            .searchAll();
+        while(iterator.hasNext()){
+            final MangaListStatus status = iterator.next();
+            current.put(status.getMangaPreview().getID(), status);
+        }
+
+        return sync(desired, current, this::updateMangaListing, this::updateMangaListings, this::deleteMangaListing, deleteMissing);
+    }
+
+    @Override
+    public final void deleteMangaListing(final long id){
+        final ReentrantLock lock = mangaListLocks.get(id);
+        lock.lock();
         try{
             handleVoidResponse(
                 () -> service.deleteMangaListing(
@@ -642,6 +1194,9 @@ final class MyAnimeListImpl extends MyAnimeList {
         }catch(final HttpException e){
             if(e.code() != 404)
                 throw e;
+        }finally{
+            identity.evict(FieldSet.MANGA, id);
+            lock.unlock();
         }
     }
 
@@ -673,14 +1228,16 @@ final class MyAnimeListImpl extends MyAnimeList {
                 final List<MangaListStatus> manga = new ArrayList<>();
                 for(final JsonObject iterator : response.getJsonArray("data"))
                     manga.add(asMangaListStatus(MyAnimeListImpl.this, iterator.getJsonObject("list_status"), asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node"))));
-                return manga;
+                return mapped(manga);
             }
 
             @Override
             public final PaginatedIterator<MangaListStatus> searchAll(){
                 return new PagedIterator<>(
                     offset,
-                    offset -> service.getUserMangaListing(
+                    limit,
+                    maxLimit ? "users/{user_name}/mangalist" : null,
+                    (offset, limit) -> service.getUserMangaListing(
                         auth,
                         username.equals("@me") ? "@me" : Java9.URLEncoder.encode(username, StandardCharsets.UTF_8),
                         status != null ? status.field() : null,
@@ -694,6 +1251,26 @@ final class MyAnimeListImpl extends MyAnimeList {
                 );
             }
 
+            @Override
+            public final ListDelta<MangaListStatus> searchUpdatedSince(final long watermark){
+                return delta(
+                    watermark,
+                    limit,
+                    "users/{user_name}/mangalist",
+                    (offset, limit) -> service.getUserMangaListing(
+                        auth,
+                        username.equals("@me") ? "@me" : Java9.URLEncoder.encode(username, StandardCharsets.UTF_8),
+                        status != null ? status.field() : null,
+                        MangaSort.UpdatedAt.field(),
+                        limit,
+                        offset,
+                        convertFields(Fields.manga, fields),
+                        nsfw
+                    ),
+                    iterator -> asMangaListStatus(MyAnimeListImpl.this, iterator.getJsonObject("list_status"), asMangaPreview(MyAnimeListImpl.this, iterator.getJsonObject("node")))
+                );
+            }
+
         };
     }
 
@@ -725,30 +1302,276 @@ final class MyAnimeListImpl extends MyAnimeList {
     @Override
     public final User getUser(final String username, final String... fields){
         Objects.requireNonNull(username, "Username cannot be null");
-        return asUser(this,
+        return getUser(username, fields, fields == null ? profiler.site() : null);
+    }
+
+    private User getUser(final String username, final String[] fields, final String site){
+        final FieldProfiler.Profile profile = profiler.profile(site, FieldSet.USER);
+        if(profile != null){
+            final FieldSet request = profile.request();
+            final User user = getUser(username, request.toString());
+            return user == null ? null : asProfiledUser(user, request, profile, () -> getUser(username, Fields.user));
+        }
+
+        return mapped(asUser(this,
         handleResponse(
             () -> service.getUser(
                 auth,
                 username.equals("@me") ? "@me" : Java9.URLEncoder.encode(username, StandardCharsets.UTF_8),
                 convertFields(Fields.user, fields)
             )
-        ));
+        )));
+    }
+
+    //
+
+    private AnimePreview profiled(final AnimePreview anime, final FieldSet fetched, final FieldProfiler.Profile profile){
+        return profile == null || anime == null ? anime : asProfiledAnimePreview(anime, fetched, profile, () -> getAnime(anime.getID(), Fields.anime));
+    }
+
+    private MangaPreview profiled(final MangaPreview manga, final FieldSet fetched, final FieldProfiler.Profile profile){
+        return profile == null || manga == null ? manga : asProfiledMangaPreview(manga, fetched, profile, () -> getManga(manga.getID(), Fields.manga));
+    }
+
+    //
+
+    /**
+     * Runs list updates concurrently. Updates to the same ID are run in order on the same thread.
+     *
+     * @param updates list updates
+     * @param <R> list status type
+     * @return bulk update result
+     */
+    private <R extends ListStatus<?>> BulkUpdateResult<R> bulkUpdate(final Collection<? extends ListUpdate<?,R,?>> updates){
+        Objects.requireNonNull(updates, "Updates cannot be null");
+
+        final List<ListUpdate<?,R,?>> list = new ArrayList<>(updates);
+        list.removeIf(Objects::isNull);
+
+        final List<Long> ids = new ArrayList<>(list.size());
+        for(final ListUpdate<?,R,?> update : list)
+            ids.add(update.getID());
+        return bulk(ids, index -> list.get(index).update());
+    }
+
+    /**
+     * Deletes list entries concurrently.
+     *
+     * @param ids IDs to delete
+     * @param delete delete method
+     * @return bulk delete result
+     */
+    private BulkUpdateResult<Void> bulkDelete(final List<Long> ids, final Consumer<Long> delete){
+        return bulk(ids, index -> {
+            delete.accept(ids.get(index));
+            return null;
+        });
+    }
+
+    /**
+     * Runs a task for each ID concurrently. Tasks for the same ID are run in order on the same thread.
+     * <br>
+     * If interrupted, tasks that have not started are cancelled and tasks that have started are allowed to finish, so that the result matches what was sent.
+     *
+     * @param ids ID of each task
+     * @param task task, given the index of the ID
+     * @param <R> result type
+     * @return bulk result
+     */
+    private <R> BulkUpdateResult<R> bulk(final List<Long> ids, final IntFunction<R> task){
+        final long start = System.nanoTime();
+
+        // group tasks by ID, preserving order
+        final Map<Long,List<Integer>> groups = new LinkedHashMap<>();
+        for(int i = 0, size = ids.size(); i < size; i++)
+            groups.computeIfAbsent(ids.get(i), id -> new ArrayList<>()).add(i);
+
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final List<Future<List<BulkUpdateResult.Entry<R>>>> futures = new ArrayList<>(groups.size());
+        for(final List<Integer> group : groups.values())
+            futures.add(executor.submit(() -> {
+                final List<BulkUpdateResult.Entry<R>> entries = new ArrayList<>(group.size());
+                for(final int index : group){
+                    if(cancelled.get()) break;
+                    final long begin = System.nanoTime();
+                    try{
+                        final R result = task.apply(index);
+                        entries.add(new BulkUpdateResult.Entry<>(ids.get(index), result, null, System.nanoTime() - begin));
+                    }catch(final RuntimeException e){
+                        entries.add(new BulkUpdateResult.Entry<>(ids.get(index), null, e, System.nanoTime() - begin));
+                    }
+                }
+                return entries;
+            }));
+
+        // wait for every started task, even if interrupted
+        @SuppressWarnings("unchecked")
+        final BulkUpdateResult.Entry<R>[] entries = new BulkUpdateResult.Entry[ids.size()];
+        boolean interrupted = false;
+        int g = 0;
+        for(final List<Integer> group : groups.values()){
+            final Future<List<BulkUpdateResult.Entry<R>>> future = futures.get(g++);
+            while(true){
+                try{
+                    final List<BulkUpdateResult.Entry<R>> done = future.get();
+                    for(int i = 0, size = done.size(); i < size; i++)
+                        entries[group.get(i)] = done.get(i);
+                    break;
+                }catch(final InterruptedException e){
+                    interrupted = true;
+                    cancelled.set(true);
+                }catch(final ExecutionException e){
+                    if(e.getCause() instanceof Error)
+                        throw (Error) e.getCause();
+                    break;
+                }
+            }
+        }
+        if(interrupted)
+            Thread.currentThread().interrupt();
+
+        final List<BulkUpdateResult.Entry<R>> results = new ArrayList<>(entries.length);
+        for(int i = 0, size = entries.length; i < size; i++)
+            results.add(
+                entries[i] != null
+                ? entries[i]
+                : new BulkUpdateResult.Entry<>(ids.get(i), null, new CancellationException("Update was cancelled"), 0)
+            );
+        return new BulkUpdateResult<>(results, System.nanoTime() - start);
+    }
+
+    /**
+     * Synchronizes a list with a desired state. Only fields that differ from the current list are sent, and entries with no changes are skipped.
+     *
+     * @param desired desired list entries
+     * @param current current list entries by ID
+     * @param factory creates an empty update for an ID
+     * @param updater runs list updates
+     * @param delete delete method
+     * @param deleteMissing if entries not in the desired list should be deleted
+     * @param <T> list update type
+     * @param <R> list status type
+     * @return sync result
+     */
+    private <T extends ListUpdate<T,R,?>,R extends ListStatus<?>> ListSyncResult<R> sync(
+        final Collection<T> desired,
+        final Map<Long,R> current,
+        final Function<Long,T> factory,
+        final Function<Collection<T>,BulkUpdateResult<R>> updater,
+        final Consumer<Long> delete,
+        final boolean deleteMissing
+    ){
+        // merge desired entries by ID
+        final Map<Long,T> target = new LinkedHashMap<>();
+        for(final T update : desired)
+            if(update != null){
+                final T existing = target.get(update.getID());
+                if(existing != null)
+                    existing.merge(update);
+                else
+                    target.put(update.getID(), factory.apply(update.getID()).merge(update));
+            }
+
+        final List<T> changed = new ArrayList<>();
+        int unchanged = 0;
+        for(final T update : target.values()){
+            final R status = current.get(update.getID());
+            if(status == null || update.retainChanges(status).hasChanges())
+                changed.add(update);
+            else
+                unchanged++;
+        }
+
+        final List<Long> removed = new ArrayList<>();
+        if(deleteMissing)
+            for(final Long id : current.keySet())
+                if(!target.containsKey(id))
+                    removed.add(id);
+
+        return new ListSyncResult<>(updater.apply(changed), bulkDelete(removed, delete), unchanged);
+    }
+
+    /**
+     * Reads a list sorted by most recently updated until an entry at or below the watermark is reached. Page size starts small and doubles up to the endpoint maximum.
+     *
+     * @param watermark watermark in milliseconds since epoch
+     * @param limit first page size, null to use the default
+     * @param endpoint endpoint to use the max page size of
+     * @param fullPageSupplier page supplier, accepts offset and limit
+     * @param listAdapter list item adapter
+     * @param <R> list status type
+     * @return list delta
+     */
+    private <R extends ListStatus<?>> ListDelta<R> delta(
+        final long watermark,
+        final Integer limit,
+        final String endpoint,
+        final BiFunction<Integer,Integer,Response<JsonObject>> fullPageSupplier,
+        final Function<JsonObject,R> listAdapter
+    ){
+        final Integer max = PageLimit.max(endpoint);
+        final List<R> changed = new ArrayList<>();
+        long next = watermark;
+
+        int offset = 0;
+        int size = limit != null ? limit : DELTA_PAGE_SIZE;
+        while(true){
+            final int o = offset, l = size;
+            final JsonObject response = handleResponse(() -> fullPageSupplier.apply(o, l));
+            if(response == null) break;
+
+            final JsonObject[] data = response.getJsonArray("data");
+            final List<R> page = new ArrayList<>(data.length);
+            boolean reached = false;
+            for(final JsonObject iterator : data){
+                final R status = listAdapter.apply(iterator);
+                final Long updated = status.getUpdatedAtEpochMillis();
+                if(updated != null){
+                    if(updated <= watermark){
+                        reached = true;
+                        break;
+                    }
+                    next = Math.max(next, updated);
+                }
+                page.add(status);
+            }
+            changed.addAll(mapped(page)); // each page is reported once, with only its own entries
+
+            if(reached || !response.getJsonObject("paging").containsKey("next"))
+                break;
+            offset += data.length;
+            size = max != null ? Math.min(size * 2, max) : size * 2;
+        }
+        return new ListDelta<>(changed, next);
     }
 
     //
     
-    private static void handleVoidResponse(final ExceptionSupplier<Response<?>,IOException> supplier){
+    // reports that the last response parsed on this thread was mapped
+    private static <T> T mapped(final T value){
+        FlightEvents.commitEntityMap(value);
+        return RequestTrace.mapped(value);
+    }
+
+    private void handleVoidResponse(final ExceptionSupplier<Response<?>,IOException> supplier){
         handleResponseCodes(supplier);
+        RequestTrace.clear();
+        FlightEvents.clearEntityMap();
     }
     
-    private static JsonObject handleResponse(final ExceptionSupplier<Response<?>,IOException> supplier){
+    private JsonObject handleResponse(final ExceptionSupplier<Response<?>,IOException> supplier){
         final Response<?> response = handleResponseCodes(supplier);
         return response.code() == HttpURLConnection.HTTP_OK ? (JsonObject) response.body() : null;
     }
 
-    private static Response<?> handleResponseCodes(final ExceptionSupplier<Response<?>,IOException> supplier){
+    private Response<?> handleResponseCodes(final ExceptionSupplier<Response<?>,IOException> supplier){
         try{
-            final Response<?> response = supplier.get();
+            final String used = auth;
+            Response<?> response = supplier.get();
+
+            // send again once with a refreshed token
+            if(response.code() == HttpURLConnection.HTTP_UNAUTHORIZED && refreshUnauthorized(used))
+                response = supplier.get();
 
             if(response.code() == HttpURLConnection.HTTP_OK)
                 return response;
@@ -774,23 +1597,42 @@ final class MyAnimeListImpl extends MyAnimeList {
         return "MyAnimeList{" +
                "authenticator=" + authenticator +
                ", service=" + service +
+               ", limiter=" + limiter +
+               ", executor=" + executor +
                '}';
     }
 
     //
 
-    private static class PagedIterator<T> extends PaginatedIterator<T> {
+    private class PagedIterator<T> extends PaginatedIterator<T> {
 
-        private final Function<Integer,Response<JsonObject>> fullPageSupplier;
+        private final String endpoint;
+        private final BiFunction<Integer,Integer,Response<JsonObject>> fullPageSupplier;
         private final Function<JsonObject,T> listAdapter;
 
         private final AtomicReference<Integer> nextOffset = new AtomicReference<>();
-
+        private Integer limit;
+
+        /**
+         * Creates a paginated iterator.
+         *
+         * @param offset starting offset
+         * @param limit page size
+         * @param endpoint endpoint to use the max page size of, null to use the provided limit
+         * @param fullPageSupplier page supplier, accepts offset and limit
+         * @param listAdapter list item adapter
+         *
+         * @see PageLimit
+         */
         PagedIterator(
             final Integer offset,
-            final Function<Integer,Response<JsonObject>> fullPageSupplier,
+            final Integer limit,
+            final String endpoint,
+            final BiFunction<Integer,Integer,Response<JsonObject>> fullPageSupplier,
             final Function<JsonObject,T> listAdapter
         ){
+            this.endpoint           = endpoint;
+            this.limit              = endpoint != null ? PageLimit.max(endpoint) : limit;
             this.fullPageSupplier   = fullPageSupplier;
             this.listAdapter        = listAdapter;
 
@@ -807,7 +1649,17 @@ final class MyAnimeListImpl extends MyAnimeList {
 
         @Override
         synchronized final List<T> getNextPage(){
-            final JsonObject response = handleResponse(() -> fullPageSupplier.apply(nextOffset.get()));
+            JsonObject response;
+            while(true){
+                try{
+                    response = handleResponse(() -> fullPageSupplier.apply(nextOffset.get(), limit));
+                    break;
+                }catch(final HttpException e){ // fallback to a lower limit for this iterator if max limit was rejected
+                    if(endpoint == null || !PageLimit.isLimitError(e, limit))
+                        throw e;
+                    limit = PageLimit.fallback(limit);
+                }
+            }
 
             if(response == null){
                 nextOffset.set(-1);
@@ -825,69 +1677,56 @@ final class MyAnimeListImpl extends MyAnimeList {
             if(response.getJsonObject("paging").containsKey("next")){
                 final Integer b4 = nextOffset.get();
                 nextOffset.set((b4 == null ? 0 : b4) + list.size());
-                return list;
+                return mapped(list);
             }
             nextOffset.set(-1);
 
-            return list;
+            return mapped(list);
         }
 
     }
 
     //
 
-    private static String toCommaSeparatedString(final List<String> fields){
-        return toCommaSeparatedString(fields == null ? null : fields.toArray(new String[0]));
-    }
-
-    private static String toCommaSeparatedString(final String... fields){
+    static String toCommaSeparatedString(final List<String> fields){
         if(fields != null){
-            if(fields.length == 0) return ""; // return blank for empty array
+            if(fields.isEmpty()) return ""; // return blank for empty list
 
             final StringBuilder SB = new StringBuilder();
             for(final String field : fields)
-                if(!Java9.String.isBlank(field))
+                if(!isBlank(field))
                     SB.append(field).append(',');
-            return SB.toString().endsWith(",") ? SB.deleteCharAt(SB.length()-1).toString() : "";
+            return SB.length() > 0 ? SB.deleteCharAt(SB.length()-1).toString() : "";
         }
         return null;
     }
 
-    private static final String inverted = "^%s$|^%s(?=,)|(?<=\\w)\\{%s}|(?:^|,)%s\\{.*?}|,%s|(?<=\\{)%s,";
+    private static String toCommaSeparatedString(final String... fields){
+        return toCommaSeparatedString(fields == null ? null : Arrays.asList(fields));
+    }
 
-    private static String convertFields(final String defaultFields, final List<String> fields){
-        return convertFields(defaultFields, fields == null ? null : fields.toArray(new String[0]));
+    private static boolean isBlank(final String s){
+        for(int i = 0, len = s.length(); i < len; i++)
+            if(!Character.isWhitespace(s.charAt(i)))
+                return false;
+        return true;
+    }
+
+    private static String convertFields(final String defaultFields, final String... fields){
+        return convertFields(defaultFields, fields == null ? null : Arrays.asList(fields));
     }
 
     /**
-     * Converts field array to comma separated string
+     * Converts field list to comma separated string
      *
      * @param defaultFields default fields
      * @param fields fields
      * @return comma separated fields
+     *
+     * @see FieldSet.Universe#render(List)
      */
-    private static String convertFields(final String defaultFields, final String... fields){
-        if(fields == null || (fields.length == 1 && fields[0].equals(Fields.INVERTED)))
-            return defaultFields;
-        else if(fields.length == 0)
-            return "";
-        
-        boolean inverted = false;
-        for(final String field : fields){
-            if(field.equals(Fields.INVERTED)){
-                inverted = true;
-                break;
-            }
-        }
-        
-        if(!inverted){
-            return toCommaSeparatedString(fields);
-        }else{
-            String buffer = defaultFields;
-            for(final String field : fields) // remove fields that are specified
-                buffer = buffer.replaceAll(MyAnimeListImpl.inverted.replace("%s", Pattern.quote(field)), "");
-            return buffer;
-        }
+    private static String convertFields(final String defaultFields, final List<String> fields){
+        return FieldSet.universe(defaultFields).render(fields);
     }
 
 }
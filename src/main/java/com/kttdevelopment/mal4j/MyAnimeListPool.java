@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates MyAnimeList instances for many users that share one rate limit, thread pool, request service, and response cache. Each instance only keeps its own token and settings.
+ * <br>
+ * Batch requests from each instance are queued separately, and instances take turns on the shared threads, so one user's batch does not delay everyone else's requests.
+ * <br>
+ * Responses from public endpoints are cached for a short time and shared between instances. Responses that depend on the user, such as user lists and <code>my_list_status</code>, are never cached.
+ *
+ * @see MyAnimeList
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class MyAnimeListPool {
+
+    private static final int CACHE_CAPACITY = 1024;
+
+    final RateLimiter limiter = new RateLimiter();
+    final BatchExecutor executor = new BatchExecutor(4);
+    final StripedLock animeListLocks = new StripedLock(64);
+    final StripedLock mangaListLocks = new StripedLock(64);
+    final ResponseCache cache = new ResponseCache(CACHE_CAPACITY, TimeUnit.SECONDS.toMillis(60));
+    final MyAnimeListService service = MyAnimeListService.create(limiter, cache);
+    private final Map<String,MyAnimeListService> clientServices = new ConcurrentHashMap<>();
+
+    private volatile RequestListener listener = null;
+
+    /**
+     * Creates a pool.
+     *
+     * @since 2.3.0
+     */
+    public MyAnimeListPool(){ }
+
+    /**
+     * Creates an interface with an OAuth token that uses this pool.
+     *
+     * @param token OAuth token, Ex: 'Bearer oauth2token'
+     * @return MyAnimeList
+     * @throws NullPointerException if token is null
+     * @throws IllegalArgumentException if token doesn't start with 'Bearer'
+     *
+     * @see MyAnimeList#withOAuthToken(String)
+     * @since 2.3.0
+     */
+    public final MyAnimeList withOAuthToken(final String token){
+        return new MyAnimeListImpl(token, this);
+    }
+
+    /**
+     * Creates an interface with a client ID that uses this pool. Instances share one request service for each client ID.
+     *
+     * @param client_id client ID
+     * @return MyAnimeList
+     * @throws NullPointerException if client ID is null
+     *
+     * @see MyAnimeList#withClientID(String)
+     * @since 2.3.0
+     */
+    public final MyAnimeList withClientID(final String client_id){
+        return MyAnimeListImpl.withClientID(client_id, this);
+    }
+
+    /**
+     * Creates an interface with an authenticator that uses this pool.
+     *
+     * @param authenticator authenticator
+     * @return MyAnimeList
+     * @throws NullPointerException if authenticator is null
+     *
+     * @see MyAnimeList#withAuthorization(MyAnimeListAuthenticator)
+     * @since 2.3.0
+     */
+    public final MyAnimeList withAuthorization(final MyAnimeListAuthenticator authenticator){
+        return new MyAnimeListImpl(authenticator, this);
+    }
+
+    /**
+     * Returns the request service for a client ID.
+     *
+     * @param clientID client ID, null for token authentication
+     * @return service
+     */
+    final MyAnimeListService service(final String clientID){
+        if(clientID == null)
+            return service;
+        final MyAnimeListService existing = clientServices.get(clientID);
+        if(existing != null)
+            return existing;
+        synchronized(this){ // so that new services can not miss a listener change
+            return clientServices.computeIfAbsent(clientID, id -> {
+                final MyAnimeListService service = MyAnimeListService.create(limiter, cache, id);
+                APICall.setListener(service, listener);
+                return service;
+            });
+        }
+    }
+
+    /**
+     * Sets the maximum amount of requests that can be sent per second by all instances in the pool.
+     *
+     * @param requestsPerSecond requests per second, 0 for no limit
+     * @throws IllegalArgumentException if requests per second is negative
+     *
+     * @see MyAnimeList#setRateLimit(int)
+     * @since 2.3.0
+     */
+    public final void setRateLimit(final int requestsPerSecond){
+        limiter.setRate(requestsPerSecond);
+    }
+
+    /**
+     * Sets the maximum amount of batch requests that can run at once across all instances in the pool. Instances can further limit their own requests using {@link MyAnimeList#setConcurrency(int)}.
+     *
+     * @param threads maximum concurrent requests, default is 4
+     * @throws IllegalArgumentException if threads is less than 1
+     *
+     * @see MyAnimeList#setConcurrency(int)
+     * @since 2.3.0
+     */
+    public final void setConcurrency(final int threads){
+        executor.setConcurrency(threads);
+    }
+
+    /**
+     * Sets how long responses from public endpoints are cached.
+     *
+     * @param seconds cache duration in seconds, 0 to not cache, default is 60
+     * @throws IllegalArgumentException if seconds is negative
+     *
+     * @since 2.3.0
+     */
+    public final void setCacheDuration(final long seconds){
+        if(seconds < 0)
+            throw new IllegalArgumentException("Cache duration must not be negative");
+        cache.setDuration(TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    /**
+     * Sets the request listener for all instances in the pool.
+     *
+     * @param listener request listener, null to remove
+     *
+     * @see RequestListener
+     * @see LatencyRecorder
+     * @see MyAnimeList#setRequestListener(RequestListener)
+     * @since 2.3.0
+     */
+    public final synchronized void setRequestListener(final RequestListener listener){
+        this.listener = listener;
+        APICall.setListener(service, listener);
+        for(final MyAnimeListService service : clientServices.values())
+            APICall.setListener(service, listener);
+    }
+
+    @Override
+    public String toString(){
+        return "MyAnimeListPool{" +
+               "limiter=" + limiter +
+               ", executor=" + executor +
+               ", cache=" + cache +
+               '}';
+    }
+
+}
@@ -42,6 +42,20 @@ abstract class MyAnimeListSchema {
         return array;
     }
 
+    /**
+     * Merges entity json into the identity map of a MyAnimeList instance.
+     *
+     * @param mal MyAnimeList
+     * @param universe {@link FieldSet#ANIME} or {@link FieldSet#MANGA}
+     * @param json entity json
+     * @return merged json
+     *
+     * @see IdentityMap
+     */
+    protected static JsonObject merge(final MyAnimeList mal, final FieldSet.Universe universe, final JsonObject json){
+        return mal instanceof MyAnimeListImpl ? ((MyAnimeListImpl) mal).identity.merge(universe, json, null) : json;
+    }
+
     //
 
     private static final String YMD = "yyyy-MM-dd";
@@ -137,6 +151,24 @@ abstract class MyAnimeListSchema {
 
     //
 
+    /**
+     * Returns the canonical instance from a MyAnimeList's flyweight cache, or a new instance if the MyAnimeList has no caches.
+     *
+     * @param mal MyAnimeList
+     * @param cache cache to use
+     * @param factory value supplier
+     * @param key key values
+     * @param <V> value type
+     * @return canonical instance
+     *
+     * @see Flyweight
+     */
+    protected static <V> V flyweight(final MyAnimeList mal, final Function<MyAnimeListImpl,Flyweight<V>> cache, final Supplier<V> factory, final Object... key){
+        return mal instanceof MyAnimeListImpl
+            ? cache.apply((MyAnimeListImpl) mal).get(factory, key)
+            : factory.get();
+    }
+
     protected static <T> T requireNonNull(final Supplier<T> supplier){
         try{
             return supplier.get();
@@ -152,10 +152,10 @@ abstract class MyAnimeListSchema_Anime extends MyAnimeListSchema {
     }
 
     static Studio asStudio(final MyAnimeList mal, final JsonObject schema){
-        return new Studio() {
+        final Long id       = requireNonNull(() -> schema.getLong("id"));
+        final String name   = requireNonNull(() -> schema.getString("name"));
 
-            private final Long id       = requireNonNull(() -> schema.getLong("id"));
-            private final String name   = requireNonNull(() -> schema.getString("name"));
+        return flyweight(mal, m -> m.studios, () -> new Studio() {
 
             // API methods
 
@@ -180,7 +180,7 @@ abstract class MyAnimeListSchema_Anime extends MyAnimeListSchema {
                        '}';
             }
 
-        };
+        }, id, name);
     }
 
     static OpeningTheme asOpeningTheme(final MyAnimeList mal, final JsonObject schema, Anime anime){
@@ -665,7 +665,8 @@ abstract class MyAnimeListSchema_Anime extends MyAnimeListSchema {
         };
     }
 
-    static AnimePreview asAnimePreview(final MyAnimeList mal, final JsonObject schema){
+    static AnimePreview asAnimePreview(final MyAnimeList mal, final JsonObject json){
+        final JsonObject schema = merge(mal, FieldSet.ANIME, json);
         return new AnimePreview() {
 
             private final Long id               = requireNonNull(() -> schema.getLong("id"));
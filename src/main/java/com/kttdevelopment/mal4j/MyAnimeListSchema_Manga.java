@@ -30,12 +30,12 @@ import java.util.*;
 abstract class MyAnimeListSchema_Manga extends MyAnimeListSchema {
     
     static Author asAuthor(final MyAnimeList mal, final JsonObject schema){
-        return new Author() {
+        final Long id           = requireNonNull(() -> schema.getJsonObject("node").getLong("id"));
+        final String firstName  = requireNonNull(() -> schema.getJsonObject("node").getString("first_name"));
+        final String lastName   = requireNonNull(() -> schema.getJsonObject("node").getString("last_name"));
+        final String role       = requireNonNull(() -> schema.getString("role"));
 
-            private final Long id           = requireNonNull(() -> schema.getJsonObject("node").getLong("id"));
-            private final String firstName  = requireNonNull(() -> schema.getJsonObject("node").getString("first_name"));
-            private final String lastName   = requireNonNull(() -> schema.getJsonObject("node").getString("last_name"));
-            private final String role       = requireNonNull(() -> schema.getString("role"));
+        return flyweight(mal, m -> m.authors, () -> new Author() {
 
             // API methods
 
@@ -71,15 +71,15 @@ abstract class MyAnimeListSchema_Manga extends MyAnimeListSchema {
                        '}';
             }
 
-        };
+        }, id, firstName, lastName, role);
     }
 
     static Publisher asPublisher(final MyAnimeList mal, final JsonObject schema){
-        return new Publisher() {
+        final Long id       = requireNonNull(() -> schema.getJsonObject("node").getLong("id"));
+        final String name   = requireNonNull(() -> schema.getJsonObject("node").getString("name"));
+        final String role   = requireNonNull(() -> schema.getString("role"));
 
-            private final Long id       = requireNonNull(() -> schema.getJsonObject("node").getLong("id"));
-            private final String name   = requireNonNull(() -> schema.getJsonObject("node").getString("name"));
-            private final String role   = requireNonNull(() -> schema.getString("role"));
+        return flyweight(mal, m -> m.publishers, () -> new Publisher() {
 
             // API methods
 
@@ -109,7 +109,7 @@ abstract class MyAnimeListSchema_Manga extends MyAnimeListSchema {
                        '}';
             }
 
-        };
+        }, id, name, role);
     }
 
     static Manga asManga(final MyAnimeList mal, final JsonObject schema){
@@ -483,7 +483,8 @@ abstract class MyAnimeListSchema_Manga extends MyAnimeListSchema {
         };
     }
 
-    static MangaPreview asMangaPreview(final MyAnimeList mal, final JsonObject schema){
+    static MangaPreview asMangaPreview(final MyAnimeList mal, final JsonObject json){
+        final JsonObject schema = merge(mal, FieldSet.MANGA, json);
         return new MangaPreview() {
 
             private final Long id               = requireNonNull(() -> schema.getLong("id"));
@@ -0,0 +1,774 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.anime.*;
+import com.kttdevelopment.mal4j.anime.property.*;
+import com.kttdevelopment.mal4j.manga.*;
+import com.kttdevelopment.mal4j.manga.property.*;
+import com.kttdevelopment.mal4j.property.*;
+import com.kttdevelopment.mal4j.query.UserAnimeListQuery;
+import com.kttdevelopment.mal4j.query.UserMangaListQuery;
+import com.kttdevelopment.mal4j.user.User;
+import com.kttdevelopment.mal4j.user.UserAnimeStatistics;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Wraps objects retrieved with profiled fields. Each getter records its field on the call site profile and refetches the object if the field was not retrieved.
+ * <br>
+ * The returned types are abstract classes, so the wrappers are subclasses and can not be generated with {@link java.lang.reflect.Proxy}.
+ *
+ * @see FieldProfiler
+ */
+@SuppressWarnings("unused")
+abstract class MyAnimeListSchema_Profiled extends MyAnimeListSchema {
+
+    static AnimePreview asProfiledAnimePreview(final AnimePreview anime, final FieldSet fetched, final FieldProfiler.Profile profile, final Supplier<? extends AnimePreview> refetch){
+        return new AnimePreview() {
+
+            private final FieldProfiler.Profiled<AnimePreview> profiled = new FieldProfiler.Profiled<>(anime, fetched, profile, refetch);
+
+            @Override
+            public final Long getID(){
+                return profiled.get().getID();
+            }
+
+            @Override
+            public final String getTitle(){
+                return profiled.get(Fields.Anime.title).getTitle();
+            }
+
+            @Override
+            public final Picture getMainPicture(){
+                return profiled.get(Fields.Anime.main_picture).getMainPicture();
+            }
+
+            @Override
+            public final AlternativeTitles getAlternativeTitles(){
+                return profiled.get(Fields.Anime.alternative_titles).getAlternativeTitles();
+            }
+
+            @Override
+            public final Date getStartDate(){
+                return profiled.get(Fields.Anime.start_date).getStartDate();
+            }
+
+            @Override
+            public final Date getEndDate(){
+                return profiled.get(Fields.Anime.end_date).getEndDate();
+            }
+
+            @Override
+            public final String getSynopsis(){
+                return profiled.get(Fields.Anime.synopsis).getSynopsis();
+            }
+
+            @Override
+            public final Float getMeanRating(){
+                return profiled.get(Fields.Anime.mean).getMeanRating();
+            }
+
+            @Override
+            public final Integer getRank(){
+                return profiled.get(Fields.Anime.rank).getRank();
+            }
+
+            @Override
+            public final Integer getPopularity(){
+                return profiled.get(Fields.Anime.popularity).getPopularity();
+            }
+
+            @Override
+            public final Integer getUserListingCount(){
+                return profiled.get(Fields.Anime.list_users).getUserListingCount();
+            }
+
+            @Override
+            public final Integer getUserScoringCount(){
+                return profiled.get(Fields.Anime.scoring_users).getUserScoringCount();
+            }
+
+            @Override
+            public final NSFW getNSFW(){
+                return profiled.get(Fields.Anime.nsfw).getNSFW();
+            }
+
+            @Override
+            public final Genre[] getGenres(){
+                return profiled.get(Fields.Anime.genres).getGenres();
+            }
+
+            @Override
+            public final Date getCreatedAt(){
+                return profiled.get(Fields.Anime.created_at).getCreatedAt();
+            }
+
+            @Override
+            public final Long getCreatedAtEpochMillis(){
+                return profiled.get(Fields.Anime.created_at).getCreatedAtEpochMillis();
+            }
+
+            @Override
+            public final Date getUpdatedAt(){
+                return profiled.get(Fields.Anime.updated_at).getUpdatedAt();
+            }
+
+            @Override
+            public final Long getUpdatedAtEpochMillis(){
+                return profiled.get(Fields.Anime.updated_at).getUpdatedAtEpochMillis();
+            }
+
+            @Override
+            public final AnimeType getType(){
+                return profiled.get(Fields.Anime.media_type).getType();
+            }
+
+            @Override
+            public final AnimeAirStatus getStatus(){
+                return profiled.get(Fields.Anime.status).getStatus();
+            }
+
+            @Override
+            public final AnimeListStatus getListStatus(){
+                return profiled.get(Fields.Anime.my_list_status).getListStatus();
+            }
+
+            @Override
+            public final Integer getEpisodes(){
+                return profiled.get(Fields.Anime.episodes).getEpisodes();
+            }
+
+            @Override
+            public final StartSeason getStartSeason(){
+                return profiled.get(Fields.Anime.start_season).getStartSeason();
+            }
+
+            @Override
+            public final Broadcast getBroadcast(){
+                return profiled.get(Fields.Anime.broadcast).getBroadcast();
+            }
+
+            @Override
+            public final AnimeSource getSource(){
+                return profiled.get(Fields.Anime.source).getSource();
+            }
+
+            @Override
+            public final Integer getAverageEpisodeLength(){
+                return profiled.get(Fields.Anime.average_episode_duration).getAverageEpisodeLength();
+            }
+
+            @Override
+            public final AnimeRating getRating(){
+                return profiled.get(Fields.Anime.rating).getRating();
+            }
+
+            @Override
+            public final Studio[] getStudios(){
+                return profiled.get(Fields.Anime.studios).getStudios();
+            }
+
+            @Override
+            public final Anime getAnime(){
+                return profiled.get().getAnime();
+            }
+
+            @Override
+            public final String toString(){
+                return profiled.get().toString();
+            }
+
+        };
+    }
+
+    static Anime asProfiledAnime(final Anime anime, final FieldSet fetched, final FieldProfiler.Profile profile, final Supplier<? extends Anime> refetch){
+        return new Anime() {
+
+            private final FieldProfiler.Profiled<Anime> profiled = new FieldProfiler.Profiled<>(anime, fetched, profile, refetch);
+
+            @Override
+            public final Long getID(){
+                return profiled.get().getID();
+            }
+
+            @Override
+            public final String getTitle(){
+                return profiled.get(Fields.Anime.title).getTitle();
+            }
+
+            @Override
+            public final Picture getMainPicture(){
+                return profiled.get(Fields.Anime.main_picture).getMainPicture();
+            }
+
+            @Override
+            public final AlternativeTitles getAlternativeTitles(){
+                return profiled.get(Fields.Anime.alternative_titles).getAlternativeTitles();
+            }
+
+            @Override
+            public final Date getStartDate(){
+                return profiled.get(Fields.Anime.start_date).getStartDate();
+            }
+
+            @Override
+            public final Date getEndDate(){
+                return profiled.get(Fields.Anime.end_date).getEndDate();
+            }
+
+            @Override
+            public final String getSynopsis(){
+                return profiled.get(Fields.Anime.synopsis).getSynopsis();
+            }
+
+            @Override
+            public final Float getMeanRating(){
+                return profiled.get(Fields.Anime.mean).getMeanRating();
+            }
+
+            @Override
+            public final Integer getRank(){
+                return profiled.get(Fields.Anime.rank).getRank();
+            }
+
+            @Override
+            public final Integer getPopularity(){
+                return profiled.get(Fields.Anime.popularity).getPopularity();
+            }
+
+            @Override
+            public final Integer getUserListingCount(){
+                return profiled.get(Fields.Anime.list_users).getUserListingCount();
+            }
+
+            @Override
+            public final Integer getUserScoringCount(){
+                return profiled.get(Fields.Anime.scoring_users).getUserScoringCount();
+            }
+
+            @Override
+            public final NSFW getNSFW(){
+                return profiled.get(Fields.Anime.nsfw).getNSFW();
+            }
+
+            @Override
+            public final Genre[] getGenres(){
+                return profiled.get(Fields.Anime.genres).getGenres();
+            }
+
+            @Override
+            public final Date getCreatedAt(){
+                return profiled.get(Fields.Anime.created_at).getCreatedAt();
+            }
+
+            @Override
+            public final Long getCreatedAtEpochMillis(){
+                return profiled.get(Fields.Anime.created_at).getCreatedAtEpochMillis();
+            }
+
+            @Override
+            public final Date getUpdatedAt(){
+                return profiled.get(Fields.Anime.updated_at).getUpdatedAt();
+            }
+
+            @Override
+            public final Long getUpdatedAtEpochMillis(){
+                return profiled.get(Fields.Anime.updated_at).getUpdatedAtEpochMillis();
+            }
+
+            @Override
+            public final AnimeType getType(){
+                return profiled.get(Fields.Anime.media_type).getType();
+            }
+
+            @Override
+            public final AnimeAirStatus getStatus(){
+                return profiled.get(Fields.Anime.status).getStatus();
+            }
+
+            @Override
+            public final AnimeListStatus getListStatus(){
+                return profiled.get(Fields.Anime.my_list_status).getListStatus();
+            }
+
+            @Override
+            public final Integer getEpisodes(){
+                return profiled.get(Fields.Anime.episodes).getEpisodes();
+            }
+
+            @Override
+            public final StartSeason getStartSeason(){
+                return profiled.get(Fields.Anime.start_season).getStartSeason();
+            }
+
+            @Override
+            public final Broadcast getBroadcast(){
+                return profiled.get(Fields.Anime.broadcast).getBroadcast();
+            }
+
+            @Override
+            public final AnimeSource getSource(){
+                return profiled.get(Fields.Anime.source).getSource();
+            }
+
+            @Override
+            public final Integer getAverageEpisodeLength(){
+                return profiled.get(Fields.Anime.average_episode_duration).getAverageEpisodeLength();
+            }
+
+            @Override
+            public final AnimeRating getRating(){
+                return profiled.get(Fields.Anime.rating).getRating();
+            }
+
+            @Override
+            public final Studio[] getStudios(){
+                return profiled.get(Fields.Anime.studios).getStudios();
+            }
+
+            @Override
+            public final Picture[] getPictures(){
+                return profiled.get(Fields.Anime.pictures).getPictures();
+            }
+
+            @Override
+            public final String getBackground(){
+                return profiled.get(Fields.Anime.background).getBackground();
+            }
+
+            @Override
+            public final RelatedAnime[] getRelatedAnime(){
+                return profiled.get(Fields.Anime.related_anime).getRelatedAnime();
+            }
+
+            @Override
+            public final RelatedManga[] getRelatedManga(){
+                return profiled.get(Fields.Anime.related_manga).getRelatedManga();
+            }
+
+            @Override
+            public final AnimeRecommendation[] getRecommendations(){
+                return profiled.get(Fields.Anime.recommendations).getRecommendations();
+            }
+
+            @Override
+            public final AnimeStatistics getStatistics(){
+                return profiled.get(Fields.Anime.statistics).getStatistics();
+            }
+
+            @Override
+            public final OpeningTheme[] getOpeningThemes(){
+                return profiled.get(Fields.Anime.opening_themes).getOpeningThemes();
+            }
+
+            @Override
+            public final EndingTheme[] getEndingThemes(){
+                return profiled.get(Fields.Anime.ending_themes).getEndingThemes();
+            }
+
+            @Override
+            public final String toString(){
+                return profiled.get().toString();
+            }
+
+        };
+    }
+
+    static MangaPreview asProfiledMangaPreview(final MangaPreview manga, final FieldSet fetched, final FieldProfiler.Profile profile, final Supplier<? extends MangaPreview> refetch){
+        return new MangaPreview() {
+
+            private final FieldProfiler.Profiled<MangaPreview> profiled = new FieldProfiler.Profiled<>(manga, fetched, profile, refetch);
+
+            @Override
+            public final Long getID(){
+                return profiled.get().getID();
+            }
+
+            @Override
+            public final String getTitle(){
+                return profiled.get(Fields.Manga.title).getTitle();
+            }
+
+            @Override
+            public final Picture getMainPicture(){
+                return profiled.get(Fields.Manga.main_picture).getMainPicture();
+            }
+
+            @Override
+            public final AlternativeTitles getAlternativeTitles(){
+                return profiled.get(Fields.Manga.alternative_titles).getAlternativeTitles();
+            }
+
+            @Override
+            public final Date getStartDate(){
+                return profiled.get(Fields.Manga.start_date).getStartDate();
+            }
+
+            @Override
+            public final Date getEndDate(){
+                return profiled.get(Fields.Manga.end_date).getEndDate();
+            }
+
+            @Override
+            public final String getSynopsis(){
+                return profiled.get(Fields.Manga.synopsis).getSynopsis();
+            }
+
+            @Override
+            public final Float getMeanRating(){
+                return profiled.get(Fields.Manga.mean).getMeanRating();
+            }
+
+            @Override
+            public final Integer getRank(){
+                return profiled.get(Fields.Manga.rank).getRank();
+            }
+
+            @Override
+            public final Integer getPopularity(){
+                return profiled.get(Fields.Manga.popularity).getPopularity();
+            }
+
+            @Override
+            public final Integer getUserListingCount(){
+                return profiled.get(Fields.Manga.list_users).getUserListingCount();
+            }
+
+            @Override
+            public final Integer getUserScoringCount(){
+                return profiled.get(Fields.Manga.scoring_users).getUserScoringCount();
+            }
+
+            @Override
+            public final NSFW getNSFW(){
+                return profiled.get(Fields.Manga.nsfw).getNSFW();
+            }
+
+            @Override
+            public final Genre[] getGenres(){
+                return profiled.get(Fields.Manga.genres).getGenres();
+            }
+
+            @Override
+            public final Date getCreatedAt(){
+                return profiled.get(Fields.Manga.created_at).getCreatedAt();
+            }
+
+            @Override
+            public final Long getCreatedAtEpochMillis(){
+                return profiled.get(Fields.Manga.created_at).getCreatedAtEpochMillis();
+            }
+
+            @Override
+            public final Date getUpdatedAt(){
+                return profiled.get(Fields.Manga.updated_at).getUpdatedAt();
+            }
+
+            @Override
+            public final Long getUpdatedAtEpochMillis(){
+                return profiled.get(Fields.Manga.updated_at).getUpdatedAtEpochMillis();
+            }
+
+            @Override
+            public final MangaType getType(){
+                return profiled.get(Fields.Manga.media_type).getType();
+            }
+
+            @Override
+            public final MangaPublishStatus getStatus(){
+                return profiled.get(Fields.Manga.status).getStatus();
+            }
+
+            @Override
+            public final MangaListStatus getListStatus(){
+                return profiled.get(Fields.Manga.my_list_status).getListStatus();
+            }
+
+            @Override
+            public final Integer getVolumes(){
+                return profiled.get(Fields.Manga.volumes).getVolumes();
+            }
+
+            @Override
+            public final Integer getChapters(){
+                return profiled.get(Fields.Manga.chapters).getChapters();
+            }
+
+            @Override
+            public final Author[] getAuthors(){
+                return profiled.get(Fields.Manga.authors).getAuthors();
+            }
+
+            @Override
+            public final Manga getManga(){
+                return profiled.get().getManga();
+            }
+
+            @Override
+            public final String toString(){
+                return profiled.get().toString();
+            }
+
+        };
+    }
+
+    static Manga asProfiledManga(final Manga manga, final FieldSet fetched, final FieldProfiler.Profile profile, final Supplier<? extends Manga> refetch){
+        return new Manga() {
+
+            private final FieldProfiler.Profiled<Manga> profiled = new FieldProfiler.Profiled<>(manga, fetched, profile, refetch);
+
+            @Override
+            public final Long getID(){
+                return profiled.get().getID();
+            }
+
+            @Override
+            public final String getTitle(){
+                return profiled.get(Fields.Manga.title).getTitle();
+            }
+
+            @Override
+            public final Picture getMainPicture(){
+                return profiled.get(Fields.Manga.main_picture).getMainPicture();
+            }
+
+            @Override
+            public final AlternativeTitles getAlternativeTitles(){
+                return profiled.get(Fields.Manga.alternative_titles).getAlternativeTitles();
+            }
+
+            @Override
+            public final Date getStartDate(){
+                return profiled.get(Fields.Manga.start_date).getStartDate();
+            }
+
+            @Override
+            public final Date getEndDate(){
+                return profiled.get(Fields.Manga.end_date).getEndDate();
+            }
+
+            @Override
+            public final String getSynopsis(){
+                return profiled.get(Fields.Manga.synopsis).getSynopsis();
+            }
+
+            @Override
+            public final Float getMeanRating(){
+                return profiled.get(Fields.Manga.mean).getMeanRating();
+            }
+
+            @Override
+            public final Integer getRank(){
+                return profiled.get(Fields.Manga.rank).getRank();
+            }
+
+            @Override
+            public final Integer getPopularity(){
+                return profiled.get(Fields.Manga.popularity).getPopularity();
+            }
+
+            @Override
+            public final Integer getUserListingCount(){
+                return profiled.get(Fields.Manga.list_users).getUserListingCount();
+            }
+
+            @Override
+            public final Integer getUserScoringCount(){
+                return profiled.get(Fields.Manga.scoring_users).getUserScoringCount();
+            }
+
+            @Override
+            public final NSFW getNSFW(){
+                return profiled.get(Fields.Manga.nsfw).getNSFW();
+            }
+
+            @Override
+            public final Genre[] getGenres(){
+                return profiled.get(Fields.Manga.genres).getGenres();
+            }
+
+            @Override
+            public final Date getCreatedAt(){
+                return profiled.get(Fields.Manga.created_at).getCreatedAt();
+            }
+
+            @Override
+            public final Long getCreatedAtEpochMillis(){
+                return profiled.get(Fields.Manga.created_at).getCreatedAtEpochMillis();
+            }
+
+            @Override
+            public final Date getUpdatedAt(){
+                return profiled.get(Fields.Manga.updated_at).getUpdatedAt();
+            }
+
+            @Override
+            public final Long getUpdatedAtEpochMillis(){
+                return profiled.get(Fields.Manga.updated_at).getUpdatedAtEpochMillis();
+            }
+
+            @Override
+            public final MangaType getType(){
+                return profiled.get(Fields.Manga.media_type).getType();
+            }
+
+            @Override
+            public final MangaPublishStatus getStatus(){
+                return profiled.get(Fields.Manga.status).getStatus();
+            }
+
+            @Override
+            public final MangaListStatus getListStatus(){
+                return profiled.get(Fields.Manga.my_list_status).getListStatus();
+            }
+
+            @Override
+            public final Integer getVolumes(){
+                return profiled.get(Fields.Manga.volumes).getVolumes();
+            }
+
+            @Override
+            public final Integer getChapters(){
+                return profiled.get(Fields.Manga.chapters).getChapters();
+            }
+
+            @Override
+            public final Author[] getAuthors(){
+                return profiled.get(Fields.Manga.authors).getAuthors();
+            }
+
+            @Override
+            public final Picture[] getPictures(){
+                return profiled.get(Fields.Manga.pictures).getPictures();
+            }
+
+            @Override
+            public final String getBackground(){
+                return profiled.get(Fields.Manga.background).getBackground();
+            }
+
+            @Override
+            public final RelatedAnime[] getRelatedAnime(){
+                return profiled.get(Fields.Manga.related_anime).getRelatedAnime();
+            }
+
+            @Override
+            public final RelatedManga[] getRelatedManga(){
+                return profiled.get(Fields.Manga.related_manga).getRelatedManga();
+            }
+
+            @Override
+            public final MangaRecommendation[] getRecommendations(){
+                return profiled.get(Fields.Manga.recommendations).getRecommendations();
+            }
+
+            @Override
+            public final Publisher[] getSerialization(){
+                return profiled.get(Fields.Manga.serialization).getSerialization();
+            }
+
+            @Override
+            public final String toString(){
+                return profiled.get().toString();
+            }
+
+        };
+    }
+
+    static User asProfiledUser(final User user, final FieldSet fetched, final FieldProfiler.Profile profile, final Supplier<? extends User> refetch){
+        return new User() {
+
+            private final FieldProfiler.Profiled<User> profiled = new FieldProfiler.Profiled<>(user, fetched, profile, refetch);
+
+            @Override
+            public final Long getID(){
+                return profiled.get().getID();
+            }
+
+            @Override
+            public final String getName(){
+                return profiled.get().getName();
+            }
+
+            @Override
+            public final String getPictureURL(){
+                return profiled.get().getPictureURL();
+            }
+
+            @Override
+            public final String getGender(){
+                return profiled.get().getGender();
+            }
+
+            @Override
+            public final Date getBirthday(){
+                return profiled.get(Fields.User.birthday).getBirthday();
+            }
+
+            @Override
+            public final String getLocation(){
+                return profiled.get().getLocation();
+            }
+
+            @Override
+            public final Date getJoinedAt(){
+                return profiled.get().getJoinedAt();
+            }
+
+            @Override
+            public final Long getJoinedAtEpochMillis(){
+                return profiled.get().getJoinedAtEpochMillis();
+            }
+
+            @Override
+            public final UserAnimeStatistics getAnimeStatistics(){
+                return profiled.get(Fields.User.anime_statistics).getAnimeStatistics();
+            }
+
+            @Override
+            public final String getTimeZone(){
+                return profiled.get(Fields.User.timezone).getTimeZone();
+            }
+
+            @Override
+            public final Boolean isSupporter(){
+                return profiled.get(Fields.User.supporter).isSupporter();
+            }
+
+            @Override
+            public final UserAnimeListQuery getUserAnimeListing(){
+                return profiled.get().getUserAnimeListing();
+            }
+
+            @Override
+            public final UserMangaListQuery getUserMangaListing(){
+                return profiled.get().getUserMangaListing();
+            }
+
+            @Override
+            public final String toString(){
+                return profiled.get().toString();
+            }
+
+        };
+    }
+
+}
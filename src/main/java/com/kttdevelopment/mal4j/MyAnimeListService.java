@@ -32,7 +32,19 @@ interface MyAnimeListService {
     String baseURL = "https://api.myanimelist.net/v2/";
 
     static MyAnimeListService create(){
-        return APICall.create(baseURL, MyAnimeListService.class);
+        return create(null);
+    }
+
+    static MyAnimeListService create(final RateLimiter limiter){
+        return APICall.create(baseURL, MyAnimeListService.class, limiter);
+    }
+
+    static MyAnimeListService create(final RateLimiter limiter, final ResponseCache cache){
+        return APICall.create(baseURL, MyAnimeListService.class, limiter, cache);
+    }
+
+    static MyAnimeListService create(final RateLimiter limiter, final ResponseCache cache, final String clientID){
+        return APICall.create(baseURL, MyAnimeListService.class, limiter, cache, clientID);
     }
 
     // anime
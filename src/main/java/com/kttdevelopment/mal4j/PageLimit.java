@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.net.HttpURLConnection;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the maximum page size allowed by each paginated endpoint.
+ *
+ * @see MyAnimeListService
+ * @see com.kttdevelopment.mal4j.query.LimitOffsetQuery#withMaxLimit()
+ */
+abstract class PageLimit {
+
+    // largest limit accepted by every paginated endpoint
+    private static final int safe = 100;
+
+    // message of the bad request MyAnimeList sends for an invalid limit parameter
+    private static final Pattern limitError = Pattern.compile("\\binvalid limit\\b|\\blimit\\b.*\\binvalid_parameters\\b", Pattern.CASE_INSENSITIVE);
+
+    // endpoint -> max limit
+    private static final Map<String,Integer> limits;
+
+    static {
+        final Map<String,Integer> map = new HashMap<>();
+        map.put("anime",                         100);
+        map.put("anime/ranking",                 500);
+        map.put("anime/season/{year}/{season}",  500);
+        map.put("anime/suggestions",             100);
+        map.put("users/{user_name}/animelist",   1000);
+        map.put("manga",                         100);
+        map.put("manga/ranking",                 500);
+        map.put("users/{user_name}/mangalist",   1000);
+        map.put("forum/topics",                  100);
+        map.put("forum/topic/{topic_id}",        100);
+        limits = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns the maximum page size for an endpoint.
+     *
+     * @param endpoint endpoint, as declared in {@link MyAnimeListService}
+     * @return max page size, null if the server default should be used
+     */
+    static Integer max(final String endpoint){
+        return limits.get(endpoint);
+    }
+
+    /**
+     * Returns if the server rejected a request because of its page size, and a lower page size can be tried. Only an invalid limit parameter on a request with a limit above the limit accepted by every endpoint counts; other bad requests, such as an invalid search query, are not limit errors.
+     *
+     * @param e exception
+     * @param limit limit the request was sent with
+     * @return if the page size was rejected and can be lowered
+     *
+     * @see #fallback(Integer)
+     */
+    static boolean isLimitError(final HttpException e, final Integer limit){
+        return
+            limit != null && limit > safe &&
+            e.code() == HttpURLConnection.HTTP_BAD_REQUEST &&
+            e.message() != null && limitError.matcher(e.message()).find();
+    }
+
+    /**
+     * Returns a lower page size to retry with after the server rejected a limit. Only applies to the iterator that sent it; the max page size of the endpoint is not changed.
+     *
+     * @param limit limit that was rejected
+     * @return lower page size, null if the limit can not be lowered
+     */
+    static Integer fallback(final Integer limit){
+        return limit != null && limit > safe ? Integer.valueOf(safe) : null;
+    }
+
+}
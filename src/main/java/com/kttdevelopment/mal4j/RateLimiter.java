@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many requests can be sent per second. Requests over the limit wait for the next available slot.
+ */
+final class RateLimiter {
+
+    private volatile long interval = 0; // nanoseconds between requests, 0 means unlimited
+    private long next = 0; // next available slot
+
+    RateLimiter(){ }
+
+    /**
+     * Sets the maximum requests per second.
+     *
+     * @param requestsPerSecond requests per second, 0 for no limit
+     * @throws IllegalArgumentException if requests per second is negative
+     */
+    final void setRate(final int requestsPerSecond){
+        if(requestsPerSecond < 0)
+            throw new IllegalArgumentException("Requests per second must not be negative");
+        interval = requestsPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+    }
+
+    /**
+     * Waits until a request is allowed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    final void acquire() throws InterruptedException{
+        final long interval = this.interval;
+        if(interval == 0) return;
+
+        final long wait;
+        synchronized(this){
+            final long now  = System.nanoTime();
+            final long slot = next - now > 0 ? next : now;
+            next = slot + interval;
+            wait = slot - now;
+        }
+        if(wait > 0)
+            TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    @Override
+    public String toString(){
+        return "RateLimiter{" +
+               "interval=" + interval +
+               '}';
+    }
+
+}
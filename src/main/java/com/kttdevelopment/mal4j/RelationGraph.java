@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.anime.RelatedAnime;
+import com.kttdevelopment.mal4j.manga.RelatedManga;
+import com.kttdevelopment.mal4j.property.*;
+
+import java.util.*;
+
+/**
+ * Represents a graph of related Anime and Manga, found by following relations breadth first from a set of seed IDs.
+ *
+ * @see MyAnimeList#getRelationGraph(Collection, Collection, int, int)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class RelationGraph {
+
+    private static final String fields = Fields.Anime.related_anime + ',' + Fields.Anime.related_manga;
+
+    private final List<Node> nodes;
+    private final List<Edge> edges;
+    private final Map<Node,List<Edge>> adjacency;
+
+    private RelationGraph(final List<Node> nodes, final List<Edge> edges){
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.edges = Collections.unmodifiableList(edges);
+
+        final Map<Node,List<Edge>> adjacency = new LinkedHashMap<>();
+        for(final Node node : nodes)
+            adjacency.put(node, new ArrayList<>());
+        for(final Edge edge : edges)
+            adjacency.get(edge.source).add(edge);
+        for(final Map.Entry<Node,List<Edge>> entry : adjacency.entrySet())
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        this.adjacency = Collections.unmodifiableMap(adjacency);
+    }
+
+    /**
+     * Returns every node in the graph, in the order it was found.
+     *
+     * @return nodes
+     *
+     * @see Node
+     * @since 2.3.0
+     */
+    public final List<Node> getNodes(){
+        return nodes;
+    }
+
+    /**
+     * Returns every relation between nodes in the graph.
+     *
+     * @return edges
+     *
+     * @see Edge
+     * @since 2.3.0
+     */
+    public final List<Edge> getEdges(){
+        return edges;
+    }
+
+    /**
+     * Returns the relations from a node.
+     *
+     * @param node node
+     * @return edges from the node, empty if the node is not in the graph or was not expanded
+     *
+     * @see #getAdjacencyList()
+     * @since 2.3.0
+     */
+    public final List<Edge> getEdges(final Node node){
+        return adjacency.getOrDefault(node, Collections.emptyList());
+    }
+
+    /**
+     * Returns the relations from each node, in the order the nodes were found.
+     *
+     * @return adjacency list
+     *
+     * @see #getEdges(Node)
+     * @since 2.3.0
+     */
+    public final Map<Node,List<Edge>> getAdjacencyList(){
+        return adjacency;
+    }
+
+    @Override
+    public String toString(){
+        return "RelationGraph{" +
+               "nodes=" + nodes.size() +
+               ", edges=" + edges.size() +
+               '}';
+    }
+
+    // crawler
+
+    /**
+     * Follows relations breadth first from seed IDs. Each level is retrieved concurrently using the batch methods, requesting only the relation fields.
+     *
+     * @param mal MyAnimeList
+     * @param anime Anime seed IDs
+     * @param manga Manga seed IDs
+     * @param maxDepth max relations to follow from a seed
+     * @param maxNodes max nodes in the graph
+     * @return relation graph
+     */
+    static RelationGraph crawl(final MyAnimeList mal, final Collection<Long> anime, final Collection<Long> manga, final int maxDepth, final int maxNodes){
+        final List<Node> nodes = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>();
+
+        final LongIndex animeIndex = new LongIndex(Math.min(maxNodes, 1024));
+        final LongIndex mangaIndex = new LongIndex(Math.min(maxNodes, 1024));
+
+        List<Long> animeFrontier = new ArrayList<>();
+        List<Long> mangaFrontier = new ArrayList<>();
+        for(final Long id : anime)
+            if(id != null && nodes.size() < maxNodes && animeIndex.add(id, nodes.size())){
+                nodes.add(new Node(true, id, null, 0));
+                animeFrontier.add(id);
+            }
+        for(final Long id : manga)
+            if(id != null && nodes.size() < maxNodes && mangaIndex.add(id, nodes.size())){
+                nodes.add(new Node(false, id, null, 0));
+                mangaFrontier.add(id);
+            }
+
+        for(int depth = 0; depth < maxDepth && (!animeFrontier.isEmpty() || !mangaFrontier.isEmpty()); depth++){
+            final Map<Long,? extends FullMediaItem<?,?,?,?,?>> animeLevel = animeFrontier.isEmpty() ? Collections.emptyMap() : mal.getAnime(animeFrontier, fields);
+            final Map<Long,? extends FullMediaItem<?,?,?,?,?>> mangaLevel = mangaFrontier.isEmpty() ? Collections.emptyMap() : mal.getManga(mangaFrontier, fields);
+
+            final List<Long> nextAnime = new ArrayList<>();
+            final List<Long> nextManga = new ArrayList<>();
+            final Expansion expansion = new Expansion(nodes, edges, animeIndex, mangaIndex, nextAnime, nextManga, depth + 1, maxNodes);
+
+            for(final Long id : animeFrontier)
+                expansion.expand(nodes.get(animeIndex.get(id)), animeLevel.get(id));
+            for(final Long id : mangaFrontier)
+                expansion.expand(nodes.get(mangaIndex.get(id)), mangaLevel.get(id));
+
+            animeFrontier = nextAnime;
+            mangaFrontier = nextManga;
+        }
+
+        return new RelationGraph(nodes, edges);
+    }
+
+    private static final class Expansion {
+
+        private final List<Node> nodes;
+        private final List<Edge> edges;
+        private final LongIndex animeIndex, mangaIndex;
+        private final List<Long> nextAnime, nextManga;
+        private final int depth, maxNodes;
+
+        Expansion(final List<Node> nodes, final List<Edge> edges, final LongIndex animeIndex, final LongIndex mangaIndex, final List<Long> nextAnime, final List<Long> nextManga, final int depth, final int maxNodes){
+            this.nodes      = nodes;
+            this.edges      = edges;
+            this.animeIndex = animeIndex;
+            this.mangaIndex = mangaIndex;
+            this.nextAnime  = nextAnime;
+            this.nextManga  = nextManga;
+            this.depth      = depth;
+            this.maxNodes   = maxNodes;
+        }
+
+        private void expand(final Node node, final FullMediaItem<?,?,?,?,?> item){
+            if(item == null) return;
+
+            if(node.title == null) // seeds are found without a title, fill it in place so earlier edges see it
+                node.title = item.getTitle();
+
+            final RelatedAnime[] relatedAnime = item.getRelatedAnime();
+            if(relatedAnime != null)
+                for(final RelatedAnime related : relatedAnime)
+                    if(related != null && related.getAnimePreview() != null)
+                        link(node, true, related.getAnimePreview().getID(), related.getAnimePreview().getTitle(), related);
+
+            final RelatedManga[] relatedManga = item.getRelatedManga();
+            if(relatedManga != null)
+                for(final RelatedManga related : relatedManga)
+                    if(related != null && related.getMangaPreview() != null)
+                        link(node, false, related.getMangaPreview().getID(), related.getMangaPreview().getTitle(), related);
+        }
+
+        private void link(final Node source, final boolean anime, final Long id, final String title, final RelatedMedia relation){
+            if(id == null) return;
+            final LongIndex index = anime ? animeIndex : mangaIndex;
+            if(nodes.size() < maxNodes && index.add(id, nodes.size())){
+                nodes.add(new Node(anime, id, title, depth));
+                (anime ? nextAnime : nextManga).add(id);
+            }
+            final int target = index.get(id);
+            if(target != -1)
+                edges.add(new Edge(source, nodes.get(target), relation.getRelationType(), relation.getRelationTypeFormat()));
+        }
+
+    }
+
+    /**
+     * Represents an Anime or Manga in a relation graph.
+     *
+     * @see RelationGraph
+     * @since 2.3.0
+     * @version 2.3.0
+     * @author Ktt Development
+     */
+    public static final class Node {
+
+        private final boolean anime;
+        private final long id;
+        private String title; // set once while crawling, before the graph is published
+        private final int depth;
+
+        Node(final boolean anime, final long id, final String title, final int depth){
+            this.anime = anime;
+            this.id    = id;
+            this.title = title;
+            this.depth = depth;
+        }
+
+        /**
+         * Returns if the node is an Anime.
+         *
+         * @return if Anime, false if Manga
+         *
+         * @since 2.3.0
+         */
+        public final boolean isAnime(){
+            return anime;
+        }
+
+        /**
+         * Returns the Anime or Manga ID.
+         *
+         * @return ID
+         *
+         * @since 2.3.0
+         */
+        public final long getID(){
+            return id;
+        }
+
+        /**
+         * Returns the title.
+         *
+         * @return title, null if it was not retrieved
+         *
+         * @since 2.3.0
+         */
+        public final String getTitle(){
+            return title;
+        }
+
+        /**
+         * Returns how many relations the node is from a seed.
+         *
+         * @return depth, 0 for seeds
+         *
+         * @since 2.3.0
+         */
+        public final int getDepth(){
+            return depth;
+        }
+
+        @Override
+        public String toString(){
+            return "Node{" +
+                   "anime=" + anime +
+                   ", id=" + id +
+                   ", title='" + title + '\'' +
+                   ", depth=" + depth +
+                   '}';
+        }
+
+    }
+
+    /**
+     * Represents a relation between two nodes in a relation graph.
+     *
+     * @see RelationGraph
+     * @since 2.3.0
+     * @version 2.3.0
+     * @author Ktt Development
+     */
+    public static final class Edge {
+
+        private final Node source, target;
+        private final RelationType relationType;
+        private final String relationTypeFormat;
+
+        Edge(final Node source, final Node target, final RelationType relationType, final String relationTypeFormat){
+            this.source             = source;
+            this.target             = target;
+            this.relationType       = relationType;
+            this.relationTypeFormat = relationTypeFormat;
+        }
+
+        /**
+         * Returns the node the relation is from.
+         *
+         * @return source node
+         *
+         * @since 2.3.0
+         */
+        public final Node getSource(){
+            return source;
+        }
+
+        /**
+         * Returns the node the relation is to.
+         *
+         * @return target node
+         *
+         * @since 2.3.0
+         */
+        public final Node getTarget(){
+            return target;
+        }
+
+        /**
+         * Returns how the target is related to the source.
+         *
+         * @return relation type
+         *
+         * @see RelationType
+         * @since 2.3.0
+         */
+        public final RelationType getRelationType(){
+            return relationType;
+        }
+
+        /**
+         * Returns how the target is related to the source by its display name.
+         *
+         * @return relation type
+         *
+         * @since 2.3.0
+         */
+        public final String getRelationTypeFormat(){
+            return relationTypeFormat;
+        }
+
+        @Override
+        public String toString(){
+            return "Edge{" +
+                   "source=" + source.id +
+                   ", target=" + target.id +
+                   ", relationType=" + relationType +
+                   '}';
+        }
+
+    }
+
+}
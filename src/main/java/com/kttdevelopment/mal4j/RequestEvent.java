@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+/**
+ * A timing event for a request.
+ *
+ * @see RequestListener
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class RequestEvent {
+
+    /**
+     * The stage of a request an event was reported at, in order.
+     *
+     * @see RequestEvent#getPhase()
+     * @since 2.3.0
+     * @version 2.3.0
+     * @author Ktt Development
+     */
+    public enum Phase {
+
+        /**
+         * Request is about to be sent.
+         */
+        REQUEST_START,
+        /**
+         * Connection to the server is open.
+         */
+        CONNECTION_ACQUIRED,
+        /**
+         * Response headers were received.
+         */
+        FIRST_BYTE,
+        /**
+         * Response body was read.
+         */
+        BODY_COMPLETE,
+        /**
+         * Response body was parsed as json.
+         */
+        PARSE_COMPLETE,
+        /**
+         * Json was mapped to the returned objects.
+         */
+        MAPPING_COMPLETE
+
+    }
+
+    private final Phase phase;
+    private final String method, endpoint;
+    private final int status;
+    private final long bytes, elapsed, duration;
+    private final boolean cached;
+
+    RequestEvent(final Phase phase, final String method, final String endpoint, final int status, final long bytes, final long elapsed, final long duration, final boolean cached){
+        this.phase      = phase;
+        this.method     = method;
+        this.endpoint   = endpoint;
+        this.status     = status;
+        this.bytes      = bytes;
+        this.elapsed    = elapsed;
+        this.duration   = duration;
+        this.cached     = cached;
+    }
+
+    /**
+     * Returns the stage of the request.
+     *
+     * @return phase
+     *
+     * @see Phase
+     * @since 2.3.0
+     */
+    public final Phase getPhase(){
+        return phase;
+    }
+
+    /**
+     * Returns the request method.
+     *
+     * @return request method
+     *
+     * @since 2.3.0
+     */
+    public final String getMethod(){
+        return method;
+    }
+
+    /**
+     * Returns the endpoint template, for example <code>anime/{anime_id}</code>.
+     *
+     * @return endpoint template
+     *
+     * @since 2.3.0
+     */
+    public final String getEndpoint(){
+        return endpoint;
+    }
+
+    /**
+     * Returns the response status.
+     *
+     * @return status, -1 if the response headers were not received yet
+     *
+     * @since 2.3.0
+     */
+    public final int getStatus(){
+        return status;
+    }
+
+    /**
+     * Returns the size of the response body in bytes.
+     *
+     * @return body size, -1 if the body was not read yet
+     *
+     * @since 2.3.0
+     */
+    public final long getBytes(){
+        return bytes;
+    }
+
+    /**
+     * Returns the time since the request started in nanoseconds.
+     *
+     * @return elapsed nanoseconds
+     *
+     * @since 2.3.0
+     */
+    public final long getElapsed(){
+        return elapsed;
+    }
+
+    /**
+     * Returns the time since the previous event of this request in nanoseconds.
+     *
+     * @return nanoseconds since the previous event
+     *
+     * @since 2.3.0
+     */
+    public final long getDuration(){
+        return duration;
+    }
+
+    /**
+     * Returns if the response was read from the response cache.
+     *
+     * @return if the response was cached
+     *
+     * @see MyAnimeListPool#setCacheDuration(long)
+     * @since 2.3.0
+     */
+    public final boolean isCached(){
+        return cached;
+    }
+
+    @Override
+    public String toString(){
+        return "RequestEvent{" +
+               "phase=" + phase +
+               ", method='" + method + '\'' +
+               ", endpoint='" + endpoint + '\'' +
+               ", status=" + status +
+               ", bytes=" + bytes +
+               ", elapsed=" + elapsed +
+               ", duration=" + duration +
+               ", cached=" + cached +
+               '}';
+    }
+
+}
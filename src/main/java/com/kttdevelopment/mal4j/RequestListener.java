@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+/**
+ * Receives timing events for each request. Methods are called from the thread making the request and should return quickly; exceptions thrown by a listener are ignored.
+ * <br><br>
+ * The connection acquired event is only reported by the {@link java.net.HttpURLConnection} client (Java 8 and Android).
+ *
+ * @see RequestEvent
+ * @see LatencyRecorder
+ * @see MyAnimeList#setRequestListener(RequestListener)
+ * @see MyAnimeListPool#setRequestListener(RequestListener)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public interface RequestListener {
+
+    /**
+     * Called before a request is sent or read from the response cache.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onRequestStart(final RequestEvent event){ }
+
+    /**
+     * Called once a connection to the server is open.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onConnectionAcquired(final RequestEvent event){ }
+
+    /**
+     * Called once the response headers were received.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onFirstByte(final RequestEvent event){ }
+
+    /**
+     * Called once the response body was read.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onBodyComplete(final RequestEvent event){ }
+
+    /**
+     * Called once the response body was parsed as json.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onParseComplete(final RequestEvent event){ }
+
+    /**
+     * Called once the json was mapped to the returned objects.
+     *
+     * @param event event
+     *
+     * @since 2.3.0
+     */
+    default void onMappingComplete(final RequestEvent event){ }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.RequestEvent.Phase;
+
+/**
+ * Times a single request and reports each phase to a listener. Traces are only created while a listener is set.
+ *
+ * @see RequestListener
+ */
+final class RequestTrace {
+
+    // true once any listener was set, so that mapping is free while no listener has ever been used
+    private static volatile boolean used = false;
+
+    // trace waiting for its response to be mapped on this thread
+    private static final ThreadLocal<RequestTrace> pending = new ThreadLocal<>();
+
+    private final RequestListener listener;
+    private final String method, endpoint;
+    private final long start;
+
+    private volatile long last;
+    private volatile int status = -1;
+    private volatile long bytes = -1;
+    private boolean cached = false;
+
+    RequestTrace(final RequestListener listener, final String method, final String endpoint){
+        used            = true;
+        this.listener   = listener;
+        this.method     = method;
+        this.endpoint   = endpoint;
+        this.start      = System.nanoTime();
+        this.last       = start;
+        phase(Phase.REQUEST_START);
+    }
+
+    final RequestTrace status(final int status){
+        this.status = status;
+        return this;
+    }
+
+    final RequestTrace bytes(final long bytes){
+        this.bytes = bytes;
+        return this;
+    }
+
+    final RequestTrace cached(){
+        this.cached = true;
+        return this;
+    }
+
+    final void phase(final Phase phase){
+        final long now = System.nanoTime();
+        final RequestEvent event = new RequestEvent(phase, method, endpoint, status, bytes, now - start, now - last, cached);
+        last = now;
+        try{
+            switch(phase){
+                case REQUEST_START:
+                    listener.onRequestStart(event);
+                    break;
+                case CONNECTION_ACQUIRED:
+                    listener.onConnectionAcquired(event);
+                    break;
+                case FIRST_BYTE:
+                    listener.onFirstByte(event);
+                    break;
+                case BODY_COMPLETE:
+                    listener.onBodyComplete(event);
+                    break;
+                case PARSE_COMPLETE:
+                    listener.onParseComplete(event);
+                    break;
+                case MAPPING_COMPLETE:
+                    listener.onMappingComplete(event);
+                    break;
+            }
+        }catch(final RuntimeException ignored){ } // metrics must never fail a request
+    }
+
+    /**
+     * Marks the response as parsed. The mapping phase is reported by the next call to {@link #mapped(Object)} on this thread.
+     */
+    final void parsed(){
+        phase(Phase.PARSE_COMPLETE);
+        pending.set(this);
+    }
+
+    /**
+     * Reports the mapping phase for the last response parsed on this thread.
+     *
+     * @param value mapped value
+     * @param <T> value type
+     * @return value
+     */
+    static <T> T mapped(final T value){
+        mapped();
+        return value;
+    }
+
+    /**
+     * Reports the mapping phase for the last response parsed on this thread.
+     */
+    static void mapped(){
+        if(used){
+            final RequestTrace trace = pending.get();
+            if(trace != null){
+                pending.remove();
+                trace.phase(Phase.MAPPING_COMPLETE);
+            }
+        }
+    }
+
+    /**
+     * Discards the trace waiting to be mapped on this thread.
+     */
+    static void clear(){
+        if(used)
+            pending.remove();
+    }
+
+    /**
+     * Returns the size of a string encoded as UTF-8.
+     *
+     * @param str string
+     * @return bytes
+     */
+    static long utf8Length(final String str){
+        long bytes = 0;
+        for(int i = 0, len = str.length(); i < len; i++){
+            final char ch = str.charAt(i);
+            if(ch < 0x80)
+                bytes++;
+            else if(ch < 0x800)
+                bytes += 2;
+            else if(Character.isHighSurrogate(ch)){
+                bytes += 4;
+                i++;
+            }else
+                bytes += 3;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.APIStruct.Response;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded cache of responses from public endpoints, shared by every MyAnimeList in a pool. Responses that depend on the user, such as user lists and <code>my_list_status</code>, are never cached.
+ *
+ * @see MyAnimeListPool
+ */
+final class ResponseCache {
+
+    // /users/|/suggestions|my_list_status
+    private static final Pattern personal = Pattern.compile("/users/|/suggestions|my_list_status");
+
+    private final Map<String,Entry> cache = new ConcurrentHashMap<>();
+    private final int capacity;
+    private volatile long duration;
+
+    /**
+     * Creates a response cache.
+     *
+     * @param capacity max responses to keep
+     * @param durationMillis how long responses are kept in milliseconds, 0 to not cache
+     */
+    ResponseCache(final int capacity, final long durationMillis){
+        this.capacity = capacity;
+        this.duration = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+    }
+
+    /**
+     * Returns if the response for a URL is the same for every user.
+     *
+     * @param URL request URL
+     * @return if public
+     */
+    static boolean isPublic(final String URL){
+        return !personal.matcher(URL).find();
+    }
+
+    final void setDuration(final long durationMillis){
+        duration = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        if(durationMillis == 0)
+            cache.clear();
+    }
+
+    final Response<?> get(final String URL){
+        final Entry entry = cache.get(URL);
+        if(entry == null)
+            return null;
+        if(System.nanoTime() - entry.expires < 0)
+            return entry.response;
+        cache.remove(URL, entry);
+        return null;
+    }
+
+    final void put(final String URL, final Response<?> response){
+        final long duration = this.duration;
+        if(duration == 0) return;
+        if(cache.size() >= capacity){
+            final long now = System.nanoTime();
+            for(final Iterator<Entry> it = cache.values().iterator(); it.hasNext(); )
+                if(now - it.next().expires >= 0)
+                    it.remove();
+            if(cache.size() >= capacity)
+                return;
+        }
+        cache.put(URL, new Entry(response, System.nanoTime() + duration));
+    }
+
+    final int size(){
+        return cache.size();
+    }
+
+    @Override
+    public String toString(){
+        return "ResponseCache{" +
+               "size=" + cache.size() +
+               ", capacity=" + capacity +
+               ", duration=" + TimeUnit.NANOSECONDS.toMillis(duration) +
+               '}';
+    }
+
+    private static final class Entry {
+
+        private final Response<?> response;
+        private final long expires;
+
+        Entry(final Response<?> response, final long expires){
+            this.response = response;
+            this.expires  = expires;
+        }
+
+    }
+
+}
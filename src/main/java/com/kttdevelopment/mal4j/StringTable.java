@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded table of shared strings, used to deduplicate json keys and the values of enum-like fields such as media type, status, and rating.
+ * <br>
+ * Values of other fields, such as titles, dates, and URLs, are never shared, so they can not fill the table.
+ *
+ * @see Json
+ */
+final class StringTable {
+
+    // fields with a small, fixed set of values
+    private static final Set<String> shared = new HashSet<>(Arrays.asList(
+        "media_type",
+        "status",
+        "rating",
+        "source",
+        "nsfw",
+        "season",
+        "day_of_the_week",
+        "relation_type",
+        "relation_type_formatted",
+        "role",
+        "gender"
+    ));
+
+    private final ConcurrentHashMap<String,String> table = new ConcurrentHashMap<>();
+
+    private final int capacity;
+
+    /**
+     * Creates a string table.
+     *
+     * @param capacity max number of strings to keep
+     */
+    StringTable(final int capacity){
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the shared instance of a key.
+     *
+     * @param key key
+     * @return shared key
+     */
+    final String key(final String key){
+        return intern(key);
+    }
+
+    /**
+     * Returns the shared instance of a value if its field is enum-like.
+     *
+     * @param key field the value is for
+     * @param value value
+     * @return shared value, or the same value if it is not shared
+     */
+    final String value(final String key, final String value){
+        return shared.contains(key) ? intern(value) : value;
+    }
+
+    private String intern(final String str){
+        if(str == null)
+            return null;
+        final String existing = table.get(str);
+        if(existing != null)
+            return existing;
+        if(table.size() >= capacity)
+            return str;
+        final String previous = table.putIfAbsent(str, str);
+        return previous != null ? previous : str;
+    }
+
+    /**
+     * Returns the number of shared strings.
+     *
+     * @return size
+     */
+    final int size(){
+        return table.size();
+    }
+
+    @Override
+    public String toString(){
+        return "StringTable{" +
+               "size=" + table.size() +
+               ", capacity=" + capacity +
+               '}';
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of fair locks selected by ID. Requests for the same ID run one at a time in the order they arrived, while requests for different IDs can run at once.
+ */
+final class StripedLock {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * Creates a striped lock.
+     *
+     * @param stripes number of locks, rounded up to a power of two
+     */
+    StripedLock(final int stripes){
+        final int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for(int i = 0; i < size; i++)
+            locks[i] = new ReentrantLock(true);
+        mask = size - 1;
+    }
+
+    /**
+     * Returns the lock for an ID.
+     *
+     * @param id ID
+     * @return lock
+     */
+    final ReentrantLock get(final long id){
+        final int hash = Long.hashCode(id);
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    @Override
+    public String toString(){
+        return "StripedLock{" +
+               "stripes=" + locks.length +
+               '}';
+    }
+
+}
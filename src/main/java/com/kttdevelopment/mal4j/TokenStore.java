@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+
+package com.kttdevelopment.mal4j;
+
+import java.io.IOException;
+
+/**
+ * Stores an access token so that it can be used again after a restart, instead of authorizing again.
+ * <br>
+ * Implementations can store the values from {@link AccessToken#getTokenType()}, {@link AccessToken#getAccessToken()}, {@link AccessToken#getRefreshToken()}, and {@link AccessToken#getExpiryEpochSeconds()}, and create the token again with {@link AccessToken#of(String, String, String, long)}.
+ *
+ * @see AccessToken
+ * @see FileTokenStore
+ * @see MyAnimeListAuthenticator#MyAnimeListAuthenticator(String, String, TokenStore)
+ * @see MyAnimeListAuthenticator.LocalServerBuilder#setTokenStore(TokenStore)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public interface TokenStore {
+
+    /**
+     * Returns the stored access token.
+     *
+     * @return access token, null if none was stored
+     * @throws IOException if the token could not be read
+     *
+     * @since 2.3.0
+     */
+    AccessToken load() throws IOException;
+
+    /**
+     * Stores an access token, replacing any existing token. This is called whenever the token is retrieved or refreshed.
+     *
+     * @param token access token
+     * @throws IOException if the token could not be written
+     *
+     * @since 2.3.0
+     */
+    void save(final AccessToken token) throws IOException;
+
+}
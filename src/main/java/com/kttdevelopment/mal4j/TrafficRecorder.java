@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.zip.*;
+
+/**
+ * Records API responses to a file so that a session can be replayed later with {@link TrafficReplay}. Each response is stored with its method, path and query, form data, status code, duration, and raw body.
+ * <br>
+ * The file is append-only, so several sessions can be recorded into one file. Each response is written and flushed as its own compressed, checksummed frame; if a session is cut off, only the response being written is lost, and sessions appended after it can still be read.
+ * <br>
+ * The authorization header is not recorded. Response bodies may still contain user data.
+ *
+ * @see TrafficReplay
+ * @see MyAnimeList#setTrafficRecorder(TrafficRecorder)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class TrafficRecorder implements AutoCloseable {
+
+    // frame format: MAGIC length crc32 deflate(record)
+    // record format: SECTION version | RESPONSE method key data code nanos body
+    static final int  MAGIC    = 0x4D414C34; // MAL4
+    static final int  HEADER   = 12;
+    static final byte SECTION  = 0;
+    static final byte RESPONSE = 1;
+    static final int  VERSION  = 2;
+
+    private final File file;
+    private final DataOutputStream OUT;
+    private final Deflater deflater = new Deflater();
+    private final CRC32 crc = new CRC32();
+
+    private long recorded = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a recorder that appends to a file.
+     *
+     * @param file file to append to
+     * @throws NullPointerException if file is null
+     * @throws IOException if the file could not be opened
+     *
+     * @since 2.3.0
+     */
+    public TrafficRecorder(final File file) throws IOException{
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        OUT = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try(final DataOutputStream REC = new DataOutputStream(new DeflaterOutputStream(record, deflater))){
+            REC.writeByte(SECTION);
+            REC.writeInt(VERSION);
+        }
+        frame(record);
+    }
+
+    /**
+     * Records a response.
+     *
+     * @param method request method
+     * @param key path and query
+     * @param data form data
+     * @param code response code
+     * @param nanos time taken to receive the response
+     * @param body response body
+     */
+    final synchronized void record(final String method, final String key, final String data, final int code, final long nanos, final String body){
+        if(closed) return;
+        try{
+            final ByteArrayOutputStream record = new ByteArrayOutputStream();
+            deflater.reset();
+            try(final DataOutputStream REC = new DataOutputStream(new DeflaterOutputStream(record, deflater))){
+                REC.writeByte(RESPONSE);
+                REC.writeUTF(method);
+                write(REC, key);
+                write(REC, data);
+                REC.writeShort(code);
+                REC.writeLong(nanos);
+                write(REC, body);
+            }
+            frame(record);
+            recorded++;
+        }catch(final IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // writes a compressed record as a single frame so a reader can skip past a frame that was cut off
+    private void frame(final ByteArrayOutputStream record) throws IOException{
+        final byte[] bytes = record.toByteArray();
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        OUT.writeInt(MAGIC);
+        OUT.writeInt(bytes.length);
+        OUT.writeInt((int) crc.getValue());
+        OUT.write(bytes);
+        OUT.flush();
+    }
+
+    // strings are length prefixed since writeUTF is limited to 64KB
+    private static void write(final DataOutputStream OUT, final String str) throws IOException{
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        OUT.writeInt(bytes.length);
+        OUT.write(bytes);
+    }
+
+    static String read(final DataInputStream IN) throws IOException{
+        final byte[] bytes = new byte[IN.readInt()];
+        IN.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the file being recorded to.
+     *
+     * @return file
+     *
+     * @since 2.3.0
+     */
+    public final File getFile(){
+        return file;
+    }
+
+    /**
+     * Returns how many responses were recorded.
+     *
+     * @return responses recorded
+     *
+     * @since 2.3.0
+     */
+    public final synchronized long getRecorded(){
+        return recorded;
+    }
+
+    /**
+     * Closes the file. Responses received after closing are not recorded.
+     *
+     * @throws IOException if the file could not be closed
+     *
+     * @since 2.3.0
+     */
+    @Override
+    public final synchronized void close() throws IOException{
+        if(closed) return;
+        closed = true;
+        deflater.end();
+        OUT.close();
+    }
+
+    @Override
+    public String toString(){
+        return "TrafficRecorder{" +
+               "file=" + file +
+               ", recorded=" + recorded +
+               ", closed=" + closed +
+               '}';
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.*;
+
+/**
+ * Serves responses recorded by a {@link TrafficRecorder} instead of the API, so that a session can be repeated without the network.
+ * <br>
+ * Requests are matched by method, path and query, and form data. Repeated requests are answered with the recorded responses in order, starting again from the first once all have been used.
+ *
+ * @see TrafficRecorder
+ * @see MyAnimeList#withTrafficReplay(TrafficReplay)
+ * @since 2.3.0
+ * @version 2.3.0
+ * @author Ktt Development
+ */
+public final class TrafficReplay {
+
+    private final Map<String,List<Recorded>> responses = new HashMap<>();
+    private final Map<String,AtomicInteger> cursors = new HashMap<>();
+    private final int size;
+
+    private volatile boolean timing = false;
+
+    /**
+     * Loads the responses recorded to a file. Responses that were cut off or damaged are skipped, and reading continues from the next complete response.
+     *
+     * @param file recorded file
+     * @throws NullPointerException if file is null
+     * @throws IOException if the file could not be read or was not recorded by a {@link TrafficRecorder}
+     *
+     * @since 2.3.0
+     */
+    public TrafficReplay(final File file) throws IOException{
+        Objects.requireNonNull(file, "File cannot be null");
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        final CRC32 crc = new CRC32();
+        int size = 0, sections = 0;
+        int i = 0;
+        while(i + TrafficRecorder.HEADER <= bytes.length){
+            final int length = readInt(bytes, i + 4);
+            if(readInt(bytes, i) != TrafficRecorder.MAGIC || length < 0 || length > bytes.length - i - TrafficRecorder.HEADER){
+                i++; // not a complete frame, look for the next one
+                continue;
+            }
+            final int offset = i + TrafficRecorder.HEADER;
+            crc.reset();
+            crc.update(bytes, offset, length);
+            if((int) crc.getValue() != readInt(bytes, i + 8)){
+                i++;
+                continue;
+            }
+            i = offset + length;
+
+            try(final DataInputStream IN = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes, offset, length)))){
+                final int type = IN.read();
+                if(type == TrafficRecorder.SECTION){
+                    final int version = IN.readInt();
+                    if(version != TrafficRecorder.VERSION)
+                        throw new IOException("Unsupported recording version " + version);
+                    sections++;
+                }else if(type == TrafficRecorder.RESPONSE){
+                    final String method = IN.readUTF();
+                    final String key    = TrafficRecorder.read(IN);
+                    final String data   = TrafficRecorder.read(IN);
+                    final int code      = IN.readUnsignedShort();
+                    final long nanos    = IN.readLong();
+                    final String body   = TrafficRecorder.read(IN);
+                    responses.computeIfAbsent(key(method, key, data), k -> new ArrayList<>()).add(new Recorded(code, nanos, body));
+                    size++;
+                }
+            }
+        }
+        if(sections == 0 && bytes.length > 0)
+            throw new IOException("File was not recorded by a traffic recorder");
+        for(final String key : responses.keySet())
+            cursors.put(key, new AtomicInteger());
+        this.size = size;
+    }
+
+    private static int readInt(final byte[] bytes, final int i){
+        return (bytes[i] & 0xFF) << 24 | (bytes[i + 1] & 0xFF) << 16 | (bytes[i + 2] & 0xFF) << 8 | bytes[i + 3] & 0xFF;
+    }
+
+    static String key(final String method, final String key, final String data){
+        return method + ' ' + key + (data.isEmpty() ? "" : '\n' + data);
+    }
+
+    /**
+     * Sets if responses should take as long as they originally did. By default responses are returned immediately.
+     *
+     * @param enabled if original timing should be used
+     *
+     * @since 2.3.0
+     */
+    public final void setOriginalTiming(final boolean enabled){
+        this.timing = enabled;
+    }
+
+    /**
+     * Returns how many responses were loaded.
+     *
+     * @return responses loaded
+     *
+     * @since 2.3.0
+     */
+    public final int size(){
+        return size;
+    }
+
+    /**
+     * Starts every request again from its first recorded response.
+     *
+     * @since 2.3.0
+     */
+    public final void reset(){
+        for(final AtomicInteger cursor : cursors.values())
+            cursor.set(0);
+    }
+
+    /**
+     * Returns the next recorded response for a request, waiting for its original duration if enabled.
+     *
+     * @param method request method
+     * @param key path and query
+     * @param data form data
+     * @param URL request URL
+     * @return response
+     * @throws IllegalStateException if the request was not recorded
+     * @throws InterruptedException if interrupted while waiting
+     */
+    final APIStruct.Response<String> replay(final String method, final String key, final String data, final String URL) throws InterruptedException{
+        final String k = key(method, key, data);
+        final List<Recorded> recorded = responses.get(k);
+        if(recorded == null)
+            throw new IllegalStateException("No recorded response for " + k);
+        final Recorded response = recorded.get(Math.floorMod(cursors.get(k).getAndIncrement(), recorded.size()));
+        if(timing && response.nanos > 0)
+            TimeUnit.NANOSECONDS.sleep(response.nanos);
+        return new APIStruct.Response<>(URL, response.body, response.body, response.code);
+    }
+
+    @Override
+    public String toString(){
+        return "TrafficReplay{" +
+               "requests=" + responses.size() +
+               ", size=" + size +
+               ", timing=" + timing +
+               '}';
+    }
+
+    private static final class Recorded {
+
+        private final int code;
+        private final long nanos;
+        private final String body;
+
+        private Recorded(final int code, final long nanos, final String body){
+            this.code  = code;
+            this.nanos = nanos;
+            this.body  = body;
+        }
+
+    }
+
+}
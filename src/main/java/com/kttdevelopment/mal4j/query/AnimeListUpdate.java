@@ -22,6 +22,8 @@ import com.kttdevelopment.mal4j.anime.AnimeListStatus;
 import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
 import com.kttdevelopment.mal4j.anime.property.RewatchValue;
 
+import java.util.Objects;
+
 /**
  * <b>Documentation:</b> <a href="https://myanimelist.net/apiconfig/references/api/v2#operation/anime_anime_id_my_list_status_put">https://myanimelist.net/apiconfig/references/api/v2#operation/anime_anime_id_my_list_status_put</a> <br>
  * Represents an Anime list update.
@@ -29,7 +31,7 @@ import com.kttdevelopment.mal4j.anime.property.RewatchValue;
  * @see com.kttdevelopment.mal4j.MyAnimeList#updateAnimeListing(long)
  * @see ListUpdate
  * @since 1.0.0
- * @version 1.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 @SuppressWarnings("SpellCheckingInspection")
@@ -104,4 +106,29 @@ public abstract class AnimeListUpdate extends ListUpdate<AnimeListUpdate,AnimeLi
         return this;
     }
 
+    @Override
+    public final AnimeListUpdate merge(final AnimeListUpdate update){
+        super.merge(update);
+        if(update.rewatching != null)      rewatching      = update.rewatching;
+        if(update.watchedEpisodes != null) watchedEpisodes = update.watchedEpisodes;
+        if(update.timesRewatched != null)  timesRewatched  = update.timesRewatched;
+        if(update.rewatchValue != null)    rewatchValue    = update.rewatchValue;
+        return this;
+    }
+
+    @Override
+    public final AnimeListUpdate retainChanges(final AnimeListStatus current){
+        super.retainChanges(current);
+        if(Objects.equals(rewatching, current.isRewatching()))            rewatching = null;
+        if(Objects.equals(watchedEpisodes, current.getWatchedEpisodes())) watchedEpisodes = null;
+        if(Objects.equals(timesRewatched, current.getTimesRewatched()))   timesRewatched = null;
+        if(Objects.equals(rewatchValue, current.getRewatchValue()))       rewatchValue = null;
+        return this;
+    }
+
+    @Override
+    public final boolean hasChanges(){
+        return super.hasChanges() || rewatching != null || watchedEpisodes != null || timesRewatched != null || rewatchValue != null;
+    }
+
 }
@@ -31,13 +31,14 @@ import java.util.*;
  * @see com.kttdevelopment.mal4j.Fields#anime
  * @see com.kttdevelopment.mal4j.Fields#manga
  * @since 1.0.0
- * @version 2.2.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 @SuppressWarnings({"unchecked", "UnusedReturnValue"})
 public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffsetQuery<T,R> {
 
     protected List<String> fields = null;
+    private final Set<String> index = new HashSet<>(); // mirrors fields for constant time lookup
 
     FieldQuery() { }
 
@@ -62,7 +63,11 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
 
         if(fields == null)
             this.fields = new ArrayList<>();
-        if(!this.fields.contains(field))
+        if(index.size() != fields.size()){ // fields was changed directly
+            index.clear();
+            index.addAll(fields);
+        }
+        if(index.add(field))
             this.fields.add(field);
         return (T) this;
     }
@@ -85,9 +90,10 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
      * @since 1.0.0
      */
     public final T withFields(final String... fields){
-        if(fields == null)
+        if(fields == null){
             this.fields = new ArrayList<>();
-        else{
+            index.clear();
+        }else{
             if(this.fields == null)
                 this.fields = new ArrayList<>();
             for(String field : fields)
@@ -114,9 +120,10 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
      * @since 1.0.0
      */
     public final T withFields(final List<String> fields){
-        if(fields == null)
+        if(fields == null){
             this.fields = new ArrayList<>();
-        else{
+            index.clear();
+        }else{
             if(this.fields == null)
                 this.fields = new ArrayList<>();
             for(String field : fields)
@@ -142,6 +149,7 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
      */
     public final T withAllFields(){
         this.fields = null;
+        index.clear();
         return (T) this;
     }
 
@@ -181,6 +189,7 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
             return withField(Fields.INVERTED);
         else if(fields != null){
             fields.remove(Fields.INVERTED);
+            index.remove(Fields.INVERTED);
             if(fields.isEmpty())
                 fields = null;
         }
@@ -202,7 +211,8 @@ public abstract class FieldQuery<T extends FieldQuery<T,R>,R> extends LimitOffse
      * @since 1.0.0
      */
     public final T withNoFields(){
-        this.fields = Arrays.asList(Fields.NO_FIELDS);
+        this.fields = new ArrayList<>();
+        index.clear();
         return (T) this;
     }
 
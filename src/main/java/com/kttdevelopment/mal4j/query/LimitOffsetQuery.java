@@ -30,7 +30,7 @@ import java.util.List;
  * @param <R> response
  *
  * @since 1.0.0
- * @version 1.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 @SuppressWarnings({"unchecked"})
@@ -38,6 +38,7 @@ public abstract class LimitOffsetQuery<T extends LimitOffsetQuery<T,R>,R> {
 
     protected Integer limit;
     protected Integer offset;
+    protected boolean maxLimit = false;
 
     LimitOffsetQuery() { }
 
@@ -54,6 +55,34 @@ public abstract class LimitOffsetQuery<T extends LimitOffsetQuery<T,R>,R> {
         return (T) this;
     }
 
+    /**
+     * Makes {@link #searchAll()} request pages using the largest limit the endpoint allows. Overrides {@link #withLimit(int)} for iterators.
+     *
+     * @return search query
+     *
+     * @see #withMaxLimit(boolean)
+     * @see #searchAll()
+     * @since 2.3.0
+     */
+    public final T withMaxLimit(){
+        return withMaxLimit(true);
+    }
+
+    /**
+     * Sets if {@link #searchAll()} should request pages using the largest limit the endpoint allows. If the server rejects the limit, a lower limit is used instead.
+     *
+     * @param maxLimit whether to use the max limit
+     * @return search query
+     *
+     * @see #withMaxLimit()
+     * @see #searchAll()
+     * @since 2.3.0
+     */
+    public final T withMaxLimit(final boolean maxLimit){
+        this.maxLimit = maxLimit;
+        return (T) this;
+    }
+
     /**
      * Sets the offset.
      *
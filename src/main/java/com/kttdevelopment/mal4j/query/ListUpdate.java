@@ -31,7 +31,7 @@ import java.util.*;
  * @param <S> status type
  *
  * @since 1.0.0
- * @version 1.1.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 @SuppressWarnings("unchecked")
@@ -52,6 +52,17 @@ public abstract class ListUpdate<T extends ListUpdate<T,R,S>,R extends ListStatu
         this.id = id;
     }
 
+    /**
+     * Returns the ID of the listing being updated.
+     *
+     * @return ID
+     *
+     * @since 2.3.0
+     */
+    public final long getID(){
+        return id;
+    }
+
     /**
      * Sets the status.
      *
@@ -152,6 +163,77 @@ public abstract class ListUpdate<T extends ListUpdate<T,R,S>,R extends ListStatu
         return (T) this;
     }
 
+    /**
+     * Copies every field set on another update to this update. Fields set on the other update replace the ones on this update.
+     *
+     * @param update update to merge
+     * @return list update
+     * @throws IllegalArgumentException if the update is for a different ID
+     *
+     * @since 2.3.0
+     */
+    public T merge(final T update){
+        Objects.requireNonNull(update, "Update cannot be null");
+        final ListUpdate<T,R,S> other = update;
+        if(other.id != id)
+            throw new IllegalArgumentException("Can not merge update for ID " + other.id + " into update for ID " + id);
+
+        if(other.status != null)     status     = other.status;
+        if(other.score != null)      score      = other.score;
+        if(other.startDate != null)  startDate  = other.startDate;
+        if(other.finishDate != null) finishDate = other.finishDate;
+        if(other.priority != null)   priority   = other.priority;
+        if(other.tags != null)       tags       = other.tags;
+        if(other.comments != null)   comments   = other.comments;
+        return (T) this;
+    }
+
+    /**
+     * Removes every field that already matches a list status, leaving only the fields that would change it.
+     *
+     * @param current current list status
+     * @return list update
+     *
+     * @see #hasChanges()
+     * @since 2.3.0
+     */
+    public T retainChanges(final R current){
+        Objects.requireNonNull(current, "Status cannot be null");
+
+        if(Objects.equals(status, current.getStatus()))         status      = null;
+        if(Objects.equals(score, current.getScore()))           score       = null;
+        if(isSameDay(startDate, current.getStartDate()))        startDate   = null;
+        if(isSameDay(finishDate, current.getFinishDate()))      finishDate  = null;
+        if(Objects.equals(priority, current.getPriority()))     priority    = null;
+        if(tags != null && current.getTags() != null && tags.equals(Arrays.asList(current.getTags())))
+            tags = null;
+        if(Objects.equals(comments, current.getComments()))     comments    = null;
+        return (T) this;
+    }
+
+    /**
+     * Returns if any field is set on this update.
+     *
+     * @return if any field is set
+     *
+     * @see #retainChanges(ListStatus)
+     * @since 2.3.0
+     */
+    public boolean hasChanges(){
+        return status != null || score != null || startDate != null || finishDate != null || priority != null || tags != null || comments != null;
+    }
+
+    // MyAnimeList only stores the date
+    private static boolean isSameDay(final Long millis, final Date date){
+        if(millis == null || date == null)
+            return false;
+        final Calendar a = Calendar.getInstance();
+        final Calendar b = Calendar.getInstance();
+        a.setTimeInMillis(millis);
+        b.setTime(date);
+        return a.get(Calendar.YEAR) == b.get(Calendar.YEAR) && a.get(Calendar.DAY_OF_YEAR) == b.get(Calendar.DAY_OF_YEAR);
+    }
+
     /**
      * Updates the list on MyAnimeList
      *
@@ -22,6 +22,8 @@ import com.kttdevelopment.mal4j.manga.MangaListStatus;
 import com.kttdevelopment.mal4j.manga.property.MangaStatus;
 import com.kttdevelopment.mal4j.manga.property.RereadValue;
 
+import java.util.Objects;
+
 /**
  * <b>Documentation:</b> <a href="https://myanimelist.net/apiconfig/references/api/v2#operation/manga_manga_id_my_list_status_put">https://myanimelist.net/apiconfig/references/api/v2#operation/manga_manga_id_my_list_status_put</a> <br>
  * Represents a Manga list update.
@@ -29,7 +31,7 @@ import com.kttdevelopment.mal4j.manga.property.RereadValue;
  * @see com.kttdevelopment.mal4j.MyAnimeList#updateMangaListing(long)
  * @see ListUpdate
  * @since 1.0.0
- * @version 1.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 public abstract class MangaListUpdate extends ListUpdate<MangaListUpdate,MangaListStatus,MangaStatus> {
@@ -116,4 +118,31 @@ public abstract class MangaListUpdate extends ListUpdate<MangaListUpdate,MangaLi
         return this;
     }
 
+    @Override
+    public final MangaListUpdate merge(final MangaListUpdate update){
+        super.merge(update);
+        if(update.rereading != null)    rereading    = update.rereading;
+        if(update.volumesRead != null)  volumesRead  = update.volumesRead;
+        if(update.chaptersRead != null) chaptersRead = update.chaptersRead;
+        if(update.timesReread != null)  timesReread  = update.timesReread;
+        if(update.rereadValue != null)  rereadValue  = update.rereadValue;
+        return this;
+    }
+
+    @Override
+    public final MangaListUpdate retainChanges(final MangaListStatus current){
+        super.retainChanges(current);
+        if(Objects.equals(rereading, current.isRereading()))        rereading = null;
+        if(Objects.equals(volumesRead, current.getVolumesRead()))   volumesRead = null;
+        if(Objects.equals(chaptersRead, current.getChaptersRead())) chaptersRead = null;
+        if(Objects.equals(timesReread, current.getTimesReread()))   timesReread = null;
+        if(Objects.equals(rereadValue, current.getRereadValue()))   rereadValue = null;
+        return this;
+    }
+
+    @Override
+    public final boolean hasChanges(){
+        return super.hasChanges() || rereading != null || volumesRead != null || chaptersRead != null || timesReread != null || rereadValue != null;
+    }
+
 }
@@ -18,6 +18,7 @@
 
 package com.kttdevelopment.mal4j.query;
 
+import com.kttdevelopment.mal4j.ListDelta;
 import com.kttdevelopment.mal4j.MyAnimeList;
 import com.kttdevelopment.mal4j.manga.MangaListStatus;
 import com.kttdevelopment.mal4j.manga.property.MangaSort;
@@ -31,7 +32,7 @@ import com.kttdevelopment.mal4j.manga.property.MangaStatus;
  * @see MyAnimeList#getUserMangaListing(String)
  * @see FieldQuery
  * @since 1.0.0
- * @version 1.0.0
+ * @version 2.3.0
  * @author Ktt Development
  */
 public abstract class UserMangaListQuery extends FieldQuery<UserMangaListQuery,MangaListStatus> implements NSFW<UserMangaListQuery> {
@@ -92,4 +93,19 @@ public abstract class UserMangaListQuery extends FieldQuery<UserMangaListQuery,M
         return this;
     }
 
+    /**
+     * Returns only the entries updated after a watermark. Entries are read in {@link MangaSort#UpdatedAt} order and reading stops at the first entry at or below the watermark, so a list with no changes costs a single small page.
+     *
+     * @param watermark watermark from the previous sync in milliseconds since epoch, 0 to read the entire list
+     * @return changed entries and the next watermark
+     * @throws com.kttdevelopment.mal4j.HttpException if request failed
+     * @throws java.io.UncheckedIOException if client failed to execute request
+     *
+     * @see ListDelta
+     * @see ListDelta#getWatermark()
+     * @see MangaSort#UpdatedAt
+     * @since 2.3.0
+     */
+    public abstract ListDelta<MangaListStatus> searchUpdatedSince(final long watermark);
+
 }
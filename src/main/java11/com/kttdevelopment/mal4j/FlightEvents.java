@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2021 Ktt Development
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package com.kttdevelopment.mal4j;
+
+import jdk.jfr.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * JDK Flight Recorder events. Events are only created while a recording that enables them is running. If the <code>jdk.jfr</code> module is not available no events are recorded.
+ * <br>
+ * Each begin method returns an event to pass to its commit method, or null if the event is not being recorded.
+ */
+final class FlightEvents {
+
+    private static final boolean available;
+
+    static {
+        boolean jfr;
+        try{
+            Class.forName("jdk.jfr.Event");
+            jfr = true;
+        }catch(final ClassNotFoundException | LinkageError e){
+            jfr = false;
+        }
+        available = jfr;
+    }
+
+    // mapping starts once the response is parsed, on the thread that maps it
+    private static final ThreadLocal<EntityMapEvent> mapping = new ThreadLocal<>();
+
+    private FlightEvents(){ }
+
+    static Object beginApiCall(){
+        if(!available) return null;
+        final ApiCallEvent event = new ApiCallEvent();
+        if(!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    static void commitApiCall(final Object event, final String endpoint, final String method, final int status, final String body){
+        if(event == null) return;
+        final ApiCallEvent e = (ApiCallEvent) event;
+        e.end();
+        if(e.shouldCommit()){
+            e.endpoint  = endpoint;
+            e.method    = method;
+            e.status    = status;
+            e.bytes     = body == null ? 0 : RequestTrace.utf8Length(body);
+            e.commit();
+        }
+    }
+
+    static Object beginJsonParse(){
+        if(!available) return null;
+        final JsonParseEvent event = new JsonParseEvent();
+        if(!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    static void commitJsonParse(final Object event, final String json, final int nodes){
+        if(event == null) return;
+        final JsonParseEvent e = (JsonParseEvent) event;
+        e.end();
+        if(e.shouldCommit()){
+            e.bytes = RequestTrace.utf8Length(json);
+            e.nodes = nodes;
+            e.commit();
+        }
+    }
+
+    static void beginEntityMap(){
+        if(!available) return;
+        final EntityMapEvent event = new EntityMapEvent();
+        if(event.isEnabled()){
+            event.begin();
+            mapping.set(event);
+        }
+    }
+
+    static void commitEntityMap(final Object value){
+        if(!available) return;
+        final EntityMapEvent event = mapping.get();
+        if(event == null) return;
+        mapping.remove();
+        event.end();
+        if(event.shouldCommit()){
+            final Object first;
+            if(value instanceof Collection){
+                event.count = ((Collection<?>) value).size();
+                first = ((Collection<?>) value).isEmpty() ? null : ((Collection<?>) value).iterator().next();
+            }else if(value instanceof Map){
+                event.count = ((Map<?,?>) value).size();
+                first = ((Map<?,?>) value).isEmpty() ? null : ((Map<?,?>) value).values().iterator().next();
+            }else{
+                event.count = value == null ? 0 : 1;
+                first = value;
+            }
+            event.type = first == null ? null : type(first.getClass());
+            event.commit();
+        }
+    }
+
+    static void clearEntityMap(){
+        if(available)
+            mapping.remove();
+    }
+
+    // anonymous schema classes are named after the interface they implement
+    private static String type(final Class<?> type){
+        if(!type.isAnonymousClass())
+            return type.getSimpleName();
+        final Class<?>[] interfaces = type.getInterfaces();
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSuperclass().getSimpleName();
+    }
+
+    static Object beginTokenRefresh(){
+        if(!available) return null;
+        final TokenRefreshEvent event = new TokenRefreshEvent();
+        if(!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    static void commitTokenRefresh(final Object event, final boolean refreshed){
+        if(event == null) return;
+        final TokenRefreshEvent e = (TokenRefreshEvent) event;
+        e.end();
+        if(e.shouldCommit()){
+            e.refreshed = refreshed;
+            e.commit();
+        }
+    }
+
+    @Name("Mal4J.ApiCall")
+    @Label("API Call")
+    @Description("Request sent to the MyAnimeList API, from sending the request until the body was read")
+    @Category("Mal4J")
+    static final class ApiCallEvent extends Event {
+
+        @Label("Endpoint")
+        String endpoint;
+
+        @Label("Method")
+        String method;
+
+        @Label("Status")
+        int status;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+    }
+
+    @Name("Mal4J.JsonParse")
+    @Label("Json Parse")
+    @Description("Response body parsed as json")
+    @Category("Mal4J")
+    static final class JsonParseEvent extends Event {
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Node Count")
+        int nodes;
+
+    }
+
+    @Name("Mal4J.EntityMap")
+    @Label("Entity Map")
+    @Description("Parsed json mapped to the returned objects")
+    @Category("Mal4J")
+    static final class EntityMapEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Count")
+        int count;
+
+    }
+
+    @Name("Mal4J.TokenRefresh")
+    @Label("Token Refresh")
+    @Description("OAuth token refreshed by the authenticator")
+    @Category("Mal4J")
+    static final class TokenRefreshEvent extends Event {
+
+        @Label("Refreshed")
+        boolean refreshed;
+
+    }
+
+}
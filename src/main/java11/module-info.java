@@ -46,6 +46,7 @@ module Mal4J {
     requires jdk.httpserver;
     requires java.desktop;
     requires java.net.http;
+    requires static jdk.jfr;
 
     exports com.kttdevelopment.mal4j.anime;
     exports com.kttdevelopment.mal4j.anime.property;
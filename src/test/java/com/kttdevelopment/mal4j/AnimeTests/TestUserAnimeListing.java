@@ -42,4 +42,25 @@ public class TestUserAnimeListing {
                               Workflow.errorSupplier("Expected listing status to be sorted"));
     }
 
+    @Test
+    public void testUpdatedSince(){
+        final List<AnimeListStatus> list =
+            mal.getUserAnimeListing()
+                .sortBy(AnimeSort.UpdatedAt)
+                .withFields(Fields.Anime.list_status)
+                .withLimit(2)
+                .search();
+        final long watermark = list.get(1).getUpdatedAtEpochMillis();
+        final ListDelta<AnimeListStatus> delta =
+            mal.getUserAnimeListing()
+                .withFields(Fields.Anime.list_status)
+                .searchUpdatedSince(watermark);
+        Assertions.assertEquals(1, delta.getChanged().size(),
+                                Workflow.errorSupplier("Expected only entries after the watermark"));
+        Assertions.assertEquals(list.get(0).getUpdatedAtEpochMillis(), delta.getWatermark(),
+                                Workflow.errorSupplier("Expected watermark to match most recent entry"));
+        Assertions.assertEquals(0, mal.getUserAnimeListing().searchUpdatedSince(delta.getWatermark()).getChanged().size(),
+                                Workflow.errorSupplier("Expected no entries after the newest watermark"));
+    }
+
 }
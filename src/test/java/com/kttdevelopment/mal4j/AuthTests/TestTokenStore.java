@@ -0,0 +1,55 @@
+package com.kttdevelopment.mal4j.AuthTests;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.*;
+import org.junit.jupiter.api.*;
+
+public class TestTokenStore {
+
+    // stores token values the way an application would, outside of the library package
+    private static final class MemoryTokenStore implements TokenStore {
+
+        private String type, access, refresh;
+        private long expiry;
+
+        @Override
+        public final AccessToken load(){
+            return type == null ? null : AccessToken.of(type, access, refresh, expiry);
+        }
+
+        @Override
+        public final void save(final AccessToken token){
+            type    = token.getTokenType();
+            access  = token.getAccessToken();
+            refresh = token.getRefreshToken();
+            expiry  = token.getExpiryEpochSeconds();
+        }
+
+    }
+
+    @Test
+    public void testExternalStore(){
+        final long expiry = System.currentTimeMillis() / 1000 + 3600;
+        final MemoryTokenStore store = new MemoryTokenStore();
+        store.save(AccessToken.of("Bearer", "access", "refresh", expiry));
+
+        final AccessToken loaded = store.load();
+        Assertions.assertEquals("Bearer access", loaded.getToken());
+        Assertions.assertEquals("refresh", loaded.getRefreshToken());
+        Assertions.assertEquals(expiry, loaded.getExpiryEpochSeconds());
+        Assertions.assertFalse(loaded.isExpired());
+
+        final MyAnimeListAuthenticator authenticator = new MyAnimeListAuthenticator("client", null, store);
+        Assertions.assertEquals("Bearer access", authenticator.getAccessToken().getToken(),
+                                Workflow.errorSupplier("Expected authenticator to use the stored token"));
+    }
+
+    @Test
+    public void testInvalid(){
+        Assertions.assertThrows(NullPointerException.class, () -> AccessToken.of(null, "access", "refresh", 0));
+        Assertions.assertThrows(NullPointerException.class, () -> AccessToken.of("Bearer", null, "refresh", 0));
+        Assertions.assertThrows(IllegalStateException.class, () -> new MyAnimeListAuthenticator("client", null, new MemoryTokenStore()),
+                                Workflow.errorSupplier("Expected an empty store to be rejected"));
+    }
+
+}
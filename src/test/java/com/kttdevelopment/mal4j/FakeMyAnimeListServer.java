@@ -0,0 +1,399 @@
+package com.kttdevelopment.mal4j;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local stand-in for the MyAnimeList v2 API. Serves the {@link MyAnimeListService} endpoints from synthetic data generated from a seed, with MyAnimeList's page limits and paging links.
+ * <br>
+ * Latency, throttling (429 once the request rate is exceeded), and server errors can be configured while running.
+ *
+ * @see TestFakeMyAnimeListServer
+ * @see TestSoak
+ */
+final class FakeMyAnimeListServer implements AutoCloseable {
+
+    private static final Pattern animeID   = Pattern.compile("^anime/(\\d+)$");
+    private static final Pattern mangaID   = Pattern.compile("^manga/(\\d+)$");
+    private static final Pattern season    = Pattern.compile("^anime/season/(\\d+)/(\\w+)$");
+    private static final Pattern listing   = Pattern.compile("^(anime|manga)/(\\d+)/my_list_status$");
+    private static final Pattern userList  = Pattern.compile("^users/([^/]+)/(animelist|mangalist)$");
+    private static final Pattern user      = Pattern.compile("^users/([^/]+)$");
+    private static final Pattern topic     = Pattern.compile("^forum/topic/(\\d+)$");
+
+    private final long seed;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile int catalog = 10_000;
+    private volatile int listSize = 1000;
+    private volatile long minLatency = 0, maxLatency = 0;
+    private volatile double errorRate = 0;
+    private volatile int rateLimit = 0;
+    private volatile int maxLimit = Integer.MAX_VALUE;
+    private volatile String lastQuery = null;
+
+    private final Object throttleLock = new Object();
+    private long window = 0;
+    private int windowRequests = 0;
+
+    private final AtomicLong requests  = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong errors    = new AtomicLong();
+
+    FakeMyAnimeListServer(final long seed) throws IOException{
+        this(seed, 64);
+    }
+
+    FakeMyAnimeListServer(final long seed, final int threads) throws IOException{
+        this.seed = seed;
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "fake-mal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v2/", this::handle);
+        server.start();
+    }
+
+    final String getBaseURL(){
+        return "http://localhost:" + server.getAddress().getPort() + "/v2/";
+    }
+
+    /**
+     * Creates an interface that sends requests to this server.
+     *
+     * @param limiter rate limiter, nullable
+     * @return MyAnimeList
+     */
+    final MyAnimeList create(final RateLimiter limiter){
+        return new MyAnimeListImpl("Bearer fake", APICall.create(getBaseURL(), MyAnimeListService.class, limiter));
+    }
+
+    final FakeMyAnimeListServer setCatalogSize(final int size){
+        this.catalog = size;
+        return this;
+    }
+
+    final FakeMyAnimeListServer setListSize(final int size){
+        this.listSize = size;
+        return this;
+    }
+
+    final FakeMyAnimeListServer setLatency(final long minMillis, final long maxMillis){
+        this.minLatency = minMillis;
+        this.maxLatency = Math.max(minMillis, maxMillis);
+        return this;
+    }
+
+    final FakeMyAnimeListServer setErrorRate(final double rate){
+        this.errorRate = rate;
+        return this;
+    }
+
+    final FakeMyAnimeListServer setRateLimit(final int requestsPerSecond){
+        this.rateLimit = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Lowers the maximum page size of every endpoint.
+     *
+     * @param limit max page size
+     * @return server
+     */
+    final FakeMyAnimeListServer setMaxLimit(final int limit){
+        this.maxLimit = limit;
+        return this;
+    }
+
+    final String getLastQuery(){
+        return lastQuery;
+    }
+
+    final long getRequests(){
+        return requests.get();
+    }
+
+    final long getThrottled(){
+        return throttled.get();
+    }
+
+    final long getErrors(){
+        return errors.get();
+    }
+
+    @Override
+    public final void close(){
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // handler
+
+    private void handle(final HttpExchange exchange) throws IOException{
+        try{
+            requests.incrementAndGet();
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            if(maxLatency > 0)
+                Thread.sleep(minLatency == maxLatency ? minLatency : random.nextLong(minLatency, maxLatency + 1));
+
+            if(throttle()){
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, error("too_many_requests", ""));
+            }else if(errorRate > 0 && random.nextDouble() < errorRate){
+                errors.incrementAndGet();
+                send(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, error("internal_error", "Injected error"));
+            }else if(exchange.getRequestHeaders().getFirst("Authorization") == null && exchange.getRequestHeaders().getFirst("X-MAL-CLIENT-ID") == null)
+                send(exchange, HttpURLConnection.HTTP_UNAUTHORIZED, error("invalid_token", "Authorization is required"));
+            else
+                route(exchange);
+        }catch(final InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally{
+            exchange.close();
+        }
+    }
+
+    private boolean throttle(){
+        if(rateLimit <= 0)
+            return false;
+        final long second = System.nanoTime() / 1_000_000_000L;
+        synchronized(throttleLock){
+            if(second != window){
+                window = second;
+                windowRequests = 0;
+            }
+            return ++windowRequests > rateLimit;
+        }
+    }
+
+    private void route(final HttpExchange exchange) throws IOException{
+        final String method = exchange.getRequestMethod().toUpperCase();
+        final String path = exchange.getRequestURI().getPath().substring("/v2/".length());
+        final Map<String,String> query = parse(exchange.getRequestURI().getRawQuery());
+        lastQuery = exchange.getRequestURI().getRawQuery();
+        Matcher matcher;
+
+        if(method.equals("PATCH") && (matcher = listing.matcher(path)).matches()){
+            final Map<String,String> form = parse(read(exchange.getRequestBody()));
+            send(exchange, HttpURLConnection.HTTP_OK, listStatus(matcher.group(1).equals("anime"), Long.parseLong(matcher.group(2)), form));
+        }else if(method.equals("DELETE") && listing.matcher(path).matches())
+            send(exchange, HttpURLConnection.HTTP_OK, "[]");
+        else if(!method.equals("GET"))
+            send(exchange, HttpURLConnection.HTTP_BAD_METHOD, error("method_not_allowed", ""));
+        else if((path.equals("anime") || path.equals("manga")) && query.getOrDefault("q", "").length() < 3)
+            send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, error("bad_request", "invalid q"));
+        else if(path.equals("anime") || path.equals("manga"))
+            page(exchange, path, query, 100, catalog, (id, ignored) -> "{\"node\":" + media(path.equals("anime"), id, false) + '}');
+        else if(path.equals("anime/ranking") || path.equals("manga/ranking"))
+            page(exchange, path, query, 500, catalog, (id, ignored) -> "{\"node\":" + media(path.startsWith("anime"), id, false) + ",\"ranking\":{\"rank\":" + id + "}}");
+        else if(path.equals("anime/suggestions"))
+            page(exchange, path, query, 100, Math.min(catalog, 100), (id, ignored) -> "{\"node\":" + media(true, id, false) + '}');
+        else if(season.matcher(path).matches())
+            page(exchange, path, query, 500, Math.min(catalog, 200), (id, ignored) -> "{\"node\":" + media(true, id, false) + '}');
+        else if((matcher = animeID.matcher(path)).matches())
+            detail(exchange, true, Long.parseLong(matcher.group(1)));
+        else if((matcher = mangaID.matcher(path)).matches())
+            detail(exchange, false, Long.parseLong(matcher.group(1)));
+        else if((matcher = userList.matcher(path)).matches()){
+            final boolean anime = matcher.group(2).equals("animelist");
+            page(exchange, path, query, 1000, listSize, (id, ignored) -> "{\"node\":" + media(anime, id, false) + ",\"list_status\":" + listStatus(anime, id, null) + '}');
+        }else if((matcher = user.matcher(path)).matches())
+            send(exchange, HttpURLConnection.HTTP_OK, user(matcher.group(1)));
+        else if(path.equals("forum/boards"))
+            send(exchange, HttpURLConnection.HTTP_OK, "{\"categories\":[{\"title\":\"MyAnimeList\",\"boards\":[{\"id\":5,\"title\":\"Updates & Announcements\",\"description\":\"Updates, changes, and additions to MAL.\",\"subboards\":[]}]}]}");
+        else if(path.equals("forum/topics"))
+            page(exchange, path, query, 100, Math.min(catalog, 1000), (id, ignored) -> "{\"id\":" + id + ",\"title\":\"Topic " + id + "\",\"created_at\":\"2021-01-01T00:00:00+00:00\",\"created_by\":{\"id\":1,\"name\":\"user\"},\"number_of_posts\":" + (id % 50) + ",\"last_post_created_at\":\"2021-01-02T00:00:00+00:00\",\"last_post_created_by\":{\"id\":2,\"name\":\"other\"},\"is_locked\":false}");
+        else if((matcher = topic.matcher(path)).matches()){
+            final long id = Long.parseLong(matcher.group(1));
+            final int offset = integer(query.get("offset"), 0), limit = integer(query.get("limit"), 100);
+            final StringBuilder OUT = new StringBuilder("{\"data\":{\"title\":\"Topic ").append(id).append("\",\"posts\":[");
+            for(int i = offset, end = Math.min(offset + limit, 40); i < end; i++)
+                OUT.append(i > offset ? "," : "").append("{\"id\":").append(id * 100 + i).append(",\"number\":").append(i + 1).append(",\"created_at\":\"2021-01-01T00:00:00+00:00\",\"created_by\":{\"id\":").append(i).append(",\"name\":\"user").append(i).append("\",\"forum_avator\":\"\"},\"body\":\"Post ").append(i + 1).append("\",\"signature\":\"\"}");
+            OUT.append("],\"poll\":null},\"paging\":{").append(offset + limit < 40 ? "\"next\":\"" + getBaseURL() + path + "?offset=" + (offset + limit) + "&limit=" + limit + '"' : "").append("}}");
+            send(exchange, HttpURLConnection.HTTP_OK, OUT.toString());
+        }else
+            send(exchange, HttpURLConnection.HTTP_NOT_FOUND, error("not_found", ""));
+    }
+
+    private interface Entry {
+
+        String render(long id, Random random);
+
+    }
+
+    private void page(final HttpExchange exchange, final String path, final Map<String,String> query, final int maxLimit, final int total, final Entry entry) throws IOException{
+        final int offset = integer(query.get("offset"), 0);
+        final int limit  = integer(query.get("limit"), Math.min(maxLimit, 100));
+        if(limit < 1 || limit > Math.min(maxLimit, this.maxLimit) || offset < 0){
+            send(exchange, HttpURLConnection.HTTP_BAD_REQUEST, error("invalid_parameters", "Invalid limit or offset"));
+            return;
+        }
+
+        final StringBuilder OUT = new StringBuilder("{\"data\":[");
+        final int end = Math.min(offset + limit, total);
+        for(int i = offset; i < end; i++)
+            OUT.append(i > offset ? "," : "").append(entry.render(i + 1, random(i + 1)));
+        OUT.append("],\"paging\":{");
+        if(offset > 0)
+            OUT.append("\"previous\":\"").append(link(path, query, Math.max(0, offset - limit), limit)).append('"');
+        if(end < total)
+            OUT.append(offset > 0 ? "," : "").append("\"next\":\"").append(link(path, query, end, limit)).append('"');
+        send(exchange, HttpURLConnection.HTTP_OK, OUT.append("}}").toString());
+    }
+
+    private String link(final String path, final Map<String,String> query, final int offset, final int limit){
+        final StringBuilder OUT = new StringBuilder(getBaseURL()).append(path).append("?offset=").append(offset).append("&limit=").append(limit);
+        for(final Map.Entry<String,String> e : query.entrySet())
+            if(!e.getKey().equals("offset") && !e.getKey().equals("limit"))
+                OUT.append('&').append(e.getKey()).append('=').append(Java9.URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8));
+        return OUT.toString();
+    }
+
+    private void detail(final HttpExchange exchange, final boolean anime, final long id) throws IOException{
+        if(id < 1 || id > catalog)
+            send(exchange, HttpURLConnection.HTTP_NOT_FOUND, error("not_found", ""));
+        else
+            send(exchange, HttpURLConnection.HTTP_OK, media(anime, id, true));
+    }
+
+    // data
+
+    private Random random(final long id){
+        return new Random(seed * 31 + id);
+    }
+
+    private static final String[] genres = {"Action", "Adventure", "Comedy", "Drama", "Fantasy", "Romance", "Sci-Fi", "Slice of Life", "Sports", "Mystery"};
+    private static final String[] animeStatus = {"watching", "completed", "on_hold", "dropped", "plan_to_watch"};
+    private static final String[] mangaStatus = {"reading", "completed", "on_hold", "dropped", "plan_to_read"};
+
+    final String media(final boolean anime, final long id, final boolean detail){
+        final Random random = random(id);
+        final String type = anime ? "anime" : "manga";
+        final StringBuilder OUT = new StringBuilder("{")
+            .append("\"id\":").append(id)
+            .append(",\"title\":\"").append(anime ? "Anime " : "Manga ").append(id).append(' ').append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36)).append('"')
+            .append(",\"main_picture\":{\"medium\":\"https://api-cdn.myanimelist.net/images/").append(type).append('/').append(id).append(".jpg\",\"large\":\"https://api-cdn.myanimelist.net/images/").append(type).append('/').append(id).append("l.jpg\"}")
+            .append(",\"alternative_titles\":{\"synonyms\":[],\"en\":\"Title ").append(id).append("\",\"ja\":\"タイトル").append(id).append("\"}")
+            .append(",\"start_date\":\"").append(1990 + random.nextInt(32)).append("-0").append(1 + random.nextInt(9)).append("-1").append(random.nextInt(9)).append('"')
+            .append(",\"synopsis\":\"Synthetic synopsis for ").append(type).append(' ').append(id).append(".\"")
+            .append(",\"mean\":").append(5 + random.nextInt(500) / 100.0)
+            .append(",\"rank\":").append(id)
+            .append(",\"popularity\":").append(1 + random.nextInt(catalog))
+            .append(",\"num_list_users\":").append(random.nextInt(2_000_000))
+            .append(",\"num_scoring_users\":").append(random.nextInt(1_000_000))
+            .append(",\"nsfw\":\"white\"")
+            .append(",\"created_at\":\"2008-12-08T22:12:32+00:00\",\"updated_at\":\"2022-03-13T08:33:01+00:00\"")
+            .append(",\"media_type\":\"").append(anime ? "tv" : "manga").append('"')
+            .append(",\"status\":\"").append(anime ? "finished_airing" : "finished").append('"')
+            .append(",\"genres\":[");
+        final int g = random.nextInt(genres.length);
+        for(int i = 0; i < 3; i++)
+            OUT.append(i > 0 ? "," : "").append("{\"id\":").append((g + i) % genres.length + 1).append(",\"name\":\"").append(genres[(g + i) % genres.length]).append("\"}");
+        OUT.append(']');
+        if(anime)
+            OUT.append(",\"num_episodes\":").append(1 + random.nextInt(60))
+               .append(",\"start_season\":{\"year\":").append(1990 + random.nextInt(32)).append(",\"season\":\"spring\"}")
+               .append(",\"source\":\"manga\",\"average_episode_duration\":1440,\"rating\":\"pg_13\"")
+               .append(",\"studios\":[{\"id\":").append(1 + random.nextInt(50)).append(",\"name\":\"Studio ").append(random.nextInt(50)).append("\"}]");
+        else
+            OUT.append(",\"num_volumes\":").append(random.nextInt(40))
+               .append(",\"num_chapters\":").append(random.nextInt(400))
+               .append(",\"authors\":[{\"node\":{\"id\":").append(1 + random.nextInt(500)).append(",\"first_name\":\"First\",\"last_name\":\"Last\"},\"role\":\"Story & Art\"}]");
+        if(detail){
+            OUT.append(",\"background\":\"\",\"pictures\":[],\"related_manga\":[]")
+               .append(",\"related_anime\":[");
+            for(int i = 1; i <= 2; i++){
+                final long related = (id + i * 7) % catalog + 1;
+                OUT.append(i > 1 ? "," : "").append("{\"node\":{\"id\":").append(related).append(",\"title\":\"Anime ").append(related).append("\"},\"relation_type\":\"sequel\",\"relation_type_formatted\":\"Sequel\"}");
+            }
+            OUT.append("],\"recommendations\":[]");
+            if(anime)
+                OUT.append(",\"statistics\":{\"status\":{\"watching\":\"1\",\"completed\":\"2\",\"on_hold\":\"3\",\"dropped\":\"4\",\"plan_to_watch\":\"5\"},\"num_list_users\":15}");
+        }
+        return OUT.append('}').toString();
+    }
+
+    private String listStatus(final boolean anime, final long id, final Map<String,String> form){
+        final Random random = random(id);
+        final String status = form != null && form.containsKey("status") ? form.get("status") : (anime ? animeStatus : mangaStatus)[random.nextInt(5)];
+        final String score = form != null && form.containsKey("score") ? form.get("score") : String.valueOf(random.nextInt(11));
+        final StringBuilder OUT = new StringBuilder("{")
+            .append("\"status\":\"").append(status).append('"')
+            .append(",\"score\":").append(score);
+        if(anime)
+            OUT.append(",\"num_episodes_watched\":").append(form != null && form.containsKey("num_watched_episodes") ? form.get("num_watched_episodes") : String.valueOf(random.nextInt(26)))
+               .append(",\"is_rewatching\":false");
+        else
+            OUT.append(",\"num_volumes_read\":").append(random.nextInt(20))
+               .append(",\"num_chapters_read\":").append(random.nextInt(200))
+               .append(",\"is_rereading\":false");
+        return OUT
+            .append(",\"updated_at\":\"2021-0").append(1 + random.nextInt(9)).append("-1").append(random.nextInt(9)).append("T12:00:00+00:00\"")
+            .append(",\"priority\":0,\"tags\":[],\"comments\":\"\"}")
+            .toString();
+    }
+
+    private static String user(final String name){
+        return "{\"id\":1,\"name\":\"" + (name.equals("@me") ? "fake" : name) + "\",\"location\":\"\",\"joined_at\":\"2015-01-01T00:00:00+00:00\",\"anime_statistics\":{\"num_items_watching\":1,\"num_items_completed\":2,\"num_items\":3,\"num_days\":4.5,\"mean_score\":7.5}}";
+    }
+
+    private static String error(final String error, final String message){
+        return "{\"message\":\"" + message + "\",\"error\":\"" + error + "\"}";
+    }
+
+    // io
+
+    private static void send(final HttpExchange exchange, final int code, final String body) throws IOException{
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try(final OutputStream OUT = exchange.getResponseBody()){
+            OUT.write(bytes);
+        }
+    }
+
+    private static String read(final InputStream stream) throws IOException{
+        final ByteArrayOutputStream OUT = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while((read = stream.read(buffer)) != -1)
+            OUT.write(buffer, 0, read);
+        return new String(OUT.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String,String> parse(final String query){
+        final Map<String,String> OUT = new LinkedHashMap<>();
+        if(query == null || query.isEmpty())
+            return OUT;
+        for(final String pair : query.split("&")){
+            final int eq = pair.indexOf('=');
+            if(eq > 0)
+                OUT.put(Java9.URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8), Java9.URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return OUT;
+    }
+
+    private static int integer(final String value, final int fallback){
+        try{
+            return value == null ? fallback : Integer.parseInt(value);
+        }catch(final NumberFormatException e){
+            return fallback;
+        }
+    }
+
+}
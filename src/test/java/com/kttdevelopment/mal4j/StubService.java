@@ -0,0 +1,86 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.mal4j.APIStruct.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates a {@link MyAnimeListService}, or another service interface, that answers calls from memory.
+ */
+final class StubService {
+
+    interface Handler {
+
+        /**
+         * Answers a service call.
+         *
+         * @param call call
+         * @return response, null if the method is not supported
+         * @throws Exception if the call failed
+         */
+        Response<?> handle(Call call) throws Exception;
+
+    }
+
+    static final class Call {
+
+        private final Method method;
+        private final Object[] args;
+
+        private Call(final Method method, final Object[] args){
+            this.method = method;
+            this.args   = args;
+        }
+
+        final String getName(){
+            return method.getName();
+        }
+
+        /**
+         * Returns the argument of a header, path, query, or field.
+         *
+         * @param name parameter name
+         * @return argument, null if missing
+         */
+        final Object get(final String name){
+            final Annotation[][] annotations = method.getParameterAnnotations();
+            for(int i = 0; i < annotations.length; i++)
+                for(final Annotation annotation : annotations[i])
+                    if(
+                        annotation instanceof Header && ((Header) annotation).value().equals(name) ||
+                        annotation instanceof Path   && ((Path) annotation).value().equals(name) ||
+                        annotation instanceof Query  && ((Query) annotation).value().equals(name) ||
+                        annotation instanceof Field  && ((Field) annotation).value().equals(name)
+                    )
+                        return args[i];
+            return null;
+        }
+
+    }
+
+    static MyAnimeListService create(final Handler handler){
+        return create(MyAnimeListService.class, handler);
+    }
+
+    static <S> S create(final Class<S> service, final Handler handler){
+        return service.cast(Proxy.newProxyInstance(
+            service.getClassLoader(),
+            new Class<?>[]{service},
+            (proxy, method, args) -> {
+                if(method.getDeclaringClass() == Object.class)
+                    return method.invoke(handler, args);
+                final Response<?> response = handler.handle(new Call(method, args));
+                if(response == null)
+                    throw new UnsupportedOperationException(method.getName());
+                return response;
+            }
+        ));
+    }
+
+    static Response<Object> response(final int code, final String json){
+        return new Response<>(MyAnimeListService.baseURL, json, Json.parse(json), code);
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.*;
+
+public class TestAuthorizationServer {
+
+    private static int callback(final AuthorizationServer server, final String query) throws IOException{
+        final HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + "/?" + query).openConnection();
+        try{
+            return conn.getResponseCode();
+        }finally{
+            conn.disconnect();
+        }
+    }
+
+    @Test
+    public void testRouting() throws IOException{
+        try(final AuthorizationServer server = new AuthorizationServer("client", null, 0)){
+            final AuthorizationServer.Authorization a = server.authorize();
+            final AuthorizationServer.Authorization b = server.authorize();
+            Assertions.assertNotEquals(a.getState(), b.getState(), Workflow.errorSupplier("Expected each flow to have its own state"));
+            Assertions.assertTrue(a.getAuthorizationURL().contains("state=" + a.getState()));
+            Assertions.assertEquals(2, server.getPending());
+
+            Assertions.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, callback(server, "code=x&state=unknown"),
+                                    Workflow.errorSupplier("Expected unknown state to be rejected"));
+            Assertions.assertEquals(2, server.getPending());
+
+            Assertions.assertEquals(HttpURLConnection.HTTP_OK, callback(server, "error=access_denied&message=denied&state=" + a.getState()));
+            final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> a.getAuthenticator().get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof UnauthorizedAccessException,
+                                  Workflow.errorSupplier("Expected denied flow to fail"));
+            Assertions.assertFalse(b.getAuthenticator().isDone(), Workflow.errorSupplier("Expected other flows to remain pending"));
+            Assertions.assertEquals(1, server.getPending());
+
+            Assertions.assertEquals(HttpURLConnection.HTTP_BAD_REQUEST, callback(server, "error=access_denied&state=" + a.getState()),
+                                    Workflow.errorSupplier("Expected completed flow to not be reused"));
+        }
+    }
+
+    @Test
+    public void testExpiry() throws IOException{
+        try(final AuthorizationServer server = new AuthorizationServer("client", null, 0, 1, 1)){
+            final AuthorizationServer.Authorization a = server.authorize();
+            final ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> a.getAuthenticator().get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof TimeoutException, Workflow.errorSupplier("Expected flow to expire"));
+            Assertions.assertEquals(0, server.getPending());
+        }
+    }
+
+    @Test
+    public void testClose() throws IOException{
+        final AuthorizationServer server = new AuthorizationServer("client", null, 0);
+        final AuthorizationServer.Authorization a = server.authorize();
+        server.close();
+        Assertions.assertTrue(a.getAuthenticator().isCancelled(), Workflow.errorSupplier("Expected pending flows to be cancelled"));
+        Assertions.assertThrows(IllegalStateException.class, server::authorize);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AuthorizationServer("client", null, 0, 0, 1));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.Anime;
+import com.kttdevelopment.mal4j.manga.Manga;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestBatch {
+
+    private static MyAnimeList mal;
+
+    @BeforeAll
+    public static void beforeAll(){
+        mal = TestProvider.getMyAnimeList();
+    }
+
+    @Test
+    public void testAnime(){
+        final Map<Long,Anime> anime = mal.getAnime(Arrays.asList(TestProvider.AltAnimeID, TestProvider.AnimeID, TestProvider.AltAnimeID), Fields.NO_FIELDS);
+        Assertions.assertEquals(2, anime.size(),
+                                Workflow.errorSupplier("Expected duplicate IDs to be removed"));
+        Assertions.assertEquals(Arrays.asList(TestProvider.AltAnimeID, TestProvider.AnimeID), new ArrayList<>(anime.keySet()),
+                                Workflow.errorSupplier("Expected results to be in input order"));
+        Assertions.assertEquals(TestProvider.AnimeID, anime.get(TestProvider.AnimeID).getID(),
+                                Workflow.errorSupplier("Expected result to match ID"));
+    }
+
+    @Test
+    public void testManga(){
+        final Map<Long,Manga> manga = mal.getManga(Arrays.asList(TestProvider.MangaID, TestProvider.AltMangaID), Fields.NO_FIELDS);
+        Assertions.assertEquals(2, manga.size(),
+                                Workflow.errorSupplier("Expected all IDs to be returned"));
+        Assertions.assertEquals(TestProvider.MangaID, manga.get(TestProvider.MangaID).getID(),
+                                Workflow.errorSupplier("Expected result to match ID"));
+    }
+
+    @Test
+    public void testFailure(){
+        final AtomicInteger results  = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final Map<Long,Anime> anime = mal.getAnime(Arrays.asList(TestProvider.AnimeID, -1L), new BatchListener<Anime>(){
+
+            @Override
+            public final void onResult(final long id, final Anime result){
+                results.incrementAndGet();
+            }
+
+            @Override
+            public final void onFailure(final long id, final Throwable throwable){
+                Assertions.assertEquals(-1L, id);
+                failures.incrementAndGet();
+            }
+
+        }, Fields.NO_FIELDS);
+        Assertions.assertEquals(1, anime.size(),
+                                Workflow.errorSupplier("Expected failed IDs to be absent"));
+        Assertions.assertEquals(1, results.get(),
+                                Workflow.errorSupplier("Expected listener to receive result"));
+        Assertions.assertEquals(1, failures.get(),
+                                Workflow.errorSupplier("Expected listener to receive failure"));
+    }
+
+}
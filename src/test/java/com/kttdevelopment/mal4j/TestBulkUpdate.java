@@ -0,0 +1,75 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.query.AnimeListUpdate;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class TestBulkUpdate {
+
+    @Test
+    public void testOrderAndConcurrency(){
+        final Map<Long,List<Integer>> sent = new ConcurrentHashMap<>();
+        final CountDownLatch together = new CountDownLatch(3);
+        final MyAnimeList mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("updateAnimeListing")) return null;
+            final long id = (Long) call.get("anime_id");
+            final int score = (Integer) call.get("score");
+            final List<Integer> scores = sent.computeIfAbsent(id, k -> Collections.synchronizedList(new ArrayList<>()));
+            if(scores.isEmpty()){ // first update of each ID waits for the other IDs
+                together.countDown();
+                together.await(5, TimeUnit.SECONDS);
+            }
+            scores.add(score);
+            return StubService.response(200, "{\"status\":\"watching\",\"score\":" + score + '}');
+        }));
+
+        final List<AnimeListUpdate> updates = Arrays.asList(
+            mal.updateAnimeListing(1).score(1),
+            mal.updateAnimeListing(2).score(1),
+            mal.updateAnimeListing(1).score(2),
+            mal.updateAnimeListing(3).score(1),
+            mal.updateAnimeListing(1).score(3)
+        );
+        final BulkUpdateResult<AnimeListStatus> result = mal.updateAnimeListings(updates);
+
+        Assertions.assertEquals(0, together.getCount(), Workflow.errorSupplier("Expected different IDs to be updated concurrently"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), sent.get(1L), Workflow.errorSupplier("Expected updates to the same ID to be sent in order"));
+        Assertions.assertEquals(5, result.getEntries().size());
+        Assertions.assertEquals(3, result.getEntries().get(4).getListStatus().getScore(), Workflow.errorSupplier("Expected results in input order"));
+    }
+
+    @Test
+    public void testInterrupt() throws InterruptedException{
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MyAnimeListImpl mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("updateAnimeListing")) return null;
+            started.countDown();
+            release.await();
+            return StubService.response(200, "{\"status\":\"watching\",\"score\":" + call.get("score") + '}');
+        }));
+        mal.setConcurrency(1);
+
+        final List<AnimeListUpdate> updates = Arrays.asList(
+            mal.updateAnimeListing(1).score(1),
+            mal.updateAnimeListing(2).score(1)
+        );
+        final BulkUpdateResult<?>[] result = new BulkUpdateResult<?>[1];
+        final Thread thread = new Thread(() -> result[0] = mal.updateAnimeListings(updates));
+        thread.start();
+        started.await();
+        thread.interrupt();
+        Thread.sleep(100);
+        Assertions.assertTrue(thread.isAlive(), Workflow.errorSupplier("Expected bulk update to wait for started updates"));
+        release.countDown();
+        thread.join(5000);
+
+        Assertions.assertNull(result[0].getEntries().get(0).getException(), Workflow.errorSupplier("Expected started update to be reported as sent"));
+        Assertions.assertTrue(result[0].getEntries().get(1).getException() instanceof CancellationException, Workflow.errorSupplier("Expected update that was not started to be cancelled"));
+    }
+
+}
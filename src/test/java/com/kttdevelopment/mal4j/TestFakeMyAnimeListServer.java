@@ -0,0 +1,103 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.*;
+import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.List;
+
+public class TestFakeMyAnimeListServer {
+
+    private static FakeMyAnimeListServer server;
+    private static MyAnimeList mal;
+
+    @BeforeAll
+    public static void beforeAll() throws IOException{
+        server = new FakeMyAnimeListServer(42).setCatalogSize(1200).setListSize(1234);
+        mal = server.create(null);
+    }
+
+    @AfterAll
+    public static void afterAll(){
+        server.close();
+    }
+
+    @AfterEach
+    public final void afterEach(){
+        server.setErrorRate(0).setRateLimit(0).setLatency(0, 0);
+    }
+
+    @Test
+    public void testSeeded() throws IOException{
+        try(final FakeMyAnimeListServer other = new FakeMyAnimeListServer(42)){
+            Assertions.assertEquals(server.media(true, 7, true), other.media(true, 7, true), Workflow.errorSupplier("Expected same seed to generate the same data"));
+        }
+        try(final FakeMyAnimeListServer other = new FakeMyAnimeListServer(43)){
+            Assertions.assertNotEquals(server.media(true, 7, true), other.media(true, 7, true), Workflow.errorSupplier("Expected different seed to generate different data"));
+        }
+
+        final Anime anime = mal.getAnime(7);
+        Assertions.assertEquals(7, anime.getID());
+        Assertions.assertTrue(anime.getTitle().startsWith("Anime 7 "), Workflow.errorSupplier("Expected synthetic title"));
+        Assertions.assertEquals(3, anime.getGenres().length);
+        Assertions.assertThrows(HttpException.class, () -> mal.getAnime(1201), Workflow.errorSupplier("Expected ID outside catalog to be not found"));
+    }
+
+    @Test
+    public void testPagination(){
+        final PaginatedIterator<AnimeListStatus> iterator = mal.getUserAnimeListing("user").withLimit(1000).searchAll();
+        int count = 0;
+        while(iterator.hasNext()){
+            Assertions.assertEquals(++count, iterator.next().getAnimePreview().getID());
+        }
+        Assertions.assertEquals(1234, count, Workflow.errorSupplier("Expected iterator to follow paging to the end of the list"));
+
+        final List<AnimeRanking> ranking = mal.getAnimeRanking(AnimeRankingType.All).withLimit(500).withOffset(1000).search();
+        Assertions.assertEquals(200, ranking.size(), Workflow.errorSupplier("Expected last page to be truncated"));
+        Assertions.assertEquals(1001, ranking.get(0).getRanking());
+
+        Assertions.assertThrows(HttpException.class, () -> mal.getAnime().withQuery("query").withLimit(101).search(), Workflow.errorSupplier("Expected limit above the endpoint maximum to be rejected"));
+    }
+
+    @Test
+    public void testUpdate(){
+        final AnimeListStatus status = mal.updateAnimeListing(5).status(AnimeStatus.Completed).score(9).update();
+        Assertions.assertEquals(AnimeStatus.Completed, status.getStatus());
+        Assertions.assertEquals(9, status.getScore());
+        mal.deleteAnimeListing(5);
+    }
+
+    @Test
+    public void testErrors(){
+        server.setErrorRate(1);
+        final HttpException e = Assertions.assertThrows(HttpException.class, () -> mal.getAnime(1));
+        Assertions.assertEquals(500, e.code());
+    }
+
+    @Test
+    public void testThrottle(){
+        server.setRateLimit(2);
+        final long throttled = server.getThrottled();
+        int code = 0;
+        for(int i = 0; i < 10 && code == 0; i++)
+            try{
+                mal.getAnime(1);
+            }catch(final HttpException e){
+                code = e.code();
+            }
+        Assertions.assertEquals(429, code, Workflow.errorSupplier("Expected requests over the rate limit to be throttled"));
+        Assertions.assertTrue(server.getThrottled() > throttled);
+    }
+
+    @Test
+    public void testLatency(){
+        server.setLatency(50, 50);
+        final long start = System.nanoTime();
+        mal.getAnime(1);
+        Assertions.assertTrue(System.nanoTime() - start >= 50_000_000L, Workflow.errorSupplier("Expected response to be delayed"));
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.user.User;
+import org.junit.jupiter.api.*;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestFieldProfiler {
+
+    private static User user(final String json){
+        return MyAnimeListSchema_User.asUser(null, (Json.JsonObject) Json.parse(json));
+    }
+
+    @Test
+    public void testDisabled(){
+        Assertions.assertNull(new FieldProfiler().profile("site", FieldSet.USER),
+                              Workflow.errorSupplier("Expected no profile when profiling is disabled"));
+    }
+
+    @Test
+    public void testProfile(){
+        final FieldProfiler profiler = new FieldProfiler();
+        profiler.setEnabled(true);
+
+        final FieldProfiler.Profile profile = profiler.profile("site", FieldSet.USER);
+        Assertions.assertSame(FieldSet.USER.all(), profile.request(),
+                              Workflow.errorSupplier("Expected first request to ask for all fields"));
+
+        final User first = MyAnimeListSchema_Profiled.asProfiledUser(user("{\"id\":1,\"time_zone\":\"UTC\",\"is_supporter\":true}"), FieldSet.USER.all(), profile, () -> null);
+        Assertions.assertEquals("UTC", first.getTimeZone());
+        Assertions.assertEquals(1, first.getID());
+        Assertions.assertEquals(Fields.User.timezone, profile.request().toString(),
+                                Workflow.errorSupplier("Expected later requests to only ask for used fields"));
+    }
+
+    @Test
+    public void testRefetch(){
+        final FieldProfiler profiler = new FieldProfiler();
+        profiler.setEnabled(true);
+        final FieldProfiler.Profile profile = profiler.profile("site", FieldSet.USER);
+
+        final AtomicInteger refetched = new AtomicInteger();
+        final User user = MyAnimeListSchema_Profiled.asProfiledUser(user("{\"id\":1}"), FieldSet.USER.none(), profile, () -> {
+            refetched.incrementAndGet();
+            return user("{\"id\":1,\"is_supporter\":true}");
+        });
+
+        Assertions.assertTrue(user.isSupporter(),
+                              Workflow.errorSupplier("Expected missing field to be refetched"));
+        Assertions.assertTrue(user.isSupporter());
+        Assertions.assertNull(user.getTimeZone());
+        Assertions.assertEquals(1, refetched.get(),
+                                Workflow.errorSupplier("Expected object to only be refetched once"));
+        Assertions.assertTrue(profile.used().contains(Fields.User.supporter));
+    }
+
+    @Test
+    public void testCallSite(){
+        final AtomicInteger requests = new AtomicInteger();
+        final MyAnimeListImpl mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getUser")) return null;
+            requests.incrementAndGet();
+            return StubService.response(200, "{\"id\":1,\"name\":\"user\",\"time_zone\":\"UTC\"}");
+        }));
+        mal.setFieldProfiling(true);
+
+        Assertions.assertEquals("UTC", mal.getUser("user").getTimeZone());
+        final Set<String> sites = mal.profiler.sites();
+        Assertions.assertEquals(1, sites.size());
+        Assertions.assertTrue(sites.iterator().next().startsWith(TestFieldProfiler.class.getName() + "#testCallSite:"),
+                              Workflow.errorSupplier("Expected call site to be the caller of MyAnimeList, was " + sites));
+    }
+
+}
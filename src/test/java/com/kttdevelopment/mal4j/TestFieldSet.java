@@ -0,0 +1,59 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+public class TestFieldSet {
+
+    private static final String inverted = "^%s$|^%s(?=,)|(?<=\\w)\\{%s}|(?:^|,)%s\\{.*?}|,%s|(?<=\\{)%s,";
+
+    private static Set<String> split(final String fields){
+        final Set<String> set = new HashSet<>(Arrays.asList(fields.split(",(?![^{]*})")));
+        set.remove(""); // regex removal may leave a leading comma
+        return set;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings={"genres", "id", "list_status", "start_date", "my_list_status", "statistics", "recommendations"})
+    public void testInverted(final String field){
+        final String expected = Fields.anime.replaceAll(inverted.replace("%s", Pattern.quote(field)), "");
+        final String actual   = FieldSet.ANIME.render(Arrays.asList(Fields.INVERTED, field));
+        Assertions.assertEquals(split(expected), split(actual),
+                                Workflow.errorSupplier("Expected inverted fields to match regex removal"));
+    }
+
+    @Test
+    public void testRender(){
+        Assertions.assertEquals(Fields.anime, FieldSet.ANIME.render(null));
+        Assertions.assertEquals("", FieldSet.ANIME.render(Collections.emptyList()));
+        Assertions.assertEquals(Fields.anime, FieldSet.ANIME.render(Collections.singletonList(Fields.INVERTED)));
+        Assertions.assertEquals("id,genres", FieldSet.ANIME.render(Arrays.asList("genres", "id")),
+                                Workflow.errorSupplier("Expected top level fields to be rendered in universe order"));
+        Assertions.assertEquals("id,list_status{start_date}", FieldSet.ANIME.render(Arrays.asList("id", " ", "list_status{start_date}")),
+                                Workflow.errorSupplier("Expected partial fields to be kept as is"));
+        Assertions.assertSame(FieldSet.ANIME.render(Arrays.asList("id", "genres")), FieldSet.ANIME.render(new ArrayList<>(Arrays.asList("id", "genres"))),
+                              Workflow.errorSupplier("Expected rendered fields to be cached"));
+    }
+
+    @Test
+    public void testSetAlgebra(){
+        final FieldSet a = FieldSet.ANIME.of(Fields.Anime.id, Fields.Anime.title);
+        final FieldSet b = FieldSet.ANIME.of(Fields.Anime.title, Fields.Anime.genres);
+
+        Assertions.assertSame(a, FieldSet.ANIME.of(Fields.Anime.title, Fields.Anime.id),
+                              Workflow.errorSupplier("Expected equal sets to be interned"));
+        Assertions.assertEquals(3, a.union(b).size());
+        Assertions.assertSame(FieldSet.ANIME.of(Fields.Anime.title), a.intersect(b));
+        Assertions.assertTrue(a.isSubsetOf(a.union(b)));
+        Assertions.assertFalse(a.union(b).isSubsetOf(a));
+        Assertions.assertSame(FieldSet.ANIME.all(), a.union(a.invert()));
+        Assertions.assertTrue(FieldSet.ANIME.all().contains("list_status"));
+        Assertions.assertEquals(Fields.anime, FieldSet.ANIME.all().toString());
+    }
+
+}
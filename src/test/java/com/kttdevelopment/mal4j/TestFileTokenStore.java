@@ -0,0 +1,55 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class TestFileTokenStore {
+
+    @TempDir
+    public File dir;
+
+    private static final AccessToken token = new AccessToken("Bearer", 3600, "access", "refresh");
+
+    @Test
+    public void testMissing() throws IOException{
+        Assertions.assertNull(new FileTokenStore(new File(dir, "missing.json")).load(),
+                              Workflow.errorSupplier("Expected a missing file to have no token"));
+    }
+
+    @Test
+    public void testPlain() throws IOException{
+        final File file = new File(dir, "token.json");
+        final FileTokenStore store = new FileTokenStore(file);
+        store.save(token);
+
+        final AccessToken loaded = store.load();
+        Assertions.assertEquals(token.getToken(), loaded.getToken());
+        Assertions.assertEquals(token.getRefreshToken(), loaded.getRefreshToken());
+        Assertions.assertEquals(token.getExpiry(), loaded.getExpiry(), Workflow.errorSupplier("Expected expiry to be kept as is"));
+        Assertions.assertEquals(1, dir.listFiles().length, Workflow.errorSupplier("Expected temporary file to be removed"));
+    }
+
+    @Test
+    public void testEncrypted() throws IOException{
+        final File file = new File(dir, "token.enc");
+        new FileTokenStore(file, "passphrase".toCharArray()).save(token);
+
+        Assertions.assertFalse(new String(Files.readAllBytes(file.toPath())).contains("refresh"),
+                               Workflow.errorSupplier("Expected token to be encrypted"));
+        Assertions.assertEquals(token.getToken(), new FileTokenStore(file, "passphrase".toCharArray()).load().getToken());
+        Assertions.assertThrows(IOException.class, () -> new FileTokenStore(file, "incorrect".toCharArray()).load(),
+                                Workflow.errorSupplier("Expected an incorrect passphrase to throw an IOException"));
+    }
+
+    @Test
+    public void testEmptyStore(){
+        Assertions.assertThrows(IllegalStateException.class, () -> new MyAnimeListAuthenticator("id", null, new FileTokenStore(new File(dir, "missing.json"))),
+                                Workflow.errorSupplier("Expected an empty store to throw an IllegalStateException"));
+    }
+
+}
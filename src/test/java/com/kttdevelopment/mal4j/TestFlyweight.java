@@ -0,0 +1,72 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.property.Picture;
+import org.junit.jupiter.api.*;
+
+public class TestFlyweight {
+
+    private static MyAnimeList create(){
+        return new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            throw new UnsupportedOperationException(call.getName());
+        }));
+    }
+
+    @Test
+    public void testCanonical(){
+        final MyAnimeList mal = create();
+        final Json.JsonObject a = (Json.JsonObject) Json.parse("{\"id\":1,\"name\":\"Sunrise\"}");
+        final Json.JsonObject b = (Json.JsonObject) Json.parse("{\"id\":1,\"name\":\"Sunrise\"}");
+        final Json.JsonObject c = (Json.JsonObject) Json.parse("{\"id\":1,\"name\":\"Bones\"}");
+
+        Assertions.assertSame(MyAnimeListSchema_Anime.asStudio(mal, a), MyAnimeListSchema_Anime.asStudio(mal, b),
+                              Workflow.errorSupplier("Expected equal studios to share an instance"));
+        Assertions.assertNotSame(MyAnimeListSchema_Anime.asStudio(mal, a), MyAnimeListSchema_Anime.asStudio(mal, c),
+                                 Workflow.errorSupplier("Expected studios with different names to not share an instance"));
+    }
+
+    @Test
+    public void testScope(){
+        final Json.JsonObject a = (Json.JsonObject) Json.parse("{\"id\":1,\"name\":\"Sunrise\"}");
+
+        Assertions.assertNotSame(MyAnimeListSchema_Anime.asStudio(create(), a), MyAnimeListSchema_Anime.asStudio(create(), a),
+                                 Workflow.errorSupplier("Expected instances to not be shared between MyAnimeList instances"));
+        Assertions.assertNotSame(MyAnimeListSchema_Anime.asStudio(null, a), MyAnimeListSchema_Anime.asStudio(null, a),
+                                 Workflow.errorSupplier("Expected instances to not be shared without a MyAnimeList"));
+    }
+
+    @Test
+    public void testPicture(){
+        final MyAnimeList mal = create();
+        final Picture a = MyAnimeListSchema_Common.asPicture(mal, (Json.JsonObject) Json.parse("{\"medium\":\"m\",\"large\":\"l\"}"));
+        final Picture b = MyAnimeListSchema_Common.asPicture(mal, (Json.JsonObject) Json.parse("{\"medium\":\"m\",\"large\":\"l\"}"));
+        Assertions.assertNotSame(a, b, Workflow.errorSupplier("Expected pictures to not be cached"));
+    }
+
+    @Test
+    public void testArrayKey(){
+        final Flyweight<Object> flyweight = new Flyweight<>(8);
+        final Object a = flyweight.get(Object::new, new String[]{"a"}, "b");
+        Assertions.assertSame(a, flyweight.get(Object::new, new String[]{"a"}, "b"),
+                              Workflow.errorSupplier("Expected array keys to be compared by content"));
+    }
+
+    @Test
+    public void testEviction(){
+        final Flyweight<Object> flyweight = new Flyweight<>(2);
+        final Object a = flyweight.get(Object::new, "a");
+        final Object b = flyweight.get(Object::new, "b");
+        Assertions.assertSame(a, flyweight.get(Object::new, "a")); // b is now least recently used
+        final Object c = flyweight.get(Object::new, "c");
+
+        Assertions.assertEquals(2, flyweight.size(),
+                                Workflow.errorSupplier("Expected cache to be bounded"));
+        Assertions.assertSame(a, flyweight.get(Object::new, "a"),
+                              Workflow.errorSupplier("Expected recently used value to be kept"));
+        Assertions.assertSame(c, flyweight.get(Object::new, "c"),
+                              Workflow.errorSupplier("Expected new value to be cached"));
+        Assertions.assertNotSame(b, flyweight.get(Object::new, "b"),
+                                 Workflow.errorSupplier("Expected least recently used value to be evicted"));
+    }
+
+}
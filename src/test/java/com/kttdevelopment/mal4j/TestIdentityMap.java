@@ -0,0 +1,135 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.Json.JsonObject;
+import com.kttdevelopment.mal4j.anime.AnimePreview;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestIdentityMap {
+
+    private static JsonObject json(final String json){
+        return (JsonObject) Json.parse(json);
+    }
+
+    @Test
+    public void testDisabled(){
+        final IdentityMap identity = new IdentityMap();
+        final JsonObject json = json("{\"id\":1,\"title\":\"a\"}");
+        Assertions.assertSame(json, identity.merge(FieldSet.ANIME, json, null));
+        Assertions.assertNull(identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.none()));
+        Assertions.assertEquals(0, identity.size());
+    }
+
+    @Test
+    public void testMerge(){
+        final IdentityMap identity = new IdentityMap();
+        identity.setEnabled(true);
+
+        identity.merge(FieldSet.ANIME, json("{\"id\":1,\"title\":\"a\",\"synopsis\":\"b\"}"), null);
+        final JsonObject merged = identity.merge(FieldSet.ANIME, json("{\"id\":1,\"title\":\"c\",\"mean\":8.5}"), null);
+
+        Assertions.assertEquals("c", merged.getString("title"), Workflow.errorSupplier("Expected newer values to replace older values"));
+        Assertions.assertEquals("b", merged.getString("synopsis"), Workflow.errorSupplier("Expected fields from earlier responses to be kept"));
+        Assertions.assertEquals(8.5, merged.getDouble("mean"));
+
+        Assertions.assertSame(merged, identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.parse("synopsis,mean", false)),
+                              Workflow.errorSupplier("Expected known fields to be answered locally"));
+        Assertions.assertNull(identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.parse("synopsis,genres", false)),
+                              Workflow.errorSupplier("Expected unknown fields to not be answered locally"));
+        Assertions.assertNull(identity.get(FieldSet.MANGA, 1, FieldSet.MANGA.none()),
+                              Workflow.errorSupplier("Expected Anime and Manga to be kept separately"));
+    }
+
+    @Test
+    public void testRequested(){
+        final IdentityMap identity = new IdentityMap();
+        identity.setEnabled(true);
+
+        identity.merge(FieldSet.ANIME, json("{\"id\":1,\"title\":\"a\"}"), FieldSet.ANIME.parse(Fields.anime, true));
+        Assertions.assertNotNull(identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.all()),
+                                 Workflow.errorSupplier("Expected requested fields missing from the response to be known"));
+
+        identity.merge(FieldSet.MANGA, json("{\"id\":2,\"my_list_status\":{}}"), FieldSet.MANGA.parse("my_list_status", true));
+        Assertions.assertNull(identity.get(FieldSet.MANGA, 2, FieldSet.MANGA.parse("my_list_status", false)),
+                              Workflow.errorSupplier("Expected partial nested fields to not be known"));
+
+        identity.setEnabled(false);
+        Assertions.assertEquals(0, identity.size(), Workflow.errorSupplier("Expected disabling to clear entries"));
+    }
+
+    @Test
+    public void testCapacity(){
+        final IdentityMap identity = new IdentityMap(2);
+        identity.setEnabled(true);
+
+        identity.merge(FieldSet.ANIME, json("{\"id\":1}"), null);
+        identity.merge(FieldSet.ANIME, json("{\"id\":2}"), null);
+        identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.none()); // 2 is now least recently used
+        identity.merge(FieldSet.ANIME, json("{\"id\":3}"), null);
+
+        Assertions.assertEquals(2, identity.size(), Workflow.errorSupplier("Expected identity map to be bounded"));
+        Assertions.assertNotNull(identity.get(FieldSet.ANIME, 1, FieldSet.ANIME.none()), Workflow.errorSupplier("Expected recently used ID to be kept"));
+        Assertions.assertNull(identity.get(FieldSet.ANIME, 2, FieldSet.ANIME.none()), Workflow.errorSupplier("Expected least recently used ID to be evicted"));
+    }
+
+    @Test
+    public void testListUpdate(){
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicInteger score = new AtomicInteger(5);
+        final MyAnimeList mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            switch(call.getName()){
+                case "getAnime":
+                    requests.incrementAndGet();
+                    return StubService.response(200, "{\"id\":1,\"my_list_status\":{\"status\":\"watching\",\"score\":" + score.get() + "}}");
+                case "updateAnimeListing":
+                    score.set((Integer) call.get("score"));
+                    return StubService.response(200, "{\"status\":\"watching\",\"score\":" + score.get() + '}');
+                case "deleteAnimeListing":
+                    return StubService.response(200, "{}");
+                default:
+                    return null;
+            }
+        }));
+        mal.setIdentityMap(true);
+
+        mal.getAnime(1, Fields.Anime.my_list_status);
+        mal.getAnime(1, Fields.Anime.my_list_status);
+        Assertions.assertEquals(1, requests.get(), Workflow.errorSupplier("Expected known fields to be answered locally"));
+
+        mal.updateAnimeListing(1).score(9).update();
+        Assertions.assertEquals(9, mal.getAnime(1, Fields.Anime.my_list_status).getListStatus().getScore(),
+                                Workflow.errorSupplier("Expected list update to evict the merged list status"));
+        Assertions.assertEquals(2, requests.get());
+
+        mal.deleteAnimeListing(1);
+        mal.getAnime(1, Fields.Anime.my_list_status);
+        Assertions.assertEquals(3, requests.get(), Workflow.errorSupplier("Expected list delete to evict the merged list status"));
+    }
+
+    @Test
+    public void testPreview(){
+        final AtomicInteger requests = new AtomicInteger();
+        final MyAnimeList mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getAnime")) return null;
+            if(call.get("anime_id") != null){
+                requests.incrementAndGet();
+                return StubService.response(200, "{\"id\":1,\"title\":\"a\",\"mean\":8.5}");
+            }
+            return StubService.response(200, "{\"data\":[{\"node\":{\"id\":1,\"title\":\"a\",\"synopsis\":\"b\"}}],\"paging\":{}}");
+        }));
+        mal.setIdentityMap(true);
+
+        mal.getAnime(1, "mean");
+        final List<AnimePreview> search = mal.getAnime().withQuery("a").search();
+        Assertions.assertEquals(8.5f, search.get(0).getMeanRating(),
+                                Workflow.errorSupplier("Expected search preview to be upgraded with known fields"));
+
+        Assertions.assertEquals("b", mal.getAnime(1, "synopsis").getSynopsis(),
+                                Workflow.errorSupplier("Expected fields from a search preview to be known"));
+        Assertions.assertEquals(1, requests.get(), Workflow.errorSupplier("Expected known fields to be answered locally"));
+    }
+
+}
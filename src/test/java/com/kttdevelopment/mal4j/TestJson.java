@@ -157,4 +157,56 @@ public class TestJson {
                                 Workflow.errorSupplier("Expected json['k'] to be 'v' for a json with new lines"));
     }
 
+    // strings
+
+    @Test
+    public void testQuotedSymbols(){
+        final JsonObject obj = (JsonObject) parse("{\"a\":\"x{y}[z],w\",\"b\":[\"c,d\",\"e]\",\"{\"],\"c\":{\"d\":\"}\"},\"e\":1}");
+        Assertions.assertEquals("x{y}[z],w", obj.getString("a"), Workflow.errorSupplier("Expected symbols in strings to not split the string"));
+        Assertions.assertArrayEquals(new String[]{"c,d", "e]", "{"}, obj.getStringArray("b"));
+        Assertions.assertEquals("}", obj.getJsonObject("c").getString("d"));
+        Assertions.assertEquals(1, obj.getInt("e"), Workflow.errorSupplier("Expected values after quoted symbols to be parsed"));
+    }
+
+    @Test
+    public void testEscapedQuotes(){
+        final JsonObject obj = (JsonObject) parse("{\"a\":\"say \\\"hi, {there}\\\"\",\"b\":[\"\\\"]\\\"\",\"c\"],\"d\":\"back\\\\\",\"e\":2}");
+        Assertions.assertEquals("say \"hi, {there}\"", obj.getString("a"), Workflow.errorSupplier("Expected escaped quotes to not end the string"));
+        Assertions.assertArrayEquals(new String[]{"\"]\"", "c"}, obj.getStringArray("b"));
+        Assertions.assertEquals(2, obj.getInt("e"), Workflow.errorSupplier("Expected an escaped backslash before a closing quote to end the string"));
+    }
+
+    @Test
+    public void testLongCompact(){
+        final StringBuilder json = new StringBuilder("{\"data\":[");
+        for(int i = 0; i < 5000; i++)
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"title\":\"a, [b]\"}");
+        json.append("]}");
+        final JsonObject[] data = ((JsonObject) parse(json.toString())).getJsonArray("data");
+        Assertions.assertEquals(5000, data.length);
+        Assertions.assertEquals(4999, data[4999].getInt("id"));
+        Assertions.assertEquals("a, [b]", data[4999].getString("title"));
+    }
+
+    @Test
+    public void testStringTable(){
+        final StringTable strings = new StringTable(16);
+        final JsonObject a = (JsonObject) parse("{\"status\":\"finished\",\"title\":\"Mob\",\"synopsis\":\"a long string value\"}", strings);
+        final JsonObject b = (JsonObject) parse("{\"status\":\"finished\",\"title\":\"Mob\",\"synopsis\":\"a long string value\"}", strings);
+
+        Assertions.assertSame(a.getString("status"), b.getString("status"),
+                              Workflow.errorSupplier("Expected enum-like values to be shared"));
+        Assertions.assertNotSame(a.getString("title"), b.getString("title"),
+                                 Workflow.errorSupplier("Expected short titles to not be shared"));
+        Assertions.assertNotSame(a.getString("synopsis"), b.getString("synopsis"),
+                                 Workflow.errorSupplier("Expected long values to not be shared"));
+        Assertions.assertEquals(4, strings.size(),
+                                Workflow.errorSupplier("Expected only keys and enum-like values to be shared"));
+
+        final StringTable full = new StringTable(1);
+        parse("{\"status\":\"finished\"}", full);
+        Assertions.assertEquals(1, full.size(),
+                                Workflow.errorSupplier("Expected string table to be bounded"));
+    }
+
 }
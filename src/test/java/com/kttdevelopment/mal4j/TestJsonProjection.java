@@ -0,0 +1,45 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+
+public class TestJsonProjection {
+
+    private static final String json =
+        "{\n" +
+        "  \"id\": 1,\n" +
+        "  \"title\": \"a, {b}\",\n" +
+        "  \"synopsis\": \"\\\"quoted\\\" }]\",\n" +
+        "  \"genres\": [{\"id\": 1, \"name\": \"Action\"}],\n" +
+        "  \"related_anime\": [{\"node\": {\"id\": 2, \"title\": \"c\", \"synopsis\": \"d\"}, \"relation_type\": \"sequel\"}],\n" +
+        "  \"mean\": 8.5\n" +
+        "}";
+
+    @Test
+    public void testProjection(){
+        final JsonProjection projection = JsonProjection.of("id,title,related_anime");
+        final Json.JsonObject root = (Json.JsonObject) projection.parse(json);
+        Assertions.assertEquals(3, root.size(), Workflow.errorSupplier("Expected unrequested fields to be skipped"));
+        Assertions.assertEquals("a, {b}", root.getString("title"));
+
+        final Json.JsonObject node = root.getJsonArray("related_anime")[0];
+        Assertions.assertEquals("sequel", node.getString("relation_type"), Workflow.errorSupplier("Expected non entity fields to be kept"));
+        Assertions.assertFalse(node.getJsonObject("node").containsKey("synopsis"), Workflow.errorSupplier("Expected node fields to be skipped"));
+        Assertions.assertEquals("c", node.getJsonObject("node").getString("title"));
+    }
+
+    @Test
+    public void testLastField(){
+        final Json.JsonObject root = (Json.JsonObject) JsonProjection.of("synopsis").parse(json);
+        Assertions.assertEquals(3, root.size());
+        Assertions.assertEquals("\"quoted\" }]", root.getString("synopsis"));
+    }
+
+    @Test
+    public void testAllFields(){
+        Assertions.assertSame(json, JsonProjection.of(null).project(json));
+        Assertions.assertSame(json, JsonProjection.of(Fields.anime).project(json),
+                              Workflow.errorSupplier("Expected json to be unchanged when all fields are requested"));
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+public class TestListDelta {
+
+    private static final DateTimeFormatter ISO8601 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx").withZone(ZoneOffset.UTC);
+
+    private static final long NEWEST = 1_600_000_000L; // seconds
+
+    private final List<Integer> limits = new ArrayList<>();
+
+    // list sorted by most recently updated, entry i was updated i seconds before the newest
+    private MyAnimeList create(final int size){
+        return new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getUserAnimeListing")) return null;
+            Assertions.assertEquals("list_updated_at", call.get("sort"));
+            final int limit  = (Integer) call.get("limit");
+            final int offset = call.get("offset") == null ? 0 : (Integer) call.get("offset");
+            limits.add(limit);
+            final StringBuilder OUT = new StringBuilder("{\"data\":[");
+            for(int i = offset, end = Math.min(offset + limit, size); i < end; i++)
+                OUT.append(i > offset ? "," : "")
+                   .append("{\"node\":{\"id\":").append(i + 1).append(",\"title\":\"Anime\"}")
+                   .append(",\"list_status\":{\"status\":\"watching\",\"updated_at\":\"").append(ISO8601.format(Instant.ofEpochSecond(NEWEST - i))).append("\"}}");
+            OUT.append("],\"paging\":{").append(offset + limit < size ? "\"next\":\"next\"" : "").append("}}");
+            return StubService.response(200, OUT.toString());
+        }));
+    }
+
+    private static long updated(final int i){
+        return (NEWEST - i) * 1000;
+    }
+
+    @Test
+    public void testPageSize(){
+        final ListDelta<AnimeListStatus> delta = create(3000).getUserAnimeListing("user").searchUpdatedSince(0);
+
+        Assertions.assertEquals(Arrays.asList(10, 20, 40, 80, 160, 320, 640, 1000, 1000), limits,
+                                Workflow.errorSupplier("Expected page size to double up to the endpoint maximum"));
+        Assertions.assertEquals(3000, delta.getChanged().size());
+        Assertions.assertEquals(updated(0), delta.getWatermark());
+    }
+
+    @Test
+    public void testLimit(){
+        create(100).getUserAnimeListing("user").withLimit(5).searchUpdatedSince(updated(20));
+        Assertions.assertEquals(Arrays.asList(5, 10, 20), limits,
+                                Workflow.errorSupplier("Expected first page size to be the query limit"));
+    }
+
+    @Test
+    public void testWatermark(){
+        final ListDelta<AnimeListStatus> delta = create(100).getUserAnimeListing("user").searchUpdatedSince(updated(15));
+
+        Assertions.assertEquals(15, delta.getChanged().size(), Workflow.errorSupplier("Expected entries at or below the watermark to not be included"));
+        Assertions.assertEquals(1, delta.getChanged().get(0).getAnimePreview().getID());
+        Assertions.assertEquals(15, delta.getChanged().get(14).getAnimePreview().getID());
+        Assertions.assertEquals(Arrays.asList(10, 20), limits, Workflow.errorSupplier("Expected reading to stop at the watermark"));
+        Assertions.assertEquals(updated(0), delta.getWatermark(), Workflow.errorSupplier("Expected watermark to advance to the newest entry"));
+    }
+
+    @Test
+    public void testUnchanged(){
+        final ListDelta<AnimeListStatus> delta = create(100).getUserAnimeListing("user").searchUpdatedSince(updated(0));
+
+        Assertions.assertTrue(delta.getChanged().isEmpty());
+        Assertions.assertEquals(updated(0), delta.getWatermark(), Workflow.errorSupplier("Expected watermark to be kept"));
+        Assertions.assertEquals(Collections.singletonList(10), limits);
+    }
+
+}
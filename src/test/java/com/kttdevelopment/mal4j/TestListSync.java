@@ -0,0 +1,64 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
+import com.kttdevelopment.mal4j.property.Priority;
+import com.kttdevelopment.mal4j.query.AnimeListUpdate;
+import org.junit.jupiter.api.*;
+
+import java.util.GregorianCalendar;
+
+public class TestListSync {
+
+    private static AnimeListStatus status;
+
+    @BeforeAll
+    public static void beforeAll(){
+        status = MyAnimeListSchema_Anime.asAnimeListStatus(
+            null,
+            (Json.JsonObject) Json.parse("{\"status\":\"watching\",\"score\":7,\"num_episodes_watched\":3,\"is_rewatching\":false,\"start_date\":\"2021-04-05\",\"priority\":0,\"tags\":[\"a\",\"b\"],\"comments\":\"\"}"),
+            1
+        );
+    }
+
+    private static AnimeListUpdate create(){
+        return new AnimeListUpdate(1){
+
+            @Override
+            public final AnimeListStatus update(){
+                return null;
+            }
+
+        };
+    }
+
+    @Test
+    public void testUnchanged(){
+        final AnimeListUpdate update = create()
+            .status(AnimeStatus.Watching)
+            .score(7)
+            .episodesWatched(3)
+            .rewatching(false)
+            .startDate(new GregorianCalendar(2021, 3, 5, 12, 0).getTime())
+            .priority(Priority.Low)
+            .tags("a", "b")
+            .comments("");
+        Assertions.assertFalse(update.retainChanges(status).hasChanges(),
+                               Workflow.errorSupplier("Expected update matching the current status to have no changes"));
+    }
+
+    @Test
+    public void testChanged(){
+        final AnimeListUpdate update = create()
+            .status(AnimeStatus.Watching)
+            .score(8)
+            .tags("a");
+        Assertions.assertTrue(update.retainChanges(status).hasChanges(),
+                              Workflow.errorSupplier("Expected changed fields to be kept"));
+        Assertions.assertTrue(create().score(8).retainChanges(status).hasChanges());
+        Assertions.assertTrue(create().episodesWatched(4).retainChanges(status).hasChanges());
+        Assertions.assertTrue(create().startDate(new GregorianCalendar(2021, 3, 6).getTime()).retainChanges(status).hasChanges());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.query.AnimeListUpdate;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class TestListUpdateBuffer {
+
+    private final List<List<Long>> flushes = new CopyOnWriteArrayList<>();
+    private final Map<Long,Integer> episodes = new ConcurrentHashMap<>();
+    private final Map<Long,Integer> scores = new ConcurrentHashMap<>();
+
+    private AnimeListUpdate create(final long id){
+        return new AnimeListUpdate(id){
+
+            @Override
+            public final AnimeListStatus update(){
+                if(watchedEpisodes != null) episodes.put(id, watchedEpisodes);
+                if(score != null) scores.put(id, score);
+                return null;
+            }
+
+        };
+    }
+
+    private BulkUpdateResult<AnimeListStatus> flush(final Collection<AnimeListUpdate> updates){
+        final List<Long> ids = new ArrayList<>();
+        final List<BulkUpdateResult.Entry<AnimeListStatus>> entries = new ArrayList<>();
+        for(final AnimeListUpdate update : updates){
+            ids.add(update.getID());
+            entries.add(new BulkUpdateResult.Entry<>(update.getID(), update.update(), null, 0));
+        }
+        flushes.add(ids);
+        return new BulkUpdateResult<>(entries, 0);
+    }
+
+    @Test
+    public void testMerge(){
+        try(final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> buffer = new ListUpdateBuffer<>(this::create, this::flush, 0, 10, null)){
+            buffer.submit(create(1).episodesWatched(1).score(5));
+            buffer.submit(create(1).episodesWatched(2));
+            buffer.submit(create(2).episodesWatched(1));
+            buffer.submit(create(1).episodesWatched(3));
+
+            Assertions.assertEquals(2, buffer.getPendingCount(),
+                                    Workflow.errorSupplier("Expected updates to the same ID to be merged"));
+            Assertions.assertEquals(2, buffer.flush().getSuccessCount());
+        }
+        Assertions.assertEquals(Collections.singletonList(Arrays.asList(1L, 2L)), flushes,
+                                Workflow.errorSupplier("Expected a single flush with one update per ID"));
+        Assertions.assertEquals(3, episodes.get(1L),
+                                Workflow.errorSupplier("Expected last write to win"));
+        Assertions.assertEquals(5, scores.get(1L),
+                                Workflow.errorSupplier("Expected fields not set by later updates to be kept"));
+    }
+
+    @Test
+    public void testBatchSize() throws InterruptedException{
+        final CountDownLatch latch = new CountDownLatch(1);
+        try(final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> buffer = new ListUpdateBuffer<>(this::create, this::flush, 0, 2, new BatchListener<AnimeListStatus>(){
+
+            @Override
+            public final void onResult(final long id, final AnimeListStatus result){
+                if(id == 2)
+                    latch.countDown();
+            }
+
+        })){
+            buffer.submit(create(1).episodesWatched(1));
+            buffer.submit(create(2).episodesWatched(1));
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS),
+                                  Workflow.errorSupplier("Expected buffer to flush when batch size was reached"));
+        }
+    }
+
+    @Test
+    public void testDelay() throws InterruptedException{
+        final CountDownLatch latch = new CountDownLatch(1);
+        try(final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> buffer = new ListUpdateBuffer<>(this::create, this::flush, 100, 10, new BatchListener<AnimeListStatus>(){
+
+            @Override
+            public final void onResult(final long id, final AnimeListStatus result){
+                latch.countDown();
+            }
+
+        })){
+            buffer.submit(create(1).episodesWatched(1));
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS),
+                                  Workflow.errorSupplier("Expected buffer to flush after delay"));
+        }
+    }
+
+    @Test
+    public void testClosed(){
+        final ListUpdateBuffer<AnimeListUpdate,AnimeListStatus> buffer = new ListUpdateBuffer<>(this::create, this::flush, 0, 10, null);
+        buffer.submit(create(1).episodesWatched(1));
+        buffer.close();
+        Assertions.assertEquals(1, flushes.size(),
+                                Workflow.errorSupplier("Expected close to flush pending updates"));
+        Assertions.assertThrows(IllegalStateException.class, () -> buffer.submit(create(1)),
+                                Workflow.errorSupplier("Expected closed buffer to reject updates"));
+    }
+
+    @Test
+    public void testMergeDifferentID(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> create(1).merge(create(2)),
+                                Workflow.errorSupplier("Expected merge of different IDs to throw an IllegalArgumentException"));
+    }
+
+}
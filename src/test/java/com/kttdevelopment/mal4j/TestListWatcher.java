@@ -0,0 +1,140 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class TestListWatcher {
+
+    private static final DateTimeFormatter ISO8601 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx").withZone(ZoneOffset.UTC);
+
+    // anime ID -> updated at, in seconds
+    private final Map<Long,Long> list = new ConcurrentHashMap<>();
+    // anime IDs only listed when nsfw is requested
+    private final Set<Long> nsfw = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Long> checks = new LinkedBlockingQueue<>();
+
+    private MyAnimeList mal;
+
+    @BeforeEach
+    public final void beforeEach(){
+        list.put(1L, 1_600_000_000L);
+        list.put(2L, 1_600_000_100L);
+        mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getUserAnimeListing")) return null;
+            final int limit  = (Integer) call.get("limit");
+            final int offset = call.get("offset") == null ? 0 : (Integer) call.get("offset");
+            if(limit == 1)
+                checks.add(System.nanoTime());
+            final boolean includeNSFW = Boolean.TRUE.equals(call.get("nsfw"));
+            final List<Map.Entry<Long,Long>> sorted = new ArrayList<>();
+            for(final Map.Entry<Long,Long> entry : list.entrySet())
+                if(includeNSFW || !nsfw.contains(entry.getKey()))
+                    sorted.add(entry);
+            sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            final StringBuilder OUT = new StringBuilder("{\"data\":[");
+            for(int i = offset, end = Math.min(offset + limit, sorted.size()); i < end; i++)
+                OUT.append(i > offset ? "," : "")
+                   .append("{\"node\":{\"id\":").append(sorted.get(i).getKey()).append(",\"title\":\"Anime\"}")
+                   .append(",\"list_status\":{\"status\":\"watching\",\"updated_at\":\"").append(ISO8601.format(Instant.ofEpochSecond(sorted.get(i).getValue()))).append("\"}}");
+            OUT.append("],\"paging\":{").append(offset + limit < sorted.size() ? "\"next\":\"next\"" : "").append("}}");
+            return StubService.response(200, OUT.toString());
+        }));
+    }
+
+    @Test
+    public void testChange() throws InterruptedException{
+        final BlockingQueue<ListDelta<AnimeListStatus>> changes = new LinkedBlockingQueue<>();
+        try(final ListWatcher watcher = mal.createListWatcher(20, 20)){
+            watcher.addListener(new ListWatcherListener(){
+                @Override
+                public final void onAnimeListChanged(final String username, final ListDelta<AnimeListStatus> delta){
+                    changes.add(delta);
+                }
+            });
+            watcher.watchAnime("user");
+            Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+            Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(changes.isEmpty(), Workflow.errorSupplier("Expected unchanged list to not be reported"));
+
+            list.put(1L, 1_600_000_200L);
+            final ListDelta<AnimeListStatus> delta = changes.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(delta, Workflow.errorSupplier("Expected change to be reported"));
+            Assertions.assertEquals(1, delta.getChanged().size());
+            Assertions.assertEquals(1, delta.getChanged().get(0).getAnimePreview().getID());
+            Assertions.assertEquals(1_600_000_200_000L, delta.getWatermark());
+        }
+    }
+
+    @Test
+    public void testNSFW() throws InterruptedException{
+        final BlockingQueue<ListDelta<AnimeListStatus>> changes = new LinkedBlockingQueue<>();
+        try(final ListWatcher watcher = mal.createListWatcher(20, 20)){
+            watcher.addListener(new ListWatcherListener(){
+                @Override
+                public final void onAnimeListChanged(final String username, final ListDelta<AnimeListStatus> delta){
+                    changes.add(delta);
+                }
+            });
+            watcher.watchAnime("user");
+            Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+            Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+
+            nsfw.add(3L);
+            list.put(3L, 1_600_000_200L);
+            final ListDelta<AnimeListStatus> delta = changes.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(delta, Workflow.errorSupplier("Expected NSFW change to be reported"));
+            Assertions.assertEquals(1, delta.getChanged().size());
+            Assertions.assertEquals(3, delta.getChanged().get(0).getAnimePreview().getID());
+        }
+    }
+
+    @Test
+    public void testBackoff() throws InterruptedException{
+        try(final ListWatcher watcher = mal.createListWatcher(50, 400)){
+            watcher.watchAnime("user");
+            final long[] times = new long[6];
+            for(int i = 0; i < times.length; i++){
+                final Long time = checks.poll(5, TimeUnit.SECONDS);
+                Assertions.assertNotNull(time);
+                times[i] = time;
+            }
+            final long first = TimeUnit.NANOSECONDS.toMillis(times[2] - times[1]);
+            final long last  = TimeUnit.NANOSECONDS.toMillis(times[5] - times[4]);
+            Assertions.assertTrue(first < 200, Workflow.errorSupplier("Expected idle list to start near the minimum interval, was " + first));
+            Assertions.assertTrue(last >= 350, Workflow.errorSupplier("Expected idle list interval to double up to the maximum, was " + last));
+        }
+    }
+
+    @Test
+    public void testStop() throws InterruptedException{
+        final ListWatcher watcher = mal.createListWatcher(20, 20);
+        watcher.watchAnime("user");
+        Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Collections.singleton("user"), watcher.getWatchedAnime());
+
+        watcher.unwatchAnime("user");
+        Assertions.assertTrue(watcher.getWatchedAnime().isEmpty());
+        Thread.sleep(100);
+        checks.clear();
+        Thread.sleep(100);
+        Assertions.assertTrue(checks.isEmpty(), Workflow.errorSupplier("Expected unwatched user to not be checked"));
+
+        watcher.watchAnime("user");
+        Assertions.assertNotNull(checks.poll(5, TimeUnit.SECONDS));
+        watcher.close();
+        Assertions.assertTrue(watcher.getWatchedAnime().isEmpty());
+        Thread.sleep(100);
+        checks.clear();
+        Thread.sleep(100);
+        Assertions.assertTrue(checks.isEmpty(), Workflow.errorSupplier("Expected closed watcher to stop checking"));
+        Assertions.assertThrows(IllegalStateException.class, () -> watcher.watchAnime("user"));
+    }
+
+}
@@ -1,10 +1,18 @@
 package com.kttdevelopment.mal4j;
 
 import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.Anime;
+import com.kttdevelopment.mal4j.anime.property.AnimeRetrievable;
+import com.kttdevelopment.mal4j.manga.Manga;
+import com.kttdevelopment.mal4j.manga.property.MangaRetrievable;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
 public class TestMyAnimeList {
 
     private static MyAnimeList mal;
@@ -68,6 +76,119 @@ public class TestMyAnimeList {
                                 Workflow.errorSupplier("Expected MyAnimeList#getUser of null user to throw a NullPointerException"));
     }
 
+    @Test
+    public void testNullBatchAnime(){
+        Assertions.assertThrows(NullPointerException.class, () -> mal.getAnime((java.util.Collection<Long>) null),
+                                Workflow.errorSupplier("Expected MyAnimeList#getAnime of null IDs to throw a NullPointerException"));
+    }
+
+    @Test
+    public void testNullBatchManga(){
+        Assertions.assertThrows(NullPointerException.class, () -> mal.getManga((java.util.Collection<Long>) null),
+                                Workflow.errorSupplier("Expected MyAnimeList#getManga of null IDs to throw a NullPointerException"));
+    }
+
+    @Test
+    public void testNullBulkUpdate(){
+        Assertions.assertThrows(NullPointerException.class, () -> mal.updateAnimeListings(null),
+                                Workflow.errorSupplier("Expected MyAnimeList#updateAnimeListings of null to throw a NullPointerException"));
+        Assertions.assertThrows(NullPointerException.class, () -> mal.updateMangaListings(null),
+                                Workflow.errorSupplier("Expected MyAnimeList#updateMangaListings of null to throw a NullPointerException"));
+    }
+
+    @Test
+    public void testRefreshWithoutAuthenticator(){
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mal.refreshOAuthToken(),
+                                Workflow.errorSupplier("Expected MyAnimeList#refreshOAuthToken without an authenticator to throw an UnsupportedOperationException"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mal.setAutomaticTokenRefresh(true),
+                                Workflow.errorSupplier("Expected MyAnimeList#setAutomaticTokenRefresh without an authenticator to throw an UnsupportedOperationException"));
+    }
+
+    @Test
+    public void testResolve(){
+        Assertions.assertThrows(NullPointerException.class, () -> mal.resolveAnime(null),
+                                Workflow.errorSupplier("Expected MyAnimeList#resolveAnime of null to throw a NullPointerException"));
+        Assertions.assertThrows(NullPointerException.class, () -> mal.resolveManga(null),
+                                Workflow.errorSupplier("Expected MyAnimeList#resolveManga of null to throw a NullPointerException"));
+        Assertions.assertEquals(Arrays.asList(null, null), mal.resolveAnime(Arrays.<AnimeRetrievable>asList(() -> null, () -> null)),
+                                Workflow.errorSupplier("Expected items without an ID to be retrieved from the item, in order"));
+    }
+
+    // counts requests by ID; the first four requests wait for each other, so they must run concurrently
+    private static MyAnimeListImpl resolver(final String method, final String param, final Map<Long,Integer> requests, final CountDownLatch together){
+        return new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals(method) || call.get(param) == null) return null;
+            final long id = (Long) call.get(param);
+            requests.merge(id, 1, Integer::sum);
+            together.countDown();
+            if(!together.await(5, TimeUnit.SECONDS))
+                requests.put(-1L, 0); // timed out waiting for the other requests
+            return StubService.response(200, "{\"id\":" + id + ",\"title\":\"" + id + "\"}");
+        }));
+    }
+
+    private static Json.JsonObject node(final long id){
+        return (Json.JsonObject) Json.parse("{\"id\":" + id + ",\"title\":\"" + id + "\"}");
+    }
+
+    @Test
+    public void testResolveAnime(){
+        final Map<Long,Integer> requests = new ConcurrentHashMap<>();
+        final CountDownLatch together = new CountDownLatch(4);
+        final MyAnimeListImpl mal = resolver("getAnime", "anime_id", requests, together);
+
+        final List<AnimeRetrievable> items = new ArrayList<>();
+        for(final long id : new long[]{3, 1, 3, 2, 1})
+            items.add(MyAnimeListSchema_Anime.asAnimePreview(mal, node(id)));
+        items.add(() -> mal.getAnime(9)); // no ID, retrieved from the item
+
+        final List<Anime> resolved = mal.resolveAnime(items);
+        Assertions.assertEquals(Arrays.asList(3L, 1L, 3L, 2L, 1L, 9L), resolved.stream().map(Anime::getID).collect(Collectors.toList()),
+                                Workflow.errorSupplier("Expected results in input order, including duplicates"));
+        Assertions.assertEquals(Arrays.asList(1, 1, 1, 1), requests.entrySet().stream().filter(e -> e.getKey() > 0).map(Map.Entry::getValue).collect(Collectors.toList()),
+                                Workflow.errorSupplier("Expected each unique ID to be requested once"));
+        Assertions.assertFalse(requests.containsKey(-1L), Workflow.errorSupplier("Expected requests to run concurrently"));
+    }
+
+    @Test
+    public void testResolveManga(){
+        final Map<Long,Integer> requests = new ConcurrentHashMap<>();
+        final CountDownLatch together = new CountDownLatch(4);
+        final MyAnimeListImpl mal = resolver("getManga", "manga_id", requests, together);
+
+        final List<MangaRetrievable> items = new ArrayList<>();
+        for(final long id : new long[]{3, 1, 3, 2, 1})
+            items.add(MyAnimeListSchema_Manga.asMangaPreview(mal, node(id)));
+        items.add(() -> mal.getManga(9));
+
+        final List<Manga> resolved = mal.resolveManga(items);
+        Assertions.assertEquals(Arrays.asList(3L, 1L, 3L, 2L, 1L, 9L), resolved.stream().map(Manga::getID).collect(Collectors.toList()),
+                                Workflow.errorSupplier("Expected results in input order, including duplicates"));
+        Assertions.assertEquals(Arrays.asList(1, 1, 1, 1), requests.entrySet().stream().filter(e -> e.getKey() > 0).map(Map.Entry::getValue).collect(Collectors.toList()),
+                                Workflow.errorSupplier("Expected each unique ID to be requested once"));
+        Assertions.assertFalse(requests.containsKey(-1L), Workflow.errorSupplier("Expected requests to run concurrently"));
+    }
+
+    @Test
+    public void testInvalidWatcherInterval(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.createListWatcher(0, 1000),
+                                Workflow.errorSupplier("Expected MyAnimeList#createListWatcher with a minimum interval of 0 to throw an IllegalArgumentException"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.createListWatcher(1000, 10),
+                                Workflow.errorSupplier("Expected MyAnimeList#createListWatcher with a maximum interval less than the minimum to throw an IllegalArgumentException"));
+    }
+
+    @Test
+    public void testInvalidConcurrency(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.setConcurrency(0),
+                                Workflow.errorSupplier("Expected MyAnimeList#setConcurrency of 0 to throw an IllegalArgumentException"));
+    }
+
+    @Test
+    public void testInvalidRateLimit(){
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.setRateLimit(-1),
+                                Workflow.errorSupplier("Expected MyAnimeList#setRateLimit of -1 to throw an IllegalArgumentException"));
+    }
+
     private static final String inverted = "^%s$|^%s(?=,)|(?<=\\w)\\{%s}|(?:^|,)%s\\{.*?}|,%s|(?<=\\{)%s,";
 
     @ParameterizedTest
@@ -0,0 +1,119 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.APIStruct.Response;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class TestMyAnimeListPool {
+
+    @Test
+    public void testLaneFairness() throws InterruptedException{
+        final BatchExecutor shared = new BatchExecutor(1);
+        final BatchExecutor a = shared.lane();
+        final BatchExecutor b = shared.lane();
+
+        final List<String> order = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<?>> futures = new ArrayList<>();
+        futures.add(a.submit(() -> {
+            started.countDown();
+            release.await();
+            return order.add("a");
+        }));
+        for(int i = 0; i < 4; i++)
+            futures.add(a.submit(() -> order.add("a")));
+        started.await();
+        futures.add(b.submit(() -> order.add("b")));
+        release.countDown();
+
+        BatchExecutor.await(futures);
+        Assertions.assertEquals(6, order.size());
+        Assertions.assertEquals(1, order.indexOf("b"),
+                                Workflow.errorSupplier("Expected lanes to take turns on shared threads"));
+    }
+
+    @Test
+    public void testBatchError(){
+        final BatchExecutor executor = new BatchExecutor(2);
+        final List<Long> failed = Collections.synchronizedList(new ArrayList<>());
+        final Map<Long,Long> results = executor.map(Arrays.asList(1L, 2L), id -> {
+            if(id == 2) throw new IllegalStateException();
+            return id;
+        }, new BatchListener<Long>(){
+            @Override
+            public final void onFailure(final long id, final Throwable e){
+                failed.add(id);
+            }
+        });
+        Assertions.assertEquals(Collections.singletonMap(1L, 1L), results);
+        Assertions.assertEquals(Collections.singletonList(2L), failed);
+
+        Assertions.assertThrows(AssertionError.class, () -> executor.map(Collections.singletonList(1L), id -> { throw new AssertionError(); }, null),
+                                Workflow.errorSupplier("Expected errors to propagate"));
+    }
+
+    @Test
+    public void testInterrupt() throws IOException{
+        try(final FakeMyAnimeListServer server = new FakeMyAnimeListServer(1)){
+            final RateLimiter limiter = new RateLimiter();
+            limiter.setRate(1);
+            final MyAnimeList mal = server.create(limiter);
+            mal.getAnime(1);
+
+            Thread.currentThread().interrupt();
+            final UncheckedIOException e = Assertions.assertThrows(UncheckedIOException.class, () -> mal.getAnime(2),
+                                                                  Workflow.errorSupplier("Expected interrupt while waiting on the rate limit to be unchecked"));
+            Assertions.assertTrue(Thread.interrupted(), Workflow.errorSupplier("Expected interrupt flag to be kept"));
+            Assertions.assertTrue(e.getCause() instanceof InterruptedIOException);
+        }
+    }
+
+    @Test
+    public void testResponseCache() throws InterruptedException{
+        Assertions.assertTrue(ResponseCache.isPublic(MyAnimeListService.baseURL + "anime/1?fields=id,title"));
+        Assertions.assertFalse(ResponseCache.isPublic(MyAnimeListService.baseURL + "anime/1?fields=id,my_list_status"),
+                               Workflow.errorSupplier("Expected my_list_status to not be cached"));
+        Assertions.assertFalse(ResponseCache.isPublic(MyAnimeListService.baseURL + "users/@me/animelist"),
+                               Workflow.errorSupplier("Expected user endpoints to not be cached"));
+
+        final ResponseCache cache = new ResponseCache(1, 50);
+        final Response<String> response = new Response<>("a", "", "", 200);
+        cache.put("a", response);
+        cache.put("b", response);
+        Assertions.assertSame(response, cache.get("a"));
+        Assertions.assertNull(cache.get("b"), Workflow.errorSupplier("Expected cache to be bounded"));
+        Thread.sleep(100);
+        Assertions.assertNull(cache.get("a"), Workflow.errorSupplier("Expected responses to expire"));
+    }
+
+    @Test
+    public void testPool(){
+        final MyAnimeListPool pool = new MyAnimeListPool();
+        final MyAnimeList mal = pool.withOAuthToken("Bearer null");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mal.setRateLimit(1),
+                                Workflow.errorSupplier("Expected pooled rate limit to only be set by the pool"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.withOAuthToken("x"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.setCacheDuration(-1));
+        mal.setConcurrency(1);
+    }
+
+    @Test
+    public void testClientID(){
+        Assertions.assertThrows(NullPointerException.class, () -> MyAnimeList.withClientID(null));
+        final MyAnimeList mal = MyAnimeList.withClientID("client");
+        Assertions.assertThrows(UnsupportedOperationException.class, mal::refreshOAuthToken,
+                                Workflow.errorSupplier("Expected client ID instance to not refresh tokens"));
+
+        final MyAnimeListPool pool = new MyAnimeListPool();
+        Assertions.assertSame(pool.service("client"), pool.service("client"),
+                              Workflow.errorSupplier("Expected one service per client ID"));
+        Assertions.assertNotNull(pool.withClientID("client"));
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPageLimit {
+
+    private static FakeMyAnimeListServer server;
+    private static MyAnimeList mal;
+
+    @BeforeAll
+    public static void beforeAll() throws IOException{
+        server = new FakeMyAnimeListServer(1).setCatalogSize(1200);
+        mal = server.create(null);
+    }
+
+    @AfterAll
+    public static void afterAll(){
+        server.close();
+    }
+
+    @AfterEach
+    public final void afterEach(){
+        server.setMaxLimit(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testMaxLimitIterator(){
+        final PaginatedIterator<?> iterator = mal.getAnimeRanking(AnimeRankingType.All).withNoFields().withMaxLimit().searchAll();
+        Assertions.assertTrue(server.getLastQuery().contains("limit=500"), Workflow.errorSupplier("Expected iterator page size to be the endpoint max limit"));
+        Assertions.assertEquals(500, iterator.toList().size());
+        Assertions.assertEquals(1200, count(iterator));
+    }
+
+    private static int count(final PaginatedIterator<?> iterator){
+        int count = 0;
+        while(iterator.hasNext()){
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testFallback(){
+        server.setMaxLimit(100);
+        final long requests = server.getRequests();
+        final PaginatedIterator<?> iterator = mal.getAnimeRanking(AnimeRankingType.All).withNoFields().withMaxLimit().searchAll();
+        Assertions.assertEquals(100, iterator.toList().size());
+        Assertions.assertEquals(1200, count(iterator));
+        Assertions.assertTrue(server.getLastQuery().contains("limit=100"), Workflow.errorSupplier("Expected rejected limit to fall back"));
+        Assertions.assertEquals(requests + 1 + 12, server.getRequests(), Workflow.errorSupplier("Expected rejected limit to be retried once"));
+
+        server.setMaxLimit(Integer.MAX_VALUE);
+        mal.getAnimeRanking(AnimeRankingType.All).withNoFields().withMaxLimit().searchAll();
+        Assertions.assertTrue(server.getLastQuery().contains("limit=500"), Workflow.errorSupplier("Expected fallback to not change the limit of other iterators"));
+    }
+
+    @Test
+    public void testBadRequest(){
+        final long requests = server.getRequests();
+        Assertions.assertThrows(HttpException.class, () -> mal.getAnime().withQuery("a").withNoFields().withMaxLimit().searchAll(), Workflow.errorSupplier("Expected invalid query to fail"));
+        Assertions.assertEquals(requests + 1, server.getRequests(), Workflow.errorSupplier("Expected invalid query to not be retried"));
+
+        mal.getAnime().withQuery("query").withNoFields().withMaxLimit().searchAll();
+        Assertions.assertTrue(server.getLastQuery().contains("limit=100"), Workflow.errorSupplier("Expected invalid query to not change the max limit"));
+    }
+
+    @Test
+    public void testSafeLimit(){
+        server.setMaxLimit(50);
+        final long requests = server.getRequests();
+        Assertions.assertThrows(HttpException.class, () -> mal.getAnime().withQuery("query").withNoFields().withMaxLimit().searchAll());
+        Assertions.assertEquals(requests + 1, server.getRequests(), Workflow.errorSupplier("Expected limit that can not be lowered to not be retried"));
+    }
+
+    @Test
+    public void testUnrelatedBadRequest(){
+        final AtomicInteger requests = new AtomicInteger();
+        final MyAnimeList mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getAnimeRanking")) return null;
+            requests.incrementAndGet();
+            return StubService.response(400, "{\"message\":\"Request limit exceeded\",\"error\":\"bad_request\"}");
+        }));
+
+        final HttpException e = Assertions.assertThrows(HttpException.class, () -> mal.getAnimeRanking(AnimeRankingType.All).withNoFields().withMaxLimit().searchAll());
+        Assertions.assertEquals(400, e.code());
+        Assertions.assertEquals(1, requests.get(), Workflow.errorSupplier("Expected bad request unrelated to the limit parameter to not be retried"));
+    }
+
+}
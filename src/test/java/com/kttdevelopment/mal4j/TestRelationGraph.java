@@ -0,0 +1,70 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+public class TestRelationGraph {
+
+    private static MyAnimeList mal;
+
+    @BeforeAll
+    public static void beforeAll(){
+        mal = MyAnimeList.withOAuthToken("Bearer null");
+    }
+
+    @Test
+    public void testLongIndex(){
+        final LongIndex index = new LongIndex(1);
+        for(int i = 0; i < 1000; i++)
+            Assertions.assertTrue(index.add(i * 31L, i));
+        Assertions.assertFalse(index.add(31L, 5), Workflow.errorSupplier("Expected duplicate IDs to not be added"));
+        Assertions.assertEquals(1000, index.size());
+        Assertions.assertEquals(1, index.get(31L), Workflow.errorSupplier("Expected index to be kept after resizing"));
+        Assertions.assertEquals(-1, index.get(32L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.add(Long.MIN_VALUE, 0));
+    }
+
+    @Test
+    public void testSeeds(){
+        final RelationGraph graph = mal.getRelationGraph(Arrays.asList(1L, 2L, 1L), Arrays.asList(1L, 3L), 0, 3);
+        Assertions.assertEquals(3, graph.getNodes().size(), Workflow.errorSupplier("Expected seeds to be deduplicated and bounded by max nodes"));
+        Assertions.assertTrue(graph.getNodes().get(0).isAnime());
+        Assertions.assertFalse(graph.getNodes().get(2).isAnime(), Workflow.errorSupplier("Expected Anime and Manga IDs to be separate"));
+        Assertions.assertTrue(graph.getEdges().isEmpty());
+        Assertions.assertTrue(graph.getEdges(graph.getNodes().get(0)).isEmpty());
+    }
+
+    @Test
+    public void testInvalid(){
+        Assertions.assertThrows(NullPointerException.class, () -> mal.getRelationGraph(null, Collections.emptyList(), 1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.getRelationGraph(Collections.emptyList(), Collections.emptyList(), -1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mal.getRelationGraph(Collections.emptyList(), Collections.emptyList(), 1, 0));
+    }
+
+    @Test
+    public void testSeedsRelated(){
+        final MyAnimeList mal = new MyAnimeListImpl("Bearer token", StubService.create(call -> {
+            if(!call.getName().equals("getAnime") || call.get("anime_id") == null) return null;
+            final long id = (Long) call.get("anime_id");
+            final long other = id == 1 ? 2 : 1;
+            return StubService.response(200,
+                "{\"id\":" + id + ",\"title\":\"Title " + id + "\"," +
+                "\"related_anime\":[{\"node\":{\"id\":" + other + ",\"title\":\"Title " + other + "\"},\"relation_type\":\"sequel\",\"relation_type_formatted\":\"Sequel\"}]," +
+                "\"related_manga\":[]}");
+        }));
+
+        final RelationGraph graph = mal.getRelationGraph(Arrays.asList(1L, 2L), Collections.emptyList(), 1, 10);
+        Assertions.assertEquals(2, graph.getNodes().size());
+        Assertions.assertEquals(2, graph.getEdges().size());
+        for(final RelationGraph.Node node : graph.getNodes())
+            Assertions.assertEquals("Title " + node.getID(), node.getTitle(), Workflow.errorSupplier("Expected seed titles to be filled in"));
+        for(final RelationGraph.Edge edge : graph.getEdges()){
+            Assertions.assertTrue(graph.getNodes().contains(edge.getTarget()), Workflow.errorSupplier("Expected edge targets to be nodes in the graph"));
+            Assertions.assertNotNull(edge.getTarget().getTitle());
+            Assertions.assertEquals(1, graph.getEdges(edge.getTarget()).size(), Workflow.errorSupplier("Expected edges from an edge target to be found"));
+        }
+    }
+
+}
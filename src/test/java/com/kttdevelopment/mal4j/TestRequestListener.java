@@ -0,0 +1,161 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.RequestEvent.Phase;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.kttdevelopment.mal4j.APIStruct.*;
+
+public class TestRequestListener {
+
+    private static HttpServer server;
+
+    @BeforeAll
+    public static void beforeAll() throws IOException{
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/", exchange -> {
+            final byte[] body = "{\"id\":1,\"title\":\"é\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try(final OutputStream OUT = exchange.getResponseBody()){
+                OUT.write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterAll
+    public static void afterAll(){
+        server.stop(0);
+    }
+
+    @Test
+    public void testEvents(){
+        final List<RequestEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final RequestListener listener = new RequestListener(){
+
+            @Override
+            public final void onRequestStart(final RequestEvent event){
+                events.add(event);
+            }
+
+            @Override
+            public final void onConnectionAcquired(final RequestEvent event){
+                events.add(event);
+            }
+
+            @Override
+            public final void onFirstByte(final RequestEvent event){
+                events.add(event);
+            }
+
+            @Override
+            public final void onBodyComplete(final RequestEvent event){
+                events.add(event);
+            }
+
+            @Override
+            public final void onParseComplete(final RequestEvent event){
+                events.add(event);
+            }
+
+            @Override
+            public final void onMappingComplete(final RequestEvent event){
+                events.add(event);
+            }
+
+        };
+
+        final Service service = APICall.create("http://localhost:" + server.getAddress().getPort() + '/', Service.class, null, null, null);
+        service.get(1);
+        Assertions.assertTrue(events.isEmpty(), Workflow.errorSupplier("Expected no events without a listener"));
+
+        APICall.setListener(service, listener);
+        service.get(1);
+        RequestTrace.mapped();
+
+        final List<Phase> phases = new ArrayList<>();
+        for(final RequestEvent event : events)
+            phases.add(event.getPhase());
+        Assertions.assertEquals(Phase.REQUEST_START, phases.get(0));
+        Assertions.assertTrue(phases.contains(Phase.FIRST_BYTE));
+        Assertions.assertEquals(Arrays.asList(Phase.BODY_COMPLETE, Phase.PARSE_COMPLETE, Phase.MAPPING_COMPLETE), phases.subList(phases.size() - 3, phases.size()),
+                                Workflow.errorSupplier("Expected phases to be reported in order"));
+
+        final RequestEvent last = events.get(events.size() - 1);
+        Assertions.assertEquals("anime/{anime_id}", last.getEndpoint());
+        Assertions.assertEquals("GET", last.getMethod());
+        Assertions.assertEquals(200, last.getStatus());
+        Assertions.assertEquals(21, last.getBytes(), Workflow.errorSupplier("Expected body size in UTF-8 bytes"));
+        Assertions.assertEquals(-1, events.get(0).getStatus());
+        long total = 0;
+        for(final RequestEvent event : events)
+            total += event.getDuration();
+        Assertions.assertEquals(last.getElapsed(), total, Workflow.errorSupplier("Expected durations to add up to elapsed time"));
+
+        events.clear();
+        RequestTrace.mapped();
+        Assertions.assertTrue(events.isEmpty(), Workflow.errorSupplier("Expected mapping to only be reported once"));
+    }
+
+    @Test
+    public void testRecorder(){
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final Service service = APICall.create("http://localhost:" + server.getAddress().getPort() + '/', Service.class, null, null, null);
+        APICall.setListener(service, recorder);
+        for(int i = 0; i < 3; i++){
+            service.get(i);
+            RequestTrace.mapped();
+        }
+
+        Assertions.assertEquals(Collections.singleton("anime/{anime_id}"), recorder.getEndpoints());
+        Assertions.assertEquals(3, recorder.getHistogram("anime/{anime_id}", Phase.BODY_COMPLETE).getCount());
+        Assertions.assertEquals(3, recorder.getHistogram("anime/{anime_id}", Phase.MAPPING_COMPLETE).getCount());
+        Assertions.assertNull(recorder.getHistogram("anime/{anime_id}", Phase.REQUEST_START));
+        recorder.reset();
+        Assertions.assertTrue(recorder.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void testHistogram(){
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getPercentile(50));
+        for(int i = 1; i <= 1000; i++)
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1_000_000, histogram.getMax());
+        Assertions.assertEquals(500_500, histogram.getMean(), 1);
+        Assertions.assertEquals(500_000, histogram.getPercentile(50), 500_000 * 0.04, Workflow.errorSupplier("Expected median within bucket accuracy"));
+        Assertions.assertEquals(990_000, histogram.getPercentile(99), 990_000 * 0.04, Workflow.errorSupplier("Expected p99 within bucket accuracy"));
+        Assertions.assertEquals(1_000_000, histogram.getPercentile(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+
+        for(long v = 0; v < 1L << 36; v = v * 3 + 1){
+            final int index = LatencyHistogram.index(v);
+            Assertions.assertTrue(v <= LatencyHistogram.highest(index) && (index == 0 || v > LatencyHistogram.highest(index - 1)),
+                                  Workflow.errorSupplier("Expected " + v + " to be in bucket " + index));
+        }
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+    }
+
+    interface Service {
+
+        @Endpoint(value = "anime/{anime_id}")
+        Response<Json.JsonObject> get(
+            @Path("anime_id") final long id
+        );
+
+    }
+
+}
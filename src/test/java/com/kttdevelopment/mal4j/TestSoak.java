@@ -0,0 +1,106 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.RequestEvent.Phase;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.anime.property.AnimeRankingType;
+import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@link MyAnimeList} against a {@link FakeMyAnimeListServer} from many threads and reports throughput, latency, and heap use.
+ * <br>
+ * Only runs with <code>-Dmal4j.soak=true</code>; tune with <code>mal4j.soak.threads</code>, <code>mal4j.soak.seconds</code>, <code>mal4j.soak.latency</code> (ms), <code>mal4j.soak.errors</code> (rate), and <code>mal4j.soak.rate</code> (server requests per second).
+ */
+@EnabledIfSystemProperty(named = "mal4j.soak", matches = "true")
+public class TestSoak {
+
+    @Test
+    public void testSoak() throws Exception{
+        final int threads    = Integer.getInteger("mal4j.soak.threads", 32);
+        final int seconds    = Integer.getInteger("mal4j.soak.seconds", 30);
+        final int latency    = Integer.getInteger("mal4j.soak.latency", 5);
+        final int rate       = Integer.getInteger("mal4j.soak.rate", 0);
+        final double errors  = Double.parseDouble(System.getProperty("mal4j.soak.errors", "0"));
+
+        try(final FakeMyAnimeListServer server = new FakeMyAnimeListServer(1, threads * 2)){
+            server.setLatency(latency / 2, latency).setErrorRate(errors).setRateLimit(rate);
+            final MyAnimeList mal = server.create(null);
+            final LatencyRecorder recorder = new LatencyRecorder();
+            mal.setRequestListener(recorder);
+
+            final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            final long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            final AtomicLong heapPeak = new AtomicLong(heapBefore);
+
+            final AtomicLong operations = new AtomicLong();
+            final AtomicLong failures   = new AtomicLong();
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int t = 0; t < threads; t++)
+                futures.add(executor.submit(() -> {
+                    final ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while(System.nanoTime() < deadline){
+                        try{
+                            switch(random.nextInt(5)){
+                                case 0:
+                                    mal.getAnime(1 + random.nextInt(10_000));
+                                    break;
+                                case 1:
+                                    mal.getAnime().withQuery("soak").withLimit(100).withOffset(random.nextInt(100) * 100).search();
+                                    break;
+                                case 2:
+                                    mal.getAnimeRanking(AnimeRankingType.All).withLimit(500).search();
+                                    break;
+                                case 3:
+                                    final PaginatedIterator<AnimeListStatus> iterator = mal.getUserAnimeListing("soak").withLimit(250).searchAll();
+                                    while(iterator.hasNext())
+                                        iterator.next();
+                                    break;
+                                default:
+                                    mal.updateAnimeListing(1 + random.nextInt(10_000)).status(AnimeStatus.Watching).score(random.nextInt(11)).update();
+                            }
+                            operations.incrementAndGet();
+                        }catch(final HttpException e){
+                            failures.incrementAndGet();
+                        }
+                        heapPeak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    }
+                }));
+            for(final Future<?> future : futures)
+                future.get();
+            executor.shutdown();
+
+            System.gc();
+            final long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+            final StringBuilder OUT = new StringBuilder()
+                .append(String.format("threads=%d seconds=%d latency=%dms errors=%.3f rate=%d%n", threads, seconds, latency, errors, rate))
+                .append(String.format("requests=%d (%.1f/s) operations=%d failures=%d throttled=%d injected=%d%n",
+                    server.getRequests(), server.getRequests() / (double) seconds, operations.get(), failures.get(), server.getThrottled(), server.getErrors()))
+                .append(String.format("heap before=%dMB peak=%dMB after=%dMB%n", heapBefore >> 20, heapPeak.get() >> 20, heapAfter >> 20));
+            for(final String endpoint : recorder.getEndpoints()){
+                LatencyHistogram histogram = recorder.getHistogram(endpoint, Phase.MAPPING_COMPLETE);
+                if(histogram == null || histogram.getCount() == 0) // paginated results are mapped lazily
+                    histogram = recorder.getHistogram(endpoint, Phase.BODY_COMPLETE);
+                if(histogram != null && histogram.getCount() > 0)
+                    OUT.append(String.format("%-40s n=%-8d mean=%7.2fms p50=%7.2fms p99=%7.2fms max=%7.2fms%n",
+                        endpoint, histogram.getCount(), histogram.getMean() / 1e3, histogram.getPercentile(50) / 1e3, histogram.getPercentile(99) / 1e3, histogram.getMax() / 1e3));
+            }
+            System.out.print(OUT);
+
+            Assertions.assertTrue(operations.get() > 0, Workflow.errorSupplier("Expected soak to complete operations"));
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTokenRefresh {
+
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private final AtomicInteger requests  = new AtomicInteger();
+
+    // refreshes to Bearer t1, Bearer t2, ...
+    private MyAnimeListAuthenticator authenticator(){
+        return new MyAnimeListAuthenticator("client", new AccessToken("Bearer", 3600, "t0", "r0"), StubService.create(MyAnimeListAuthenticationService.class, call -> {
+            if(!call.getName().equals("refreshToken")) return null;
+            final int n = refreshes.incrementAndGet();
+            return StubService.response(200, "{\"token_type\":\"Bearer\",\"expires_in\":3600,\"access_token\":\"t" + n + "\",\"refresh_token\":\"r" + n + "\"}");
+        }));
+    }
+
+    private static StubService.Call anime(final StubService.Call call){
+        return call.getName().equals("getAnime") && call.get("anime_id") != null ? call : null;
+    }
+
+    @Test
+    public void testReplay(){
+        final MyAnimeList mal = new MyAnimeListImpl(authenticator(), StubService.create(call -> {
+            if(anime(call) == null) return null;
+            requests.incrementAndGet();
+            return call.get("Authorization").equals("Bearer t0")
+                ? StubService.response(401, "{\"error\":\"invalid_token\"}")
+                : StubService.response(200, "{\"id\":1,\"title\":\"a\"}");
+        }));
+
+        Assertions.assertEquals("a", mal.getAnime(1).getTitle(), Workflow.errorSupplier("Expected request to be sent again with the refreshed token"));
+        Assertions.assertEquals(1, refreshes.get());
+        Assertions.assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testReplayOnce(){
+        final MyAnimeList mal = new MyAnimeListImpl(authenticator(), StubService.create(call -> {
+            if(anime(call) == null) return null;
+            requests.incrementAndGet();
+            return StubService.response(401, "{\"error\":\"invalid_token\"}");
+        }));
+
+        final HttpException e = Assertions.assertThrows(HttpException.class, () -> mal.getAnime(1));
+        Assertions.assertEquals(401, e.code());
+        Assertions.assertEquals(1, refreshes.get(), Workflow.errorSupplier("Expected token to be refreshed once"));
+        Assertions.assertEquals(2, requests.get(), Workflow.errorSupplier("Expected request to be sent again only once"));
+    }
+
+    @Test
+    public void testSingleFlight() throws InterruptedException, ExecutionException{
+        final int threads = 4;
+        final CountDownLatch unauthorized = new CountDownLatch(threads);
+        final MyAnimeList mal = new MyAnimeListImpl(authenticator(), StubService.create(call -> {
+            if(anime(call) == null) return null;
+            requests.incrementAndGet();
+            if(call.get("Authorization").equals("Bearer t0")){
+                // every thread is unauthorized before any of them refreshes
+                unauthorized.countDown();
+                unauthorized.await(5, TimeUnit.SECONDS);
+                return StubService.response(401, "{\"error\":\"invalid_token\"}");
+            }
+            return StubService.response(200, "{\"id\":1,\"title\":\"a\"}");
+        }));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try{
+            final List<Future<String>> futures = new ArrayList<>();
+            for(int i = 0; i < threads; i++)
+                futures.add(executor.submit(() -> mal.getAnime(1).getTitle()));
+            for(final Future<String> future : futures)
+                Assertions.assertEquals("a", future.get());
+        }finally{
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(0, unauthorized.getCount());
+        Assertions.assertEquals(1, refreshes.get(), Workflow.errorSupplier("Expected concurrent unauthorized requests to share one refresh"));
+        Assertions.assertEquals(threads * 2, requests.get());
+    }
+
+    @Test
+    public void testAlreadyRefreshed(){
+        final MyAnimeList[] mal = new MyAnimeList[1];
+        mal[0] = new MyAnimeListImpl(authenticator(), StubService.create(call -> {
+            if(anime(call) == null) return null;
+            requests.incrementAndGet();
+            if(call.get("Authorization").equals("Bearer t0")){
+                mal[0].refreshOAuthToken(); // another thread swaps the token while this request is in flight
+                return StubService.response(401, "{\"error\":\"invalid_token\"}");
+            }
+            return StubService.response(200, "{\"id\":1,\"title\":\"a\"}");
+        }));
+
+        Assertions.assertEquals("a", mal[0].getAnime(1).getTitle());
+        Assertions.assertEquals(1, refreshes.get(), Workflow.errorSupplier("Expected token that was already refreshed to not be refreshed again"));
+        Assertions.assertEquals(2, requests.get());
+    }
+
+}
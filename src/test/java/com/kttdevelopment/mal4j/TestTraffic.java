@@ -0,0 +1,98 @@
+package com.kttdevelopment.mal4j;
+
+import com.kttdevelopment.jcore.Workflow;
+import com.kttdevelopment.mal4j.anime.AnimeListStatus;
+import com.kttdevelopment.mal4j.anime.property.AnimeStatus;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.util.*;
+
+public class TestTraffic {
+
+    @TempDir
+    public File dir;
+
+    private List<Long> list(final MyAnimeList mal){
+        final List<Long> ids = new ArrayList<>();
+        final PaginatedIterator<AnimeListStatus> iterator = mal.getUserAnimeListing("user").withLimit(100).searchAll();
+        while(iterator.hasNext())
+            ids.add(iterator.next().getAnimePreview().getID());
+        return ids;
+    }
+
+    @Test
+    public void testRecordReplay() throws IOException{
+        final File file = new File(dir, "traffic.bin");
+        final String title;
+        final List<Long> ids;
+        try(final FakeMyAnimeListServer server = new FakeMyAnimeListServer(7).setListSize(250).setLatency(30, 30)){
+            final MyAnimeList mal = server.create(null);
+            try(final TrafficRecorder recorder = new TrafficRecorder(file)){
+                mal.setTrafficRecorder(recorder);
+                title = mal.getAnime(3).getTitle();
+                ids = list(mal);
+                mal.updateAnimeListing(3).status(AnimeStatus.Dropped).update();
+                Assertions.assertEquals(5, recorder.getRecorded());
+            }
+            mal.getAnime(4);
+            // second section appended to the same file
+            try(final TrafficRecorder recorder = new TrafficRecorder(file)){
+                mal.setTrafficRecorder(recorder);
+                mal.getAnime(5);
+            }
+        }
+
+        final TrafficReplay replay = new TrafficReplay(file);
+        Assertions.assertEquals(6, replay.size());
+
+        final MyAnimeList mal = MyAnimeList.withTrafficReplay(replay);
+        Assertions.assertEquals(title, mal.getAnime(3).getTitle(), Workflow.errorSupplier("Expected recorded response"));
+        Assertions.assertEquals(ids, list(mal), Workflow.errorSupplier("Expected recorded pages"));
+        Assertions.assertEquals(AnimeStatus.Dropped, mal.updateAnimeListing(3).status(AnimeStatus.Dropped).update().getStatus());
+        Assertions.assertEquals(5, mal.getAnime(5).getID());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> mal.getAnime(4), Workflow.errorSupplier("Expected unrecorded request to fail"));
+        Assertions.assertThrows(IllegalStateException.class, () -> mal.updateAnimeListing(3).status(AnimeStatus.Completed).update(), Workflow.errorSupplier("Expected request with different form data to fail"));
+
+        replay.setOriginalTiming(true);
+        final long timed = System.nanoTime();
+        mal.getAnime(3);
+        Assertions.assertTrue(System.nanoTime() - timed >= 30_000_000L, Workflow.errorSupplier("Expected response to take its original duration"));
+    }
+
+    @Test
+    public void testCrashThenAppend() throws IOException, InterruptedException{
+        final File file = new File(dir, "crashed.bin");
+        final TrafficRecorder crashed = new TrafficRecorder(file);
+        crashed.record("GET", "anime/1", "", 200, 0, "{\"id\":1}");
+        crashed.record("GET", "anime/2", "", 200, 0, "{\"id\":2}");
+        // session ends partway through writing its last response
+        try(final RandomAccessFile raf = new RandomAccessFile(file, "rw")){
+            raf.setLength(raf.length() - 5);
+        }
+
+        try(final TrafficRecorder recorder = new TrafficRecorder(file)){
+            recorder.record("GET", "anime/3", "", 200, 0, "{\"id\":3}");
+        }
+        crashed.close();
+
+        final TrafficReplay replay = new TrafficReplay(file);
+        Assertions.assertEquals(2, replay.size(), Workflow.errorSupplier("Expected only the response that was cut off to be lost"));
+        Assertions.assertEquals("{\"id\":1}", replay.replay("GET", "anime/1", "", "url").raw());
+        Assertions.assertEquals("{\"id\":3}", replay.replay("GET", "anime/3", "", "url").raw(), Workflow.errorSupplier("Expected session appended after a crash to be read"));
+        Assertions.assertThrows(IllegalStateException.class, () -> replay.replay("GET", "anime/2", "", "url"));
+    }
+
+    @Test
+    public void testInvalid() throws IOException{
+        final File file = new File(dir, "invalid.bin");
+        Assertions.assertThrows(IOException.class, () -> new TrafficReplay(file));
+        try(final OutputStream OUT = new FileOutputStream(file)){
+            OUT.write("{}".getBytes());
+        }
+        Assertions.assertThrows(IOException.class, () -> new TrafficReplay(file));
+    }
+
+}